@@ -0,0 +1,71 @@
+package com.thirdsonsoftware;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures fitting and scoring every candidate play of the player to move
+ *   on a mid-game board.  The board is not changed by either, so one
+ *   fixture serves the whole trial.  Both go through the quiet fits and
+ *   score, which log no events, so only the board tests are measured and
+ *   nothing builds up over the trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({"1", "17", "2017"})
+    public long seed;
+
+    @Param({"2", "4"})
+    public int players;
+
+    @Param({"12"})
+    public int turns;
+
+    private Board board ;
+    private List<Choice> candidates ;
+    private List<Choice> fitting ;
+
+    @Setup
+    public void setup() {
+        MidGameFixture.silenceConsole();
+        MidGameFixture fixture = new MidGameFixture(seed, players, turns);
+        board = fixture.getBoard();
+        candidates = fixture.candidates();
+        fitting = fixture.fittingCandidates();
+    }
+
+    @Benchmark
+    public int fits() {
+        int count = 0 ;
+        for ( Choice c : candidates ) {
+            if ( board.fits(c.getTile(), c.getOrientation(), c.getRotation(), c.getRow(), c.getCol()) )
+                count++ ;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int score() {
+        int total = 0 ;
+        for ( Choice c : fitting )
+            total += board.score(c.getTile(), c.getOrientation(), c.getRow(), c.getCol());
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package com.thirdsonsoftware;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures playing a whole round, and a whole game, from a seed.  A seed
+ *   always plays out the same round, and the same game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({"1", "17", "2017"})
+    public long seed;
+
+    @Param({"2", "4"})
+    public int players;
+
+    private Round round ;
+    private Game game ;
+
+    @Setup(Level.Trial)
+    public void silence() {
+        MidGameFixture.silenceConsole();
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        EventManager.getInstance().clearEvents();
+
+        ArrayList<Player> roundPlayers = new ArrayList<>(players);
+        for (int i = 0; i < players; i++)
+            roundPlayers.add(new Player(String.format("Player %c", 'A' + i)));
+        round = new Round(1, roundPlayers, new SplittableRandom(seed));
+        game = new Game(players, seed);
+    }
+
+    @Benchmark
+    public Player playRound() {
+        return round.playRound();
+    }
+
+    @Benchmark
+    public Game play() {
+        game.play();
+        return game;
+    }
+}
@@ -0,0 +1,148 @@
+package com.thirdsonsoftware;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A round played from a seeded deal up to a fixed number of turns, leaving
+ *   a board part way through the game for the benchmarks to work against.
+ *   The same seed always produces the same board, trays and player to move.
+ */
+class MidGameFixture {
+
+    static final int[] ROTATIONS = { 0, 120, 240 } ;
+
+    private final ArrayList<Player> players ;
+    private final Round round ;
+    private Player playerToMove ;
+    private int turnsPlayed ;
+
+    /**
+     * @param seed - the seed used to shuffle the tile pool
+     * @param numPlayers - the number of players in the round
+     * @param turns - the number of turns to play before the board is used
+     */
+    MidGameFixture(long seed, int numPlayers, int turns) {
+
+        players = new ArrayList<>(numPlayers);
+        for (int i = 0; i < numPlayers; i++)
+            players.add(new Player(String.format("Player %c", 'A' + i)));
+
+        round = new Round(1, players, new SplittableRandom(seed));
+        round.shuffleTilePool();
+        round.drawTiles();
+        playerToMove = round.whoIsFirst();
+
+        playTurns(turns);
+
+        // Like the game, the player to move draws until they have a play
+        while ( fittingCandidates().isEmpty() && !round.getTiles().isEmpty() )
+            playerToMove.drawTile(round.getTiles(), round.getRoundNumber());
+
+        // The fixture should not carry the events of its setup into a benchmark
+        EventManager.getInstance().clearEvents();
+    }
+
+    /**
+     * Plays turns the way Round.playRound does, drawing from the pool when the
+     *   player to move can't play.  Stops early if a tray empties or play is
+     *   blocked, so the player to move always has tiles.
+     * @param turns - the number of turns to play
+     */
+    private void playTurns(int turns) {
+        int indexPlayer = players.indexOf(playerToMove);
+        int blockedPlayerCount = 0 ;
+        while ( ( turnsPlayed < turns ) && ( blockedPlayerCount < players.size() ) ) {
+            Tile tilePlayed = playerToMove.playATile(getBoard(), round.getPiecesPlayed(),
+                    round.getPiecesOnBoardWithEmptyFaces());
+            if ( tilePlayed != null ) {
+                round.getPiecesPlayed().add(tilePlayed);
+                blockedPlayerCount = 0 ;
+                turnsPlayed++ ;
+                if ( playerToMove.getTray().isEmpty() )
+                    break;
+            } else if ( !round.getTiles().isEmpty() ) {
+                playerToMove.drawTile(round.getTiles(), round.getRoundNumber());
+                continue;
+            } else {
+                blockedPlayerCount++ ;
+            }
+            indexPlayer = ( indexPlayer + 1 ) % players.size();
+            playerToMove = players.get(indexPlayer);
+        }
+    }
+
+    public Round getRound() {
+        return round;
+    }
+
+    public Board getBoard() {
+        return round.getBoard();
+    }
+
+    public Player getPlayerToMove() {
+        return playerToMove;
+    }
+
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    /**
+     * Every tile in the tray of the player to move, in every rotation, at
+     *   every open slot on the board.  Most of these do not fit.
+     * @return (List) the candidate choices
+     */
+    List<Choice> candidates() {
+        Board board = getBoard();
+        List<Choice> choices = new ArrayList<>();
+        for ( int slot = 0; slot < board.getFrontierSize(); slot++ ) {
+            int row = board.getFrontierRow(slot);
+            int col = board.getFrontierCol(slot);
+            Orientation o = board.getOrientationForPositionOnBoard(row, col);
+            for ( Tile t : playerToMove.getTray() ) {
+                for ( int rotation : ROTATIONS ) {
+                    Choice choice = new Choice(t, row, col, o, rotation);
+                    choice.setTestForFitOnly(true);
+                    choices.add(choice);
+                }
+            }
+        }
+        return choices;
+    }
+
+    /**
+     * @return (List) the candidate choices that fit on the board
+     */
+    List<Choice> fittingCandidates() {
+        Board board = getBoard();
+        List<Choice> choices = new ArrayList<>();
+        for ( Choice c : candidates() ) {
+            if ( board.fits(c.getTile(), c.getOrientation(), c.getRotation(), c.getRow(), c.getCol()) )
+                choices.add(c);
+        }
+        return choices;
+    }
+
+    /**
+     * The game logs every step to the console, which would swamp the time
+     *   spent on the work being measured.  Benchmarks call this once before
+     *   they start.  Logging is turned off, as a quiet batch run has it, so
+     *   no messages are built; anything else printed goes nowhere.
+     */
+    static void silenceConsole() {
+        Log.setLevel(Log.Level.OFF);
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+    }
+}
@@ -0,0 +1,61 @@
+package com.thirdsonsoftware;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single turn: gathering the candidate plays of the player to
+ *   move, choosing the best and placing it.  Playing a tile changes the
+ *   board, so a fresh mid-game fixture is built before every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    @Param({"1", "17", "2017"})
+    public long seed;
+
+    @Param({"2", "4"})
+    public int players;
+
+    @Param({"12"})
+    public int turns;
+
+    @Param({"false", "true"})
+    public boolean evaluateInParallel;
+
+    private MidGameFixture fixture ;
+
+    @Setup(Level.Trial)
+    public void silence() {
+        MidGameFixture.silenceConsole();
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        fixture = new MidGameFixture(seed, players, turns);
+        fixture.getPlayerToMove().setEvaluateInParallel(evaluateInParallel);
+    }
+
+    @Benchmark
+    public Tile playATile() {
+        Round round = fixture.getRound();
+        return fixture.getPlayerToMove().playATile(round.getBoard(), round.getPiecesPlayed(),
+                round.getPiecesOnBoardWithEmptyFaces());
+    }
+}
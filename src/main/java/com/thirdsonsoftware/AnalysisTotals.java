@@ -0,0 +1,366 @@
+package com.thirdsonsoftware;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The counts gathered from a set of event data files.  Each file can be
+ *   counted on its own, and the totals of two sets of files merged, so
+ *   files can be analyzed on as many threads as we have.
+ *
+ * The totals remember which files they have counted, and can be saved to a
+ *   checkpoint and loaded again, so a later analysis only has to count the
+ *   files written since.
+ *
+ * Tiles are counted in arrays indexed by tile id, and players in arrays
+ *   indexed by their seat in these totals, so counting an event never
+ *   hashes a key or boxes a count.
+ */
+public class AnalysisTotals implements Serializable {
+
+    private static final long serialVersionUID = -2204663915278011845L;
+
+    int numberOfEventFiles;
+    int numberOfRoundsPlayed;
+    int numberOfGamesPlayed;
+
+    // The players seen, by name, in the order they were seen.  A player's
+    //   seat is its index here.
+    ArrayList<String> playerNames = new ArrayList<String>(EventRecord.MAX_PLAYERS);
+    long[] gamesWon = new long[EventRecord.MAX_PLAYERS];
+    long[] roundsWon = new long[EventRecord.MAX_PLAYERS];
+
+    // Counted by tile id.  Id 0 is a tile without one, and is never reported.
+    long[] tilesPlayed = new long[Round.NUMBER_OF_TILES + 1];
+    long[] startingTilesPlayed = new long[Round.NUMBER_OF_TILES + 1];
+
+    // A tile for each id counted, to report it by
+    Tile[] tiles = new Tile[Round.NUMBER_OF_TILES + 1];
+
+    // Tiles played in each round and game, kept as a total and a count for the averages
+    long tilesPlayedInRounds;
+    int roundsCounted;
+    long tilesPlayedInGames;
+    int gamesCounted;
+
+    // The files counted, by name, with their size when they were counted
+    HashMap<String, Long> filesCounted = new HashMap<String, Long>();
+
+    // The tiles played so far in the round and game of the file being counted
+    private transient int tilesPlayedInRound;
+    private transient int tilesPlayedInGame;
+
+    /**
+     * Counts the events in an event data file towards these totals.
+     * @param eventFile - the event data file
+     */
+    public void addFile(String eventFile) {
+
+        numberOfEventFiles++;
+        File file = new File(eventFile);
+        filesCounted.put(file.getName(), file.length());
+
+        // Start with no tiles played/counted
+        tilesPlayedInGame = 0;
+        tilesPlayedInRound = 0;
+
+        if (EventManager.isSerialized(eventFile)) {
+
+            // Events in file
+            List<Event> events = EventManager.getInstance().getAllEventsForDataFile(eventFile);
+            for (Event event : events) {
+                add(event.type, seat(event.player), tileId(event.tile));
+            }
+
+        } else {
+
+            // Records in file, read where they lie
+            try (EventCursor cursor = EventCursor.open(eventFile)) {
+
+                // The seat of each of the file's players
+                String[] names = cursor.getPlayerNames();
+                int[] seats = new int[names.length];
+                for (int i = 0; i < names.length; i++)
+                    seats[i] = seat(names[i]);
+
+                while (cursor.next()) {
+                    int player = cursor.playerIndex();
+                    int tileId = cursor.tileId();
+                    if ((tileId > 0) && (tileId <= Round.NUMBER_OF_TILES) && (tiles[tileId] == null))
+                        tiles[tileId] = cursor.tile();
+                    add(cursor.type(), (player < 0) ? -1 : seats[player], tileId);
+                }
+            } catch (IOException e) {
+                Log.Error("  Error reading event data file:\n" + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Counts a single event towards these totals.
+     * @param type - the type of event
+     * @param seat - the seat of the player of the event, or -1 if there isn't one
+     * @param tileId - the id of the tile of the event, or 0 if there isn't one
+     */
+    void add(EventType type, int seat, int tileId) {
+
+        switch (type) {
+
+            case WIN_A_GAME: {
+                if (seat >= 0)
+                    gamesWon[seat]++;
+                tilesPlayedInGames += tilesPlayedInGame;
+                gamesCounted++;
+            }
+            break;
+
+            case WIN_A_ROUND_BY_EMPTY_TRAY:
+            case WIN_A_ROUND_BY_FEWEST_TILES: {
+                if (seat >= 0)
+                    roundsWon[seat]++;
+                tilesPlayedInRounds += tilesPlayedInRound;
+                roundsCounted++;
+                tilesPlayedInRound = 0;
+            }
+                break;
+
+            case PLACE_A_TILE: {
+                tilesPlayedInRound++;
+                tilesPlayedInGame++;
+                if (tileId <= Round.NUMBER_OF_TILES)
+                    tilesPlayed[tileId]++;
+            }
+            break;
+
+            case TRIPLE_ZERO_BONUS:
+            case TRIPLE_PLAY_BONUS:
+            case HIGHEST_TILE_START: {
+                if (tileId <= Round.NUMBER_OF_TILES)
+                    startingTilesPlayed[tileId]++;
+            }
+                break;
+
+            case START_A_GAME: {
+                numberOfGamesPlayed++;
+            }
+            break;
+
+            case START_A_ROUND: {
+                numberOfRoundsPlayed++;
+            }
+            break;
+
+            case CREATE_A_BRIDGE:
+            default: {
+                /**
+                 * Unexpected event type received.
+                 */
+            }
+                break;
+        }
+    }
+
+    /**
+     * @param player - a player, or null
+     * @return (int) the player's seat in these totals, or -1 if there is no player
+     */
+    private int seat(Player player) {
+        return (player == null) ? -1 : seat(player.getName());
+    }
+
+    /**
+     * Finds the seat of a player, giving it the next seat if it hasn't been
+     *   seen before.
+     * @param name - the name of the player
+     * @return (int) the player's seat in these totals
+     */
+    int seat(String name) {
+        int seat = playerNames.indexOf(name);
+        if (seat < 0) {
+            seat = playerNames.size();
+            playerNames.add(name);
+            if (seat == gamesWon.length) {
+                gamesWon = Arrays.copyOf(gamesWon, seat * 2);
+                roundsWon = Arrays.copyOf(roundsWon, seat * 2);
+            }
+        }
+        return seat;
+    }
+
+    /**
+     * @param tile - a tile, or null
+     * @return (int) the tile's id, or 0 if there is no tile
+     */
+    private int tileId(Tile tile) {
+        if (tile == null)
+            return 0;
+        int id = tile.getId();
+        if ((id > 0) && (id <= Round.NUMBER_OF_TILES) && (tiles[id] == null))
+            tiles[id] = tile;
+        return id;
+    }
+
+    /**
+     * Adds the totals of another set of files to these.
+     * @param other - the totals to add
+     * @return (AnalysisTotals) these totals
+     */
+    public AnalysisTotals merge(AnalysisTotals other) {
+        numberOfEventFiles += other.numberOfEventFiles;
+        numberOfRoundsPlayed += other.numberOfRoundsPlayed;
+        numberOfGamesPlayed += other.numberOfGamesPlayed;
+        tilesPlayedInRounds += other.tilesPlayedInRounds;
+        roundsCounted += other.roundsCounted;
+        tilesPlayedInGames += other.tilesPlayedInGames;
+        gamesCounted += other.gamesCounted;
+        filesCounted.putAll(other.filesCounted);
+        for (int i = 0; i < other.playerNames.size(); i++) {
+            int seat = seat(other.playerNames.get(i));
+            gamesWon[seat] += other.gamesWon[i];
+            roundsWon[seat] += other.roundsWon[i];
+        }
+        for (int id = 0; id <= Round.NUMBER_OF_TILES; id++) {
+            tilesPlayed[id] += other.tilesPlayed[id];
+            startingTilesPlayed[id] += other.startingTilesPlayed[id];
+            if (tiles[id] == null)
+                tiles[id] = other.tiles[id];
+        }
+        return this;
+    }
+
+    /**
+     * @return (int) the average number of tiles played in a round
+     */
+    public int averageTilesPlayedInARound() {
+        return (roundsCounted == 0) ? 0 : (int) (tilesPlayedInRounds / roundsCounted);
+    }
+
+    /**
+     * @return (int) the average number of tiles played in a game
+     */
+    public int averageTilesPlayedInAGame() {
+        return (gamesCounted == 0) ? 0 : (int) (tilesPlayedInGames / gamesCounted);
+    }
+
+    /**
+     * @return (HashMap) the number of games won by each player that has won one
+     */
+    public HashMap<Player, Long> getPlayersThatWonAGame() {
+        return byPlayer(gamesWon);
+    }
+
+    /**
+     * @return (HashMap) the number of rounds won by each player that has won one
+     */
+    public HashMap<Player, Long> getPlayersThatWonARound() {
+        return byPlayer(roundsWon);
+    }
+
+    /**
+     * @return (HashMap) the number of times each tile played has been played
+     */
+    public HashMap<Tile, Long> getTilesPlayed() {
+        return byTile(tilesPlayed);
+    }
+
+    /**
+     * @return (HashMap) the number of times each starting tile has started a round
+     */
+    public HashMap<Tile, Long> getStartingTilesPlayed() {
+        return byTile(startingTilesPlayed);
+    }
+
+    private HashMap<Player, Long> byPlayer(long[] counts) {
+        HashMap<Player, Long> byPlayer = new HashMap<Player, Long>();
+        for (int seat = 0; seat < playerNames.size(); seat++) {
+            if (counts[seat] > 0)
+                byPlayer.put(new Player(playerNames.get(seat)), counts[seat]);
+        }
+        return byPlayer;
+    }
+
+    private HashMap<Tile, Long> byTile(long[] counts) {
+        HashMap<Tile, Long> byTile = new HashMap<Tile, Long>();
+        for (int id = 1; id <= Round.NUMBER_OF_TILES; id++) {
+            if ((counts[id] > 0) && (tiles[id] != null))
+                byTile.put(tiles[id], counts[id]);
+        }
+        return byTile;
+    }
+
+    /**
+     * Are these totals still right for the event data files provided?  They
+     *   aren't if a file they counted has since been removed or changed size.
+     * @param eventFiles - the event data files there are now
+     * @return (boolean) true if every file counted is still as it was
+     */
+    public boolean isCurrentFor(List<String> eventFiles) {
+        HashMap<String, Long> sizes = new HashMap<String, Long>();
+        for (String eventFile : eventFiles) {
+            File file = new File(eventFile);
+            sizes.put(file.getName(), file.length());
+        }
+        for (Map.Entry<String, Long> e : filesCounted.entrySet()) {
+            if (!e.getValue().equals(sizes.get(e.getKey())))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param eventFiles - the event data files there are now
+     * @return (List) the files not yet counted in these totals
+     */
+    public List<String> notCounted(List<String> eventFiles) {
+        List<String> files = new ArrayList<String>();
+        for (String eventFile : eventFiles) {
+            if (!filesCounted.containsKey(new File(eventFile).getName()))
+                files.add(eventFile);
+        }
+        return files;
+    }
+
+    /**
+     * Saves these totals to a checkpoint file.  The file is written aside and
+     *   moved into place, so a checkpoint is never left half written.
+     * @param checkpoint - the checkpoint file
+     * @throws IOException if the checkpoint can't be written
+     */
+    public void save(String checkpoint) throws IOException {
+        File file = new File(checkpoint);
+        File partial = new File(checkpoint + ".part");
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(partial))) {
+            oos.writeObject(this);
+        }
+        Files.move(partial.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads the totals saved to a checkpoint file.
+     * @param checkpoint - the checkpoint file
+     * @return (AnalysisTotals) the totals saved, or null if there are none we can read
+     */
+    public static AnalysisTotals load(String checkpoint) {
+        File file = new File(checkpoint);
+        if (!file.exists())
+            return null;
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            return (AnalysisTotals) ois.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            Log.Debug(String.format("  Unable to read analysis checkpoint %s: %s", checkpoint, e.getMessage()));
+            return null;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.thirdsonsoftware;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This is the class designed to brute force analyze the raw data for each game.
@@ -17,30 +19,59 @@ import java.util.TreeMap;
  */
 public class AnalyzeResults {
 
-    int numberOfEventFiles;
-    int tilesPlayedInRound;
-    int tilesPlayedInGame;
-    int numberOfRoundsPlayed;
-    int numberOfGamesPlayed;
+    // Where the totals are saved between analyses
+    static final String ANALYSIS_CHECKPOINT_PATH = EventManager.EVENT_OBJECT_PATH + "/analysis.chk" ;
 
-    HashMap<Player, Integer> playersThatWonAGame = new HashMap<Player, Integer>();
-    HashMap<Player, Integer> playersThatWonARound = new HashMap<Player, Integer>();
-    HashMap<Tile, Integer> tilesPlayed = new HashMap<Tile, Integer>();
-    HashMap<Tile, Integer> startingTilesPlayed = new HashMap<Tile, Integer>();
+    // Everything counted from the event data files
+    AnalysisTotals totals;
 
-    List<Integer> listTilesPlayedInRound = new ArrayList<Integer>();
-    List<Integer> listTilesPlayedInGame = new ArrayList<Integer>();
+    HashMap<Player, Long> playersThatWonAGame;
+    HashMap<Player, Long> playersThatWonARound;
+    HashMap<Tile, Long> tilesPlayed;
+    HashMap<Tile, Long> startingTilesPlayed;
 
     /**
      * Provide a way to analyze the results.
      */
     public AnalyzeResults() {
+        this(1);
+    }
+
+    /**
+     * Provide a way to analyze the results, spreading the event data files
+     *   across a number of threads.
+     * @param threads - the number of threads to analyze the files on
+     */
+    public AnalyzeResults(int threads) {
+        this(threads, true);
+    }
+
+    /**
+     * Provide a way to analyze the results, spreading the event data files
+     *   across a number of threads.
+     * @param threads - the number of threads to analyze the files on
+     * @param fromCheckpoint - start from the totals saved by the last analysis,
+     *   counting only the files written since
+     */
+    public AnalyzeResults(int threads, boolean fromCheckpoint) {
+
+        // Pick up where the last analysis left off
+        AnalysisTotals saved = fromCheckpoint ? AnalysisTotals.load(ANALYSIS_CHECKPOINT_PATH) : null;
 
         // Let's go analyze the data..
-        analyze();
+        if (threads > 1)
+            analyzeInParallel(threads, saved);
+        else
+            analyze(saved);
+
+        try {
+            totals.save(ANALYSIS_CHECKPOINT_PATH);
+        } catch (IOException e) {
+            Log.Error(String.format("  Error saving analysis checkpoint %s:\n%s", ANALYSIS_CHECKPOINT_PATH, e.getMessage()));
+        }
 
         Log.Info(String.format("\nAnalysis of Events in %d Event files complete:\n",
-            numberOfEventFiles));
+            totals.numberOfEventFiles));
 
         Log.Info(numberOfGames());
         Log.Info(numberOfRounds());
@@ -53,33 +84,19 @@ public class AnalyzeResults {
     }
 
     private String numberOfGames() {
-        return String.format("Number of games played: %d\n", numberOfGamesPlayed);
+        return String.format("Number of games played: %d\n", totals.numberOfGamesPlayed);
     }
 
     private String numberOfRounds() {
-        return String.format("Number of rounds played: %d\n", numberOfRoundsPlayed);
+        return String.format("Number of rounds played: %d\n", totals.numberOfRoundsPlayed);
     }
 
     private String averageNumberOfTilesInARound() {
-        int sum = 0;
-        Iterator<Integer> iterator = listTilesPlayedInRound.iterator();
-        while (iterator.hasNext()) {
-            sum += iterator.next().intValue();
-        }
-        int denominator = listTilesPlayedInRound.size();
-        int average = (denominator == 0) ? 0 : (sum / denominator);
-        return String.format("Average number of Tiles played in a Round: %d\n", average);
+        return String.format("Average number of Tiles played in a Round: %d\n", totals.averageTilesPlayedInARound());
     }
 
     private String averageNumberOfTilesInAGame() {
-        int sum = 0;
-        Iterator<Integer> iterator = listTilesPlayedInGame.iterator();
-        while (iterator.hasNext()) {
-            sum += iterator.next().intValue();
-        }
-        int denominator = listTilesPlayedInGame.size();
-        int average = (denominator == 0) ? 0 : (sum / denominator);
-        return String.format("Average number of Tiles played in a Game: %d\n", average);
+        return String.format("Average number of Tiles played in a Game: %d\n", totals.averageTilesPlayedInAGame());
     }
 
     /**
@@ -90,91 +107,96 @@ public class AnalyzeResults {
      * Round? What is the highest number of tiles played in a Round?
      */
     public void analyze() {
+        analyze(null);
+    }
+
+    /**
+     * Analyze the results as analyze() does, adding to totals already counted.
+     * @param saved - the totals of files already counted, or null to count them all
+     */
+    public void analyze(AnalysisTotals saved) {
+
+        AnalysisTotals counted = startFrom(saved);
 
-        // Event files
-        List<String> eventFiles = EventManager.getInstance().getAllEventDataFiles();
-        numberOfEventFiles = eventFiles.size();
+        // Event files not yet counted
+        List<String> eventFiles = counted.notCounted(EventManager.getInstance().getAllEventDataFiles());
         for (String eventFile : eventFiles) {
+            counted.addFile(eventFile);
+        }
 
-            // Start with no tiles played/counted
-            tilesPlayedInGame = 0;
-            tilesPlayedInRound = 0;
-
-            // Events in file
-            List<Event> events = EventManager.getInstance().getAllEventsForDataFile(eventFile);
-            for (Event event : events) {
-
-                switch (event.type) {
-
-                    case WIN_A_GAME: {
-                        Player player = event.player;
-                        if (playersThatWonAGame.containsKey(player)) {
-                            playersThatWonAGame.put(player, playersThatWonAGame.get(player) + 1);
-                        } else {
-                            playersThatWonAGame.put(event.player, 1);
-                        }
-                        listTilesPlayedInGame.add(tilesPlayedInGame);
-                    }
-                    break;
-
-                    case WIN_A_ROUND_BY_EMPTY_TRAY:
-                    case WIN_A_ROUND_BY_FEWEST_TILES: {
-                        Player player = event.player;
-                        if (playersThatWonARound.containsKey(player)) {
-                            playersThatWonARound.put(player, playersThatWonARound.get(player) + 1);
-                        } else {
-                            playersThatWonARound.put(player, 1);
-                        }
-                        listTilesPlayedInRound.add(tilesPlayedInRound);
-                        tilesPlayedInRound = 0;
-                    }
-                        break;
-
-                    case PLACE_A_TILE: {
-                        tilesPlayedInRound++;
-                        tilesPlayedInGame++;
-
-                        Tile tile = event.tile;
-                        if (tilesPlayed.containsKey(tile)) {
-                            tilesPlayed.put(tile, tilesPlayed.get(tile) + 1);
-                        } else {
-                            tilesPlayed.put(tile, 1);
-                        }
-                    }
-                    break;
-
-                    case TRIPLE_ZERO_BONUS:
-                    case TRIPLE_PLAY_BONUS:
-                    case HIGHEST_TILE_START: {
-                        Tile tile = event.tile;
-                        if (startingTilesPlayed.containsKey(tile)) {
-                            startingTilesPlayed.put(tile, startingTilesPlayed.get(tile) + 1);
-                        } else {
-                            startingTilesPlayed.put(tile, 1);
-                        }
-                    }
-                        break;
-
-                    case START_A_GAME: {
-                        numberOfGamesPlayed++;
-                    }
-                    break;
-
-                    case START_A_ROUND: {
-                        numberOfRoundsPlayed++;
-                    }
-                    break;
-
-                    case CREATE_A_BRIDGE:
-                    default: {
-                        /**
-                         * Unexpected event type received.
-                         */
-                    }
-                        break;
-                }
-            }
+        setTotals(counted);
+    }
+
+    /**
+     * Analyze the results as analyze() does, but with the event data files
+     *   spread across a pool of threads.  Each thread counts its files into
+     *   totals of its own, and the totals are merged at the end.
+     * @param threads - the number of threads to analyze the files on
+     */
+    public void analyzeInParallel(int threads) {
+        analyzeInParallel(threads, null);
+    }
+
+    /**
+     * Analyze the results as analyzeInParallel() does, adding to totals
+     *   already counted.
+     * @param threads - the number of threads to analyze the files on
+     * @param saved - the totals of files already counted, or null to count them all
+     */
+    public void analyzeInParallel(int threads, AnalysisTotals saved) {
+
+        AnalysisTotals counted = startFrom(saved);
+
+        // Event files not yet counted
+        List<String> eventFiles = counted.notCounted(EventManager.getInstance().getAllEventDataFiles());
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            counted.merge(pool.submit(() -> eventFiles.parallelStream()
+                    .collect(AnalysisTotals::new, AnalysisTotals::addFile, AnalysisTotals::merge)).get());
+        } catch (InterruptedException e) {
+            Log.Error("  Interrupted while analyzing event data files: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.Error("  Exception while analyzing event data files: " + e.getCause());
+        } finally {
+            pool.shutdown();
         }
+
+        setTotals(counted);
+    }
+
+    /**
+     * Decide what totals an analysis starts from.  Saved totals are only used
+     *   if none of the files they counted have changed since.
+     * @param saved - the totals of files already counted, or null
+     * @return (AnalysisTotals) the totals to add the remaining files to
+     */
+    private AnalysisTotals startFrom(AnalysisTotals saved) {
+        if (saved == null)
+            return new AnalysisTotals();
+        if (!saved.isCurrentFor(EventManager.getInstance().getAllEventDataFiles())) {
+            Log.Info("  Event files have changed since the last analysis, counting them all again.");
+            return new AnalysisTotals();
+        }
+        Log.Info(String.format("  Starting from the %d event files counted by the last analysis.",
+            saved.numberOfEventFiles));
+        return saved;
+    }
+
+    /**
+     * @return (AnalysisTotals) everything counted from the event data files
+     */
+    public AnalysisTotals getTotals() {
+        return totals;
+    }
+
+    private void setTotals(AnalysisTotals totals) {
+        this.totals = totals;
+        this.playersThatWonAGame = totals.getPlayersThatWonAGame();
+        this.playersThatWonARound = totals.getPlayersThatWonARound();
+        this.tilesPlayed = totals.getTilesPlayed();
+        this.startingTilesPlayed = totals.getStartingTilesPlayed();
     }
 
     // a comparator using generic type
@@ -215,8 +237,8 @@ public class AnalyzeResults {
     public String gamesWonByAPlayer() {
 
         Comparator<Player> playerComparator = 
-            new ValueComparator<Player, Integer>(playersThatWonAGame);
-        TreeMap<Player, Integer> sortedPlayers = new TreeMap<Player, Integer>(playerComparator);
+            new ValueComparator<Player, Long>(playersThatWonAGame);
+        TreeMap<Player, Long> sortedPlayers = new TreeMap<Player, Long>(playerComparator);
         sortedPlayers.putAll(playersThatWonAGame);
 
         StringBuilder strGamesWonByPlayer = 
@@ -240,9 +262,9 @@ public class AnalyzeResults {
     public String roundsWonByAPlayer() {
 
         Comparator<Player> playerComparator = 
-            new ValueComparator<Player, Integer>(playersThatWonARound);
-        TreeMap<Player, Integer> sortedPlayers = 
-            new TreeMap<Player, Integer>(playerComparator);
+            new ValueComparator<Player, Long>(playersThatWonARound);
+        TreeMap<Player, Long> sortedPlayers = 
+            new TreeMap<Player, Long>(playerComparator);
         sortedPlayers.putAll(playersThatWonARound);
 
         StringBuilder strRoundsWonByPlayer = 
@@ -264,8 +286,8 @@ public class AnalyzeResults {
      * Method called when tiles are played.
      */
     public String tilesPlayed() {
-        Comparator<Tile> tileComparator = new ValueComparator<Tile, Integer>(tilesPlayed);
-        TreeMap<Tile, Integer> sortedTiles = new TreeMap<Tile, Integer>(tileComparator);
+        Comparator<Tile> tileComparator = new ValueComparator<Tile, Long>(tilesPlayed);
+        TreeMap<Tile, Long> sortedTiles = new TreeMap<Tile, Long>(tileComparator);
         sortedTiles.putAll(tilesPlayed);
 
         StringBuilder strTilesPlayed = new StringBuilder(100).append("Tiles played:\n");
@@ -286,8 +308,8 @@ public class AnalyzeResults {
      * Method called when the starting tile is played.
      */
     public String startingTilePlayed() {
-        Comparator<Tile> tileComparator = new ValueComparator<Tile, Integer>(startingTilesPlayed);
-        TreeMap<Tile, Integer> sortedTiles = new TreeMap<Tile, Integer>(tileComparator);
+        Comparator<Tile> tileComparator = new ValueComparator<Tile, Long>(startingTilesPlayed);
+        TreeMap<Tile, Long> sortedTiles = new TreeMap<Tile, Long>(tileComparator);
         sortedTiles.putAll(startingTilesPlayed);
 
         StringBuilder strTilesPlayed = new StringBuilder(100).append("Tiles played at start:\n");
@@ -20,6 +20,8 @@
 package com.thirdsonsoftware;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  *
@@ -55,7 +57,7 @@ import java.io.Serializable;
  * Row + Col == Odd  means tile points down
  *
  */
-public class Board implements Serializable {
+public class Board implements Serializable, BoardView {
 
     protected boolean bUseColor = false ;
 
@@ -81,11 +83,85 @@ public class Board implements Serializable {
 
     final Tile[][] playedTiles ;
 
+    // Packed occupancy of the board, one bit per cell and 64 columns per
+    //   word, kept alongside playedTiles so neighbor probes can be answered
+    //   without touching a Tile.
+    private final long[][] occupied ;
+
+    // Sides of a frontier slot that border a placed tile
+    public static final int FRONTIER_LEFT   = 1 ;
+    public static final int FRONTIER_RIGHT  = 2 ;
+    public static final int FRONTIER_MIDDLE = 4 ;
+
+    // The frontier is every empty cell that shares a face with at least one
+    //   placed tile.  Cells are packed as (row * stride + col) in a dense
+    //   array, with a reverse index so a cell can be added or removed in O(1).
+    private final int   stride ;
+    private final int[] frontierCells ;
+    private final int[] frontierIndex ;
+    private final int[] frontierSides ;
+    private int frontierSize ;
+
+    // Number of tiles played and the extents of the tiles played, kept as
+    //   tiles are placed so neither needs a scan of the board.
+    private int pieceCount ;
+    private int minPlayedRow ;
+    private int maxPlayedRow ;
+    private int minPlayedCol ;
+    private int maxPlayedCol ;
+
+    // The Zobrist key of the tiles played, kept as tiles are placed
+    private long zobristKey ;
+
+    // How a neighbor of a placed tile was left on the frontier
+    private static final int FRONTIER_UNTOUCHED = -2 ;
+    private static final int FRONTIER_ADDED     = -1 ;
+
+    /**
+     * What a placement changed, so it can be taken back.  Records are kept
+     *   once made and reused, so placing and taking back tiles in a search
+     *   allocates nothing once the search has been as deep before.
+     */
+    private static class Placement {
+        Tile tile ;
+        int row ;
+        int col ;
+
+        // The tile as it was before it was placed
+        Orientation orientation ;
+        int rotation ;
+        int tileRow ;
+        int tileCol ;
+        Boolean placed ;
+        Boolean inTray ;
+
+        // The frontier slot the cell held, and the neighbors' sides before
+        int frontierIndex ;
+        int frontierSides ;
+        final int[] neighborSides = new int[3] ;
+
+        // The extents of the tiles played before
+        int minRow ;
+        int maxRow ;
+        int minCol ;
+        int maxCol ;
+    }
+
+    // Placements that can be taken back, most recent last; a saved board has none
+    private transient ArrayList<Placement> placements ;
+    private transient int placementCount ;
+
     /**
      * Build the game board with the default size
      */
     public Board() {
         playedTiles = new Tile[DEFAULT_ROWS][DEFAULT_COLS];
+        occupied = new long[DEFAULT_ROWS][wordsPerRow(DEFAULT_COLS)];
+        stride = DEFAULT_COLS;
+        frontierCells = new int[DEFAULT_ROWS * DEFAULT_COLS];
+        frontierIndex = new int[DEFAULT_ROWS * DEFAULT_COLS];
+        frontierSides = new int[DEFAULT_ROWS * DEFAULT_COLS];
+        Arrays.fill(frontierIndex, -1);
         num_cols=DEFAULT_COLS;
         num_rows=DEFAULT_ROWS;
         setUseColor(false);
@@ -99,12 +175,61 @@ public class Board implements Serializable {
      */
     public Board( int rows, int cols ) {
         playedTiles = new Tile[rows][cols] ;
+        occupied = new long[rows][wordsPerRow(cols)];
+        stride = cols;
+        frontierCells = new int[rows * cols];
+        frontierIndex = new int[rows * cols];
+        frontierSides = new int[rows * cols];
+        Arrays.fill(frontierIndex, -1);
         num_rows=rows;
         num_cols=cols;
         setUseColor(false);
         clearBoard();
     }
 
+    /**
+     * Build a board with the same tiles played as another.  The tiles
+     *   themselves are shared, so they must not be changed through either
+     *   board; tiles placed on one board are not seen by the other.  None of
+     *   the other board's placements can be taken back on this one.
+     * @param other - the board to copy
+     */
+    protected Board( Board other ) {
+        playedTiles = new Tile[other.num_rows][];
+        for ( int x=0; x<other.num_rows; x++ )
+            playedTiles[x] = other.playedTiles[x].clone();
+        occupied = new long[other.occupied.length][];
+        for ( int x=0; x<other.occupied.length; x++ )
+            occupied[x] = other.occupied[x].clone();
+        stride = other.stride;
+        frontierCells = other.frontierCells.clone();
+        frontierIndex = other.frontierIndex.clone();
+        frontierSides = other.frontierSides.clone();
+        frontierSize = other.frontierSize;
+        num_rows = other.num_rows;
+        num_cols = other.num_cols;
+        topBorder = other.topBorder;
+        bottomBorder = other.bottomBorder;
+        leftBorder = other.leftBorder;
+        rightBorder = other.rightBorder;
+        pieceCount = other.pieceCount;
+        minPlayedRow = other.minPlayedRow;
+        maxPlayedRow = other.maxPlayedRow;
+        minPlayedCol = other.minPlayedCol;
+        maxPlayedCol = other.maxPlayedCol;
+        zobristKey = other.zobristKey;
+        round = other.round;
+        bUseColor = other.bUseColor;
+        c = other.c;
+        p = other.p;
+        r = other.r;
+    }
+
+    @Override
+    public Board copy() {
+        return new Board(this);
+    }
+
     /**
      * Tell the board to use color or not.  Some terminals don't
      *   support ANSI colors, so this is a way to turn it off if
@@ -145,39 +270,13 @@ public class Board implements Serializable {
         //   where the left, top, right, and bottom borders are.
         if ( !full ) {
 
-            // Max out the minimum values, and minimize out the maximum values.
-            topBorder = num_rows ;
-            leftBorder = num_cols ;
-            bottomBorder = rightBorder = 0 ;
-
-            // Now, spin through the board and find the rows and cols
-            //   closest to the edges
-            for (int row = 0; row < num_rows; row++) {
-
-                for (int col = 0; col < num_cols; col++) {
-
-                    // if the spot on the board has a tile, set the
-                    //   values as appropriate.
-                    if ( playedTiles[row][col] != null ) {
-
-                        // Set the top
-                        if ( row < topBorder)
-                            topBorder = row ;
-
-                        // Set the bottom
-                        if ( row > bottomBorder)
-                            bottomBorder = row ;
-
-                        // Set the left
-                        if ( col < leftBorder)
-                            leftBorder = col ;
-
-                        // set the right
-                        if ( col > rightBorder)
-                            rightBorder = col ;
-                    }
-                }
-            }
+            // The extents are kept up to date as tiles are placed.  With no
+            //   tiles played, the minimums are maxed out and the maximums are
+            //   minimized.
+            topBorder    = minPlayedRow ;
+            bottomBorder = maxPlayedRow ;
+            leftBorder   = minPlayedCol ;
+            rightBorder  = maxPlayedCol ;
 
         } else {
 
@@ -319,6 +418,228 @@ public class Board implements Serializable {
         for ( int x=0; x<getNumberOfRows(); x++)
             for ( int y=0; y<getNumberOfCols(); y++)
                 playedTiles[x][y] = null ;
+        for ( long[] words : occupied )
+            Arrays.fill(words, 0L);
+        for ( int i=0; i<frontierSize; i++ )
+            frontierIndex[frontierCells[i]] = -1 ;
+        frontierSize = 0 ;
+        pieceCount = 0 ;
+        minPlayedRow = num_rows ;
+        minPlayedCol = num_cols ;
+        maxPlayedRow = maxPlayedCol = 0 ;
+        zobristKey = 0L ;
+        placementCount = 0 ;
+    }
+
+    /**
+     * @return (int) the number of open slots on the frontier of the board
+     */
+    public int getFrontierSize() {
+        return frontierSize ;
+    }
+
+    /**
+     * @param index - the frontier slot, 0 through getFrontierSize()-1
+     * @return (int) the row of the slot
+     */
+    public int getFrontierRow(int index) {
+        return frontierCells[index] / stride ;
+    }
+
+    /**
+     * @param index - the frontier slot, 0 through getFrontierSize()-1
+     * @return (int) the column of the slot
+     */
+    public int getFrontierCol(int index) {
+        return frontierCells[index] % stride ;
+    }
+
+    /**
+     * The sides of a slot that border a placed tile, and therefore the faces
+     *   that a tile played there has to match.
+     * @param index - the frontier slot, 0 through getFrontierSize()-1
+     * @return (int) a combination of FRONTIER_LEFT, FRONTIER_RIGHT and FRONTIER_MIDDLE
+     */
+    public int getFrontierSides(int index) {
+        return frontierSides[frontierCells[index]] ;
+    }
+
+    /**
+     * @param row - The row of the location
+     * @param col - The column of the location
+     * @return true if the location is an empty cell next to a placed tile
+     */
+    public boolean isOnFrontier(int row, int col) {
+        return ( row >= 0 ) && ( row < num_rows ) && ( col >= 0 ) && ( col < num_cols ) &&
+               ( frontierIndex[row * stride + col] >= 0 ) ;
+    }
+
+    /**
+     * Adds an empty cell to the frontier, or marks another of its sides as
+     *   bordering a placed tile if it's already there.
+     * @param row - The row of the location
+     * @param col - The column of the location
+     * @param side - the side of the cell that borders the placed tile
+     * @return (int) the sides the cell had before, FRONTIER_ADDED if it wasn't
+     *   on the frontier, or FRONTIER_UNTOUCHED if it is off the board or taken
+     */
+    private int addToFrontier(int row, int col, int side) {
+        if ( ( row < 0 ) || ( row >= num_rows ) || ( col < 0 ) || ( col >= num_cols ) || isOccupied(row, col) )
+            return FRONTIER_UNTOUCHED ;
+        int cell = row * stride + col ;
+        int before = frontierSides[cell] ;
+        if ( frontierIndex[cell] < 0 ) {
+            frontierIndex[cell] = frontierSize ;
+            frontierCells[frontierSize++] = cell ;
+            frontierSides[cell] = 0 ;
+            before = FRONTIER_ADDED ;
+        }
+        frontierSides[cell] |= side ;
+        return before ;
+    }
+
+    /**
+     * Undoes addToFrontier().
+     * @param row - The row of the location
+     * @param col - The column of the location
+     * @param before - what addToFrontier() returned
+     */
+    private void restoreFrontier(int row, int col, int before) {
+        if ( before == FRONTIER_UNTOUCHED )
+            return ;
+        int cell = row * stride + col ;
+        if ( before == FRONTIER_ADDED ) {
+            // It was added last, and everything added since has been taken back
+            frontierIndex[cell] = -1 ;
+            frontierSize-- ;
+        } else {
+            frontierSides[cell] = before ;
+        }
+    }
+
+    /**
+     * Removes a cell from the frontier by moving the last slot into its place.
+     * @param row - The row of the location
+     * @param col - The column of the location
+     */
+    private void removeFromFrontier(int row, int col) {
+        int cell = row * stride + col ;
+        int index = frontierIndex[cell] ;
+        if ( index < 0 )
+            return ;
+        int last = frontierCells[--frontierSize] ;
+        frontierCells[index] = last ;
+        frontierIndex[last] = index ;
+        frontierIndex[cell] = -1 ;
+    }
+
+    /**
+     * A tile was just played at this location.  It is no longer open, and each
+     *   empty cell sharing one of its faces now borders it.
+     * @param row - The row of the tile played
+     * @param col - The column of the tile played
+     * @param placement - where to record what changed
+     */
+    private void updateFrontier(int row, int col, Placement placement) {
+        int cell = row * stride + col ;
+        placement.frontierIndex = frontierIndex[cell] ;
+        placement.frontierSides = frontierSides[cell] ;
+        removeFromFrontier(row, col);
+        placement.neighborSides[0] = addToFrontier(row, col - 1, FRONTIER_RIGHT);
+        placement.neighborSides[1] = addToFrontier(row, col + 1, FRONTIER_LEFT);
+        placement.neighborSides[2] = addToFrontier(row + middleDirection(row, col), col, FRONTIER_MIDDLE);
+    }
+
+    /**
+     * Undoes updateFrontier(), in the reverse order, so the frontier is left
+     *   exactly as it was, slot for slot.
+     * @param placement - what updateFrontier() recorded
+     */
+    private void restoreFrontier(Placement placement) {
+        int row = placement.row ;
+        int col = placement.col ;
+        restoreFrontier(row + middleDirection(row, col), col, placement.neighborSides[2]);
+        restoreFrontier(row, col + 1, placement.neighborSides[1]);
+        restoreFrontier(row, col - 1, placement.neighborSides[0]);
+
+        // Put the cell back in its slot, and the slot's new holder back at the end
+        int cell = row * stride + col ;
+        int index = placement.frontierIndex ;
+        if ( index >= 0 ) {
+            int moved = frontierCells[index] ;
+            frontierCells[frontierSize] = moved ;
+            frontierIndex[moved] = frontierSize++ ;
+            frontierCells[index] = cell ;
+            frontierIndex[cell] = index ;
+        }
+        frontierSides[cell] = placement.frontierSides ;
+    }
+
+    /**
+     * @return (int) the row step to the cell sharing the middle face of a tile at the location
+     */
+    private int middleDirection(int row, int col) {
+        return ( getOrientationForPositionOnBoard(row, col) == Orientation.UP ) ? 1 : -1 ;
+    }
+
+    /**
+     * @param cols - the number of columns in a row
+     * @return (int) the number of longs needed to hold one bit per column
+     */
+    private static int wordsPerRow(int cols) {
+        return ( cols + 63 ) >>> 6 ;
+    }
+
+    /**
+     * Is there a tile played at this location?  Locations off the board
+     *   are never occupied.
+     * @param row - The row of the location
+     * @param col - The column of the location
+     * @return true if a tile has been played there, false otherwise
+     */
+    public boolean isOccupied(int row, int col) {
+        return occupancy(row, col, 1) != 0L ;
+    }
+
+    /**
+     * Returns the occupancy of a run of cells within a single row, where bit
+     *   'i' of the result is set when (row, col + i) holds a tile.  Cells that
+     *   fall off the board read as empty.
+     * @param row - The row of the run
+     * @param col - The column of the first cell in the run (may be negative)
+     * @param width - The number of cells in the run (less than 64)
+     * @return (long) the occupancy bits for the run
+     */
+    protected long occupancy(int row, int col, int width) {
+
+        if ( ( width <= 0 ) || ( row < 0 ) || ( row >= occupied.length ) )
+            return 0L ;
+
+        // Cells off the left edge are never occupied
+        if ( col < 0 )
+            return occupancy(row, 0, width + col) << -col ;
+
+        long[] words = occupied[row];
+        int word = col >>> 6 ;
+        if ( word >= words.length )
+            return 0L ;
+
+        int offset = col & 63 ;
+        long bits = words[word] >>> offset ;
+        if ( ( offset + width > 64 ) && ( word + 1 < words.length ) )
+            bits |= words[word + 1] << ( 64 - offset ) ;
+
+        return bits & ( ( 1L << width ) - 1 ) ;
+    }
+
+    /**
+     * The Zobrist key of the tiles played: every tile, where it was placed
+     *   and how it was turned.  Boards with the same tiles played the same
+     *   way have the same key, whatever order they were played in.
+     * @return (long) the key of the position on the board
+     */
+    public long getZobristKey() {
+        return zobristKey;
     }
 
     /**
@@ -327,14 +648,7 @@ public class Board implements Serializable {
      * @return count of tiles on the board (int)
      */
     public int count() {
-        int count=0;
-        for ( Tile row[]:playedTiles ) {
-            for ( Tile tile:row ) {
-                if ( tile != null )
-                    count++;
-            }
-        }
-        return count;
+        return pieceCount;
     }
 
     /**
@@ -349,10 +663,10 @@ public class Board implements Serializable {
     /**
      * Verifies that the specified space on the board is unoccupied, and
      *   that all of the adjacent faces and corners will allow it to be
-     *   played there.
-     * @param t - the tile to determine if it fits
-     * @param row - the row of the location to place the tile
-     * @param col - the column of the location to place the tile
+     *   played there.  The tile is tested in the orientation and rotation
+     *   of the choice, and is not changed.  Corner failures are logged, and
+     *   the score of a tile that fits is set on the choice.
+     * @param choice - the choice to determine if it fits
      * @return true if it fits, and false otherwise
      */
     public boolean pieceFits( Choice choice ) {
@@ -361,30 +675,64 @@ public class Board implements Serializable {
         Tile t = choice.getTile();
         int row = choice.getRow();
         int col = choice.getCol();
-
-        // We need to adjust the tile to the choice setting first...for now
-        // Later, let's remove the use of the tile all together...
-        t.setOrientation(choice.getOrientation());
-        t.setRotation(choice.getRotation());
+        Orientation o = choice.getOrientation();
+        int rotation = choice.getRotation();
 
         // Is the slot empty?
-        if ( playedTiles[row][col] == null ) {
-            bItFits = leftFaceFits(t, row, col) &&
-                    rightFaceFits(t, row, col) &&
-                    middleFaceFits(t, row, col) &&
-                    leftCornerFits(t, row, col) &&
-                    middleCornerFits(t, row, col) &&
-                    rightCornerFits(t, row, col);
+        if ( !isOccupied(row, col) ) {
+            bItFits = leftFaceFits(t, o, rotation, row, col) &&
+                    rightFaceFits(t, o, rotation, row, col) &&
+                    middleFaceFits(t, o, rotation, row, col) &&
+                    leftCornerFits(t, o, rotation, row, col) &&
+                    middleCornerFits(t, o, rotation, row, col) &&
+                    rightCornerFits(t, o, rotation, row, col);
 
             if (bItFits) {
                 int score = calculateScore(choice);
-                Log.Debug(String.format("  Score for playing tile %s @ (%d,%d) is %s.", t, row, col, score));
+                Log.Debug("  Score for playing tile %s @ (%d,%d) is %s.", t, row, col, score);
                 choice.setScore(score);
             }
         }
         return bItFits ;
     }
 
+    /**
+     * Verifies that the specified space on the board is unoccupied, and
+     *   that all of the adjacent faces and corners will allow the tile to be
+     *   played there in this orientation and rotation.  Nothing is logged and
+     *   neither the tile nor the board is changed, so this is safe to call
+     *   for candidates that may never be played.
+     * @param t - the tile to determine if it fits
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - the row of the location to place the tile
+     * @param col - the column of the location to place the tile
+     * @return true if it fits, and false otherwise
+     */
+    public boolean fits(Tile t, Orientation o, int rotation, int row, int col) {
+        return !isOccupied(row, col) &&
+                leftFaceFits(t, o, rotation, row, col) &&
+                rightFaceFits(t, o, rotation, row, col) &&
+                middleFaceFits(t, o, rotation, row, col) &&
+                ( leftCornerFailure(t, o, rotation, row, col) == null ) &&
+                ( middleCornerFailure(t, o, rotation, row, col) == null ) &&
+                ( rightCornerFailure(t, o, rotation, row, col) == null ) ;
+    }
+
+    /**
+     * The score for playing a tile at this location, including any bridge,
+     *   hexagon or starting bonus.  Nothing is logged and neither the tile nor
+     *   the board is changed.
+     * @param t - the tile to be placed
+     * @param o - the orientation of the tile
+     * @param row - the row of the location to place the tile
+     * @param col - the column of the location to place the tile
+     * @return (int) the score if the tile is placed there
+     */
+    public int score(Tile t, Orientation o, int row, int col) {
+        return score(t, createsABridge(o, row, col), createsAHexagon(o, row, col));
+    }
+
     /**
      * Determines if the left corner of this Tile fits on the board.
      * @param t - tile to be placed on the board
@@ -394,6 +742,46 @@ public class Board implements Serializable {
      *         board or blank spaces
      */
     protected Boolean leftCornerFits(Tile t, int row, int col) {
+        return leftCornerFits(t, t.getOrientation(), t.getRotation(), row, col);
+    }
+
+    /**
+     * Determines if the left corner of this Tile, in this orientation and
+     *   rotation, fits on the board.  A failure is logged.
+     * @param t - tile to be placed on the board
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row in which to place it
+     * @param col - column in which to place it
+     * @return true if the tile's left corner matches all other tiles on the
+     *         board or blank spaces
+     */
+    protected boolean leftCornerFits(Tile t, Orientation o, int rotation, int row, int col) {
+
+        String whyItFails = leftCornerFailure(t, o, rotation, row, col);
+
+        if ( whyItFails != null ) {
+
+            Event.logEvent(EventType.FAIL_CORNER_TEST, getRound());
+
+            // Checked first, so a quiet run doesn't box the arguments of every failed test
+            if ( Log.isInfoEnabled() )
+                Log.Info("  Tile '%s' placement @ (%d,%d) fails left corner test - %s", t, row, col, whyItFails);
+        }
+        return ( whyItFails == null ) ;
+    }
+
+    /**
+     * Looks for a tile on the board that the left corner of this Tile does
+     *   not match.
+     * @param t - tile to be placed on the board
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row in which to place it
+     * @param col - column in which to place it
+     * @return (String) where the corner fails to match, or null if it fits
+     */
+    private String leftCornerFailure(Tile t, Orientation o, int rotation, int row, int col) {
 
         // This is a sample board, and we need to determine
         //   if a corner can fit or not.  In this case, we are
@@ -421,81 +809,47 @@ public class Board implements Serializable {
         // |    |====+++=======+++/3 P 3\\3/=======+++=======+++=======
         // |    |=====+=========+ -- 48-- v=========+=========+=========
 
-        // Assume it fits...
-        boolean bItFits = true ;
-
-        String whyItFails = "" ;
-
         boolean bWeCanLookLeft = ( col > 0 ) ;
         boolean bWeCanLookFarLeft = ( col > 1 ) ;
         boolean bWeCanLookDown = ( row < num_rows - 1 ) ;
         boolean bWeCanLookUp = ( row > 0 ) ;
 
-        int cornerToMatch = t.getLeftCorner();
+        int cornerToMatch = t.getLeftCorner(o, rotation);
 
         // left
-        if (bWeCanLookLeft) {
-            Tile tileToTheLeft = pieceAtLocation(row,col-1);
-            if ( ( tileToTheLeft != null) &&
-                 ( tileToTheLeft.getMiddleCorner() != cornerToMatch ) ) {
-                Log.Info(Player.showTwoTilesLeftAndRight(tileToTheLeft, t));
-                bItFits = false;
-                whyItFails = "left";
-            }
-        }
+        if ( bWeCanLookLeft && isOccupied(row,col-1) &&
+                ( pieceAtLocation(row,col-1).getMiddleCorner() != cornerToMatch ) )
+            return "left";
+
         // far-left
-        if (bWeCanLookFarLeft) {
-            Tile tileFarLeft = pieceAtLocation(row,col-2);
-            if ( ( tileFarLeft != null) &&
-                ( tileFarLeft.getRightCorner() != cornerToMatch ) ) {
-                bItFits = false;
-                whyItFails = "far-left";
-            }
-        }
-        if ( t.getOrientation() == Orientation.UP ) {
+        if ( bWeCanLookFarLeft && isOccupied(row,col-2) &&
+                ( pieceAtLocation(row,col-2).getRightCorner() != cornerToMatch ) )
+            return "far-left";
+
+        if ( o == Orientation.UP ) {
             if (bWeCanLookDown) {
                 // down && left
-                if (bWeCanLookLeft) {
-                    Tile tileDownLeft = pieceAtLocation(row+1,col-1);
-                    if ( (tileDownLeft != null) &&
-                            (tileDownLeft.getMiddleCorner() != cornerToMatch ) ) {
-                        bItFits = false;
-                        whyItFails = "down & left";
-                    }
-                }
+                if ( bWeCanLookLeft && isOccupied(row+1,col-1) &&
+                        ( pieceAtLocation(row+1,col-1).getMiddleCorner() != cornerToMatch ) )
+                    return "down & left";
                 // down && far-left
-                if (bWeCanLookFarLeft) {
-                        Tile tileDownFarLeft = pieceAtLocation(row+1,col-2);
-                        if ( (tileDownFarLeft != null) &&
-                                (tileDownFarLeft.getRightCorner() != cornerToMatch ) ) {
-                            bItFits = false;
-                            whyItFails = "down & far-left";
-                        }
-                }
+                if ( bWeCanLookFarLeft && isOccupied(row+1,col-2) &&
+                        ( pieceAtLocation(row+1,col-2).getRightCorner() != cornerToMatch ) )
+                    return "down & far-left";
             }
         } else {
             // up && left
             if ((bWeCanLookUp) && (bWeCanLookLeft) &&
-                    (pieceAtLocation(row - 1, col - 1) != null) &&
-                    (pieceAtLocation(row - 1, col - 1).getMiddleCorner() != cornerToMatch)) {
-                bItFits = false;
-                whyItFails = "up & left";
-            }
+                    isOccupied(row - 1, col - 1) &&
+                    (pieceAtLocation(row - 1, col - 1).getMiddleCorner() != cornerToMatch))
+                return "up & left";
             // up && far-left
             if ((bWeCanLookUp) && (bWeCanLookFarLeft) &&
-                    (pieceAtLocation(row - 1, col - 2) != null) &&
-                    (pieceAtLocation(row - 1, col - 2).getRightCorner() != cornerToMatch)) {
-                bItFits = false;
-                whyItFails = "up & far-left";
-            }
-        }
-        if (!bItFits) {
-
-            Event.logEvent(EventType.FAIL_CORNER_TEST, getRound());
-
-            Log.Info(String.format("  Tile '%s' placement @ (%d,%d) fails left corner test - %s", t, row, col, whyItFails));
+                    isOccupied(row - 1, col - 2) &&
+                    (pieceAtLocation(row - 1, col - 2).getRightCorner() != cornerToMatch))
+                return "up & far-left";
         }
-        return bItFits ;
+        return null ;
     }
 
     /**
@@ -508,75 +862,82 @@ public class Board implements Serializable {
      * @return true if the tile's middle corner fits the location
      */
     protected boolean middleCornerFits(Tile t, int row, int col) {
-        boolean bItFits = true ;
+        return middleCornerFits(t, t.getOrientation(), t.getRotation(), row, col);
+    }
 
-        String whyItFails = "" ;
+    /**
+     * Determines if tile 't', in this orientation and rotation, can fit in location
+     *  (row,col) based on the middle corner.  A failure is logged.
+     * @param t - new tile to be placed
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row for it to be placed in
+     * @param col - col for it to be placed in
+     * @return true if the tile's middle corner fits the location
+     */
+    protected boolean middleCornerFits(Tile t, Orientation o, int rotation, int row, int col) {
+
+        String whyItFails = middleCornerFailure(t, o, rotation, row, col);
+
+        if ( ( whyItFails != null ) && Log.isInfoEnabled() )
+            Log.Info("  Tile '%s' placement @ (%d,%d) fails middle corner test - %s", t, row, col, whyItFails);
+        return ( whyItFails == null ) ;
+    }
+
+    /**
+     * Looks for a tile on the board that the middle corner of this Tile does
+     *   not match.
+     * @param t - new tile to be placed
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row for it to be placed in
+     * @param col - col for it to be placed in
+     * @return (String) where the corner fails to match, or null if it fits
+     */
+    private String middleCornerFailure(Tile t, Orientation o, int rotation, int row, int col) {
 
         boolean bWeCanLookLeft = ( col > 0 ) ;
         boolean bWeCanLookRight = ( col < num_cols - 1 ) ;
         boolean bWeCanLookDown = ( row < num_rows - 1 ) ;
         boolean bWeCanLookUp = ( row > 0 ) ;
 
-        if ( t.getOrientation() == Orientation.DOWN ) {
+        int cornerToMatch = t.getMiddleCorner(o, rotation);
+
+        if ( o == Orientation.DOWN ) {
 
             if ( bWeCanLookDown ) {
 
-                if ( bWeCanLookRight ) {
+                if ( bWeCanLookRight && isOccupied(row, col + 1) &&
+                        ( pieceAtLocation(row, col + 1).getLeftCorner() != cornerToMatch ) )
+                    return "down & right";
 
-                    Tile tileDownAndRight = pieceAtLocation(row, col + 1);
-                    if ((tileDownAndRight != null) &&
-                            (tileDownAndRight.getLeftCorner() != t.getMiddleCorner())) {
-                        Log.Info(Player.showTwoTilesLeftAndRight(t, pieceAtLocation(row, col + 1)));
-                        bItFits = false;
-                        whyItFails = "down & right";
-                    }
-                }
+                if ( isOccupied(row + 1, col) &&
+                        ( pieceAtLocation(row + 1, col).getMiddleCorner() != cornerToMatch ) )
+                    return "down";
 
-                Tile tileDown = pieceAtLocation(row + 1, col) ;
-                if ( ( tileDown != null ) &&
-                        ( tileDown.getMiddleCorner() != t.getMiddleCorner() ) ) {
-                    bItFits = false;
-                    whyItFails = "down";
-                }
-
-                if ( bWeCanLookLeft ) {
-                    Tile tileDownAndLeft = pieceAtLocation(row + 1, col - 1) ;
-                    if ( ( tileDownAndLeft != null ) &&
-                        ( tileDownAndLeft.getRightCorner() != t.getMiddleCorner() ) ) {
-                        bItFits = false;
-                        whyItFails = "down & left";
-                    }
-                }
+                if ( bWeCanLookLeft && isOccupied(row + 1, col - 1) &&
+                        ( pieceAtLocation(row + 1, col - 1).getRightCorner() != cornerToMatch ) )
+                    return "down & left";
             }
 
         } else {
 
             if ( (bWeCanLookUp) && (bWeCanLookLeft) &&
-                    (pieceAtLocation(row-1,col - 1) != null ) &&
-                    (pieceAtLocation(row-1,col - 1).getRightCorner() != t.getMiddleCorner())) {
-                bItFits = false;
-                whyItFails = "up & left";
-            }
+                    isOccupied(row-1,col - 1) &&
+                    (pieceAtLocation(row-1,col - 1).getRightCorner() != cornerToMatch))
+                return "up & left";
 
             if ( (bWeCanLookUp) &&
-                    (pieceAtLocation(row-1,col) != null ) &&
-                    (pieceAtLocation(row-1,col).getMiddleCorner() != t.getMiddleCorner())) {
-                bItFits = false ;
-                whyItFails = "up";
-            }
+                    isOccupied(row-1,col) &&
+                    (pieceAtLocation(row-1,col).getMiddleCorner() != cornerToMatch))
+                return "up";
 
             if ( (bWeCanLookUp) && (bWeCanLookRight) &&
-                    (pieceAtLocation(row-1,col + 1) != null) &&
-                    (pieceAtLocation(row-1,col + 1).getLeftCorner() != t.getMiddleCorner())) {
-                bItFits = false ;
-                whyItFails = "up & right";
-            }
-
+                    isOccupied(row-1,col + 1) &&
+                    (pieceAtLocation(row-1,col + 1).getLeftCorner() != cornerToMatch))
+                return "up & right";
         }
-
-        if (!bItFits)
-            Log.Info( String.format("  Tile '%s' placement @ (%d,%d) fails middle corner test - %s", t, row, col, whyItFails) ) ;
-        return bItFits;
+        return null ;
     }
 
     /**
@@ -589,86 +950,83 @@ public class Board implements Serializable {
      * @return true if the tile's right corner fits the location
      */
     protected boolean rightCornerFits(Tile t, int row, int col) {
-        boolean bItFits = true;
+        return rightCornerFits(t, t.getOrientation(), t.getRotation(), row, col);
+    }
 
-        String whyItFails = "" ;
+    /**
+     * Determines if tile 't', in this orientation and rotation, can fit in location
+     *  (row,col) based on the right corner.  A failure is logged.
+     * @param t - new tile to be placed
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row for it to be placed in
+     * @param col - col for it to be placed in
+     * @return true if the tile's right corner fits the location
+     */
+    protected boolean rightCornerFits(Tile t, Orientation o, int rotation, int row, int col) {
+
+        String whyItFails = rightCornerFailure(t, o, rotation, row, col);
+
+        if ( ( whyItFails != null ) && Log.isInfoEnabled() )
+            Log.Info("  Tile '%s' placement @ (%d,%d) fails right corner test - %s", t, row, col, whyItFails);
+        return ( whyItFails == null ) ;
+    }
+
+    /**
+     * Looks for a tile on the board that the right corner of this Tile does
+     *   not match.
+     * @param t - new tile to be placed
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row for it to be placed in
+     * @param col - col for it to be placed in
+     * @return (String) where the corner fails to match, or null if it fits
+     */
+    private String rightCornerFailure(Tile t, Orientation o, int rotation, int row, int col) {
 
         boolean bWeCanLookRight = ( col < num_cols - 1 ) ;
         boolean bWeCanLookFarRight = ( col < num_cols - 2 ) ;
         boolean bWeCanLookDown = ( row < num_rows - 1 ) ;
         boolean bWeCanLookUp = ( row > 0 ) ;
 
-        int cornerToMatch = t.getRightCorner() ;
+        int cornerToMatch = t.getRightCorner(o, rotation) ;
 
         // right
-        if (bWeCanLookRight) {
-            Tile tileToTheRight = pieceAtLocation(row, col + 1) ;
-            if ( ( tileToTheRight != null ) &&
-                 ( tileToTheRight.getMiddleCorner() != cornerToMatch ) ) {
-                Log.Info(Player.showTwoTilesLeftAndRight(t, pieceAtLocation(row, col + 1)));
-                bItFits = false;
-                whyItFails = "right";
-            }
-        }
+        if ( bWeCanLookRight && isOccupied(row, col + 1) &&
+                ( pieceAtLocation(row, col + 1).getMiddleCorner() != cornerToMatch ) )
+            return "right";
 
         // far-right
-        if (bWeCanLookFarRight) {
-            Tile tileToTheFarRight = pieceAtLocation(row, col + 2) ;
-            if ( ( tileToTheFarRight != null ) &&
-                ( tileToTheFarRight.getLeftCorner() != cornerToMatch ) ) {
-                bItFits = false;
-                whyItFails = "far-right";
-            }
-        }
+        if ( bWeCanLookFarRight && isOccupied(row, col + 2) &&
+                ( pieceAtLocation(row, col + 2).getLeftCorner() != cornerToMatch ) )
+            return "far-right";
 
         // If we are oriented UP, we need to look down...
-        if ( t.getOrientation() == Orientation.UP ) {
+        if ( o == Orientation.UP ) {
 
             // down && far-right
-            if ( (bWeCanLookDown) && (bWeCanLookFarRight) ) {
-                Tile tileDownAndFarRight = pieceAtLocation(row + 1, col + 2);
-                if ( ( tileDownAndFarRight != null) &&
-                        ( tileDownAndFarRight.getLeftCorner() != cornerToMatch ) ) {
-                    bItFits = false;
-                    whyItFails = "down & far-right";
-                }
-            }
+            if ( (bWeCanLookDown) && (bWeCanLookFarRight) && isOccupied(row + 1, col + 2) &&
+                    ( pieceAtLocation(row + 1, col + 2).getLeftCorner() != cornerToMatch ) )
+                return "down & far-right";
 
             // down && right
-            if ( (bWeCanLookDown) && (bWeCanLookRight) ) {
-                Tile tileDownAndRight = pieceAtLocation(row + 1, col + 1) ;
-                if ( ( tileDownAndRight != null) &&
-                        ( tileDownAndRight.getMiddleCorner() != cornerToMatch ) ) {
-                    bItFits = false;
-                    whyItFails = "down & right";
-                }
-            }
+            if ( (bWeCanLookDown) && (bWeCanLookRight) && isOccupied(row + 1, col + 1) &&
+                    ( pieceAtLocation(row + 1, col + 1).getMiddleCorner() != cornerToMatch ) )
+                return "down & right";
 
         } else {
 
             // up && right
-            if ( (bWeCanLookUp) && (bWeCanLookRight) ) {
-                Tile tileUpAndRight = pieceAtLocation(row - 1, col + 1) ;
-                    if ( ( tileUpAndRight != null) &&
-                            ( tileUpAndRight.getMiddleCorner() != cornerToMatch ) ) {
-                        bItFits = false;
-                        whyItFails = "up & right";
-                    }
-            }
+            if ( (bWeCanLookUp) && (bWeCanLookRight) && isOccupied(row - 1, col + 1) &&
+                    ( pieceAtLocation(row - 1, col + 1).getMiddleCorner() != cornerToMatch ) )
+                return "up & right";
 
             // up && far right
-            if ( (bWeCanLookUp) && (bWeCanLookFarRight) ) {
-                Tile tileUpAndFarRight = pieceAtLocation(row - 1, col + 2) ;
-                if ( ( tileUpAndFarRight != null ) &&
-                        ( tileUpAndFarRight.getLeftCorner() != cornerToMatch ) ) {
-                    bItFits = false;
-                    whyItFails = "up & far-right";
-                }
-            }
+            if ( (bWeCanLookUp) && (bWeCanLookFarRight) && isOccupied(row - 1, col + 2) &&
+                    ( pieceAtLocation(row - 1, col + 2).getLeftCorner() != cornerToMatch ) )
+                return "up & far-right";
         }
-        if (!bItFits)
-            Log.Info( String.format("  Tile '%s' placement @ (%d,%d) fails right corner test - %s", t, row, col, whyItFails) ) ;
-        return bItFits;
+        return null ;
     }
 
     /**
@@ -681,6 +1039,21 @@ public class Board implements Serializable {
      *         false otherwise
      */
     protected Boolean leftFaceFits(Tile t, int row, int col) {
+        return leftFaceFits(t, t.getOrientation(), t.getRotation(), row, col);
+    }
+
+    /**
+     * Determines if the tile, in this orientation and rotation, fits at row and
+     *   col based on the left face of the tile.
+     * @param t - tile to be placed
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row in which to place it
+     * @param col - column in which to place it
+     * @return true if tile's left face matches or is adjacent to an empty spot,
+     *         false otherwise
+     */
+    protected boolean leftFaceFits(Tile t, Orientation o, int rotation, int row, int col) {
 
         // This test determines if a tile's (2) '0-0-1' left face fits on the
         //  board when the tile (2) is placed at (row,col) @ (56,57).  The left
@@ -702,17 +1075,16 @@ public class Board implements Serializable {
         // Are we inward of the edge?
         if ( col > 0 ) {
 
-            // Look left...
-            Tile tileToOurLeft = pieceAtLocation(row,col-1);
-
             // Is the left space empty?
-            Boolean bOccupied = (tileToOurLeft != null);
-            if ( bOccupied ) {
+            if ( isOccupied(row,col-1) ) {
+
+                // Look left...
+                Tile tileToOurLeft = pieceAtLocation(row,col-1);
 
                 // Left tile's orientation should be opposite of this one
                 // Left tile's right face should match our tile's left face
-                Boolean bOrientationSame = (tileToOurLeft.getOrientation() == t.getOrientation());
-                Boolean bFacesDoNotMatch = (!tileToOurLeft.getRightFace().match(t.getLeftFace()));
+                boolean bOrientationSame = (tileToOurLeft.getOrientation() == o);
+                boolean bFacesDoNotMatch = (!Face.codesMatch(tileToOurLeft.getRightFaceCode(), t.getLeftFaceCode(o, rotation)));
 
                 bItFits = !(bOrientationSame || bFacesDoNotMatch);
             }
@@ -731,6 +1103,21 @@ public class Board implements Serializable {
      *         false otherwise
      */
     protected Boolean rightFaceFits(Tile t, int row, int col) {
+        return rightFaceFits(t, t.getOrientation(), t.getRotation(), row, col);
+    }
+
+    /**
+     * Determines if the tile, in this orientation and rotation, fits at row and
+     *   col based on the right face of the tile.
+     * @param t - tile to be placed
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row in which to place it
+     * @param col - column in which to place it
+     * @return true if tile's right face matches or is adjacent to an empty spot,
+     *         false otherwise
+     */
+    protected boolean rightFaceFits(Tile t, Orientation o, int rotation, int row, int col) {
 
         // Assume it fits...
         boolean bItFits = true ;
@@ -738,16 +1125,15 @@ public class Board implements Serializable {
         // Are we inward of the edge?
         if ( col < num_cols-1 ) {
 
-            // Look right...
-            Tile tileToOurRight = pieceAtLocation(row,col+1);
-
             // Is the right space empty?
             // Right tile's orientation should be opposite of this one
             // Right tile's left face should match our tile's right face
-            if ( ( tileToOurRight != null ) &&
-                    ( ( tileToOurRight.getOrientation() == t.getOrientation() ) ||
-                            ( !tileToOurRight.getLeftFace().match( t.getRightFace() ) ) ) ) {
-                bItFits = false;
+            if ( isOccupied(row,col+1) ) {
+                Tile tileToOurRight = pieceAtLocation(row,col+1);
+                if ( ( tileToOurRight.getOrientation() == o ) ||
+                        ( !Face.codesMatch( tileToOurRight.getLeftFaceCode(), t.getRightFaceCode(o, rotation) ) ) ) {
+                    bItFits = false;
+                }
             }
         }
 
@@ -764,26 +1150,40 @@ public class Board implements Serializable {
      *         false otherwise
      */
     protected Boolean middleFaceFits(Tile t, int row, int col) {
+        return middleFaceFits(t, t.getOrientation(), t.getRotation(), row, col);
+    }
+
+    /**
+     * Determines if the tile, in this orientation and rotation, fits at row and
+     *   col based on the middle face of the tile.
+     * @param t - tile to be placed
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param row - row in which to place it
+     * @param col - column in which to place it
+     * @return true if tile's middle face matches or is adjacent to an empty spot,
+     *         false otherwise
+     */
+    protected boolean middleFaceFits(Tile t, Orientation o, int rotation, int row, int col) {
 
         // Assume it fits...
         boolean bItFits = true ;
 
         // look up?
-        if ( t.getOrientation() == Orientation.DOWN ) {
+        if ( o == Orientation.DOWN ) {
 
             // If we are inward of the top border...
             if ( row > 0 ) {
 
-                // Look up...
-                Tile tileAbove = pieceAtLocation(row-1,col);
-
-                // Is the right space empty?
-                // Right tile's orientation should be opposite of this one
-                // Right tile's left face should match our tile's right face
-                if ( ( tileAbove != null ) &&
-                        ( ( tileAbove.getOrientation() == t.getOrientation() ) ||
-                                ( !tileAbove.getMiddleFace().match( t.getMiddleFace() ) ) ) ) {
-                    bItFits = false;
+                // Is the space above empty?
+                // Tile above's orientation should be opposite of this one
+                // Tile above's middle face should match our tile's middle face
+                if ( isOccupied(row-1,col) ) {
+                    Tile tileAbove = pieceAtLocation(row-1,col);
+                    if ( ( tileAbove.getOrientation() == o ) ||
+                            ( !Face.codesMatch( tileAbove.getMiddleFaceCode(), t.getMiddleFaceCode(o, rotation) ) ) ) {
+                        bItFits = false;
+                    }
                 }
             }
 
@@ -792,16 +1192,15 @@ public class Board implements Serializable {
             // If we are inward of the bottom border...
             if ( row < num_rows-1 ) {
 
-                // Look down...
-                Tile tileBelow = pieceAtLocation(row+1,col);
-
-                // Is the right space empty?
-                // Right tile's orientation should be opposite of this one
-                // Right tile's left face should match our tile's right face
-                if ( ( tileBelow != null ) &&
-                        ( ( tileBelow.getOrientation() == t.getOrientation() ) ||
-                                ( !tileBelow.getMiddleFace().match( t.getMiddleFace() ) ) ) ) {
-                    bItFits = false;
+                // Is the space below empty?
+                // Tile below's orientation should be opposite of this one
+                // Tile below's middle face should match our tile's middle face
+                if ( isOccupied(row+1,col) ) {
+                    Tile tileBelow = pieceAtLocation(row+1,col);
+                    if ( ( tileBelow.getOrientation() == o ) ||
+                            ( !Face.codesMatch( tileBelow.getMiddleFaceCode(), t.getMiddleFaceCode(o, rotation) ) ) ) {
+                        bItFits = false;
+                    }
                 }
             }
         }
@@ -882,188 +1281,45 @@ public class Board implements Serializable {
         //     ( ( row > 0 ) && ( col < num_cols - 2 ) &&
         //          ( ( [row,  col+2] != null
         //
-        int score = 0 ;
-
-        boolean bCreatesABridge = false ;
-
-        boolean bULHexagon = false ;
-        boolean bURHexagon = false ;
-        boolean bUMHexagon = false ;
-        boolean bDLHexagon = false ;
-        boolean bDRHexagon = false ;
-        boolean bDMHexagon = false ;
+        boolean bCreatesABridge  = createsABridge(choice.getOrientation(), row, col);
+        boolean bCreatesAHexagon = createsAHexagon(choice.getOrientation(), row, col);
 
-        boolean bCreatesAHexagon = false ;
+        if ( !choice.isTestForFitOnly() ) {
 
-        boolean bLeftFaceEmpty ;
-        boolean bRightFaceEmpty ;
-        boolean bMiddleFaceEmpty ;
-
-        bLeftFaceEmpty  = (col > 0)          && (pieceAtLocation(row, col - 1) == null);
-        bRightFaceEmpty = (col < num_cols-1) && (pieceAtLocation(row, col + 1) == null);
-
-        if ( t.getOrientation() == Orientation.UP ) {
-
-            bMiddleFaceEmpty = (row < num_rows-1) && (pieceAtLocation(row + 1, col) == null);
-
-            boolean bAnchorAbove =
-                    (
-                      ( ( col > 0 )          && ( row > 0 )          && ( pieceAtLocation(row-1, col-1) != null ) ) ||
-                      (                         ( row > 0 )          && ( pieceAtLocation(row-1,col) != null ) ) ||
-                      ( ( col < num_cols-1 ) && ( row > 0 )          && ( pieceAtLocation(row-1,col+1) != null ) ) ) ;
-            boolean bAnchorLeft =
-                    (
-                      ( ( col > 1 )                                  && ( pieceAtLocation(row, col-2) != null ) ) ||
-                      ( ( col > 1 )          && ( row < num_rows-1 ) && ( pieceAtLocation(row+1,col-2 ) != null ) ) ||
-                      ( ( col > 0 )          && ( row < num_rows-1 ) && ( pieceAtLocation(row+1,col-1 ) != null ) )
-                    ) ;
-            boolean bAnchorRight =
-                    (
-                      ( ( col < num_cols-2 )                         && ( pieceAtLocation(row,col+2) != null ) ) ||
-                      ( ( row < num_rows-1 ) && ( col < num_cols-2 ) && ( pieceAtLocation(row+1,col+2) != null ) ) ||
-                      ( ( row < num_rows-1 ) && ( col < num_cols-1 ) && ( pieceAtLocation(row+1,col+1) != null ) )
-                    ) ;
-
-            if ( ( bLeftFaceEmpty   && bAnchorAbove && bAnchorLeft  ) ||
-                 ( bRightFaceEmpty  && bAnchorAbove && bAnchorRight ) ||
-                 ( bMiddleFaceEmpty && bAnchorLeft  && bAnchorRight ) ) {
-                bCreatesABridge = true ;
-            }
-
-            int hexLRD[] = {  0,  0,  1,  1, 1 } ;
-            int hexLCD[] = { -1, -2, -2, -1, 0 } ;
-            int hexRRD[] = {  1,  1,  1,  0, 0 } ;
-            int hexRCD[] = {  0,  1,  2,  2, 1 } ;
-            int hexARD[] = {  0, -1, -1, -1, 0 } ;
-            int hexACD[] = { -1, -1,  0,  1, 1 } ;
-
-            if ( row < num_rows-1 ) {
-                if ( col > 1 ) {
-                    bULHexagon = true ;
-                    // hexagon left
-                    for ( int i=0; i<5; i++ ) {
-                        bULHexagon &= ( pieceAtLocation(row + hexLRD[i],col + hexLCD[i]) != null ) ;
-                    }
-                    if ( bULHexagon )
-                        Log.Debug("  Completed hexagon with Up-Left orientation!");
-                }
-                if ( col < num_cols-2 ) {
-                    bURHexagon = true ;
-                    // hexagon right
-                    for ( int i=0; i<5; i++ ) {
-                        bURHexagon &= ( pieceAtLocation(row + hexRRD[i],col + hexRCD[i]) != null ) ;
-                    }
-                    if ( bURHexagon )
-                        Log.Debug("  Completed hexagon with Up-Right orientation!");
-                }
-            }
-
-            if ( row > 1 ) {
-                if ( col > 1 && col < num_cols - 1 ) {
-                    bUMHexagon = true ;
-                    // hexagon above
-                    for ( int i=0; i<5; i++ ) {
-                        bUMHexagon &= ( pieceAtLocation(row + hexARD[i],col + hexACD[i]) != null ) ;
-                    }
-                }
-                if ( bUMHexagon )
-                    Log.Debug("  Completed hexagon with Up-Middle orientation!");
-            }
-
-        } else {
-
-            bMiddleFaceEmpty = (row > 0 ) && (pieceAtLocation(row - 1, col) == null);
-
-            boolean bAnchorBelow =
-                    (
-                       ( ( col > 0 )          && ( row < num_rows-1 ) && ( pieceAtLocation(row+1, col-1) != null ) ) ||
-                       (                         ( row < num_rows-1 ) && ( pieceAtLocation(row+1,col) != null ) ) ||
-                       ( ( col < num_cols-1 ) && ( row < num_rows-1 ) && ( pieceAtLocation(row+1,col+1) != null ) )
-                    ) ;
-            boolean bAnchorLeft =
-                    (
-                       ( ( col > 1 )                                  && ( pieceAtLocation(row, col-2) != null ) ) ||
-                       ( ( col > 1 )          && ( row > 0 )          && ( pieceAtLocation(row-1,col-2 ) != null ) ) ||
-                       ( ( col > 0 )          && ( row > 0 )          && ( pieceAtLocation(row-1,col-1 ) != null ) )
-                    ) ;
-            boolean bAnchorRight =
-                    (
-                       ( ( col < num_cols-2 )                         && ( pieceAtLocation(row,col+2) != null ) ) ||
-                       ( ( col < num_cols-2 ) && ( row > 0 )          && ( pieceAtLocation(row-1,col+2) != null ) ) ||
-                       ( ( col < num_cols-1 ) && ( row > 0 )          && ( pieceAtLocation(row-1,col+1) != null ) )
-                    ) ;
-
-            if ( ( bLeftFaceEmpty   && bAnchorBelow && bAnchorLeft  ) ||
-                 ( bRightFaceEmpty  && bAnchorBelow && bAnchorRight ) ||
-                 ( bMiddleFaceEmpty && bAnchorLeft  && bAnchorRight ) ) {
-                bCreatesABridge = true ;
+            // Hexagon bonus
+            if ( bCreatesAHexagon ) {
+                Event.logEvent(EventType.CREATE_A_HEXAGON, getRound());
+                Log.Info("  Tile %s creates a hexagon @ (%d,%d)!  Bonus of %d points!", t, row, col, HEXAGON_BONUS);
             }
 
-
-            int hexLRD[] = {  0,  0, -1, -1, -1 } ;
-            int hexLCD[] = { -1, -2, -2, -1,  0 } ;
-            int hexRRD[] = { -1, -1, -1,  0,  0 } ;
-            int hexRCD[] = {  0,  1,  2,  2,  1 } ;
-            int hexARD[] = {  0, +1, +1, +1,  0 } ;
-            int hexACD[] = { -1, -1,  0,  1,  1 } ;
-
-            if ( row > 0 ) {
-                if ( col > 1 ) {
-                    bDLHexagon = true ;
-                    // hexagon left
-                    for ( int i=0; i<5; i++ ) {
-                        bDLHexagon &= ( pieceAtLocation(row + hexLRD[i],col + hexLCD[i]) != null ) ;
-                    }
-                    if ( bDLHexagon )
-                        Log.Debug("  Completed hexagon with Down-Left orientation!");
-                }
-                if ( col < num_cols-2 ) {
-                    bDRHexagon = true ;
-                    // hexagon right
-                    for ( int i=0; i<5; i++ ) {
-                        bDRHexagon &= ( pieceAtLocation(row + hexRRD[i],col + hexRCD[i]) != null ) ;
-                    }
-                    if ( bDRHexagon )
-                        Log.Debug("  Completed hexagon with Down-Right orientation!");
-                }
+            // Bridge bonus
+            if ( bCreatesABridge ) {
+                Event.logEvent(EventType.CREATE_A_BRIDGE, getRound());
+                Log.Info("  Tile %s creates a bridge @ (%d,%d)!  Bonus of %d points!", t, row, col, BRIDGE_BONUS);
             }
+        }
 
-            if ( row < num_rows-1 ) {
-                if ( col > 1 && col < num_cols - 1 ) {
-                    bDMHexagon = true ;
-                    // hexagon below
-                    for ( int i=0; i<5; i++ ) {
-                        bDMHexagon &= ( pieceAtLocation(row + hexARD[i],col + hexACD[i]) != null ) ;
-                    }
-                    if ( bDMHexagon )
-                        Log.Debug("  Completed hexagon with Down-Middle orientation!");
-                }
-            }
+        return score(t, bCreatesABridge, bCreatesAHexagon);
+    }
 
-        }
+    /**
+     * The score for a tile, given the bonuses its placement earns.
+     * @param t - tile to be placed
+     * @param bCreatesABridge - true if the placement creates a bridge
+     * @param bCreatesAHexagon - true if the placement completes a hexagon
+     * @return  score - score if tile is placed
+     */
+    private int score(Tile t, boolean bCreatesABridge, boolean bCreatesAHexagon) {
 
-        // If any one of six hexagons was created with tile placement, add the bonus!
-        bCreatesAHexagon = bULHexagon || bUMHexagon || bURHexagon ||
-                           bDLHexagon || bDMHexagon || bDRHexagon ;
+        int score = 0 ;
 
         // Hexagon bonus
-        if ( bCreatesAHexagon ) {
-            if ( !choice.isTestForFitOnly() ) {
-                Event.logEvent(EventType.CREATE_A_HEXAGON, getRound());
-                Log.Info(String.format("  Tile %s creates a hexagon @ (%d,%d)!  Bonus of %d points!", t, row, col, HEXAGON_BONUS));
-            }
+        if ( bCreatesAHexagon )
             score = HEXAGON_BONUS ;
-        }
 
         // Bridge bonus
-        if ( bCreatesABridge ) {
-            if ( !choice.isTestForFitOnly() ) {
-                Event.logEvent(EventType.CREATE_A_BRIDGE, getRound());
-                Log.Info(String.format("  Tile %s creates a bridge @ (%d,%d)!  Bonus of %d points!", t, row, col, BRIDGE_BONUS));
-            }
+        if ( bCreatesABridge )
             score = BRIDGE_BONUS ;
-        }
-
 
         // The first tile played
         if (count() == 0) {
@@ -1085,6 +1341,108 @@ public class Board implements Serializable {
         return score;
     }
 
+    /**
+     * Does playing a tile at this location create a bridge?  A bridge is
+     *   formed when a face of the tile is left open, but the corners on
+     *   either side of that face touch tiles already played.
+     * @param o - the orientation of a tile at the location
+     * @param row - position to place the tile
+     * @param col - position to place the tile
+     * @return true if a bridge is created, false otherwise
+     */
+    public boolean createsABridge(Orientation o, int row, int col) {
+
+        // Neighbor probes below are answered from the occupancy bits.  Runs
+        //   of cells are read a row at a time, with cells off the board
+        //   reading as empty.
+        boolean bLeftFaceEmpty  = (col > 0)          && !isOccupied(row, col - 1);
+        boolean bRightFaceEmpty = (col < num_cols-1) && !isOccupied(row, col + 1);
+        boolean bMiddleFaceEmpty ;
+
+        if ( o == Orientation.UP ) {
+
+            bMiddleFaceEmpty = (row < num_rows-1) && !isOccupied(row + 1, col);
+
+            // Any of (row-1, col-1..col+1)
+            boolean bAnchorAbove = ( occupancy(row-1, col-1, 3) != 0L ) ;
+            // Any of (row, col-2), (row+1, col-2..col-1)
+            boolean bAnchorLeft  = ( ( occupancy(row, col-2, 1) | occupancy(row+1, col-2, 2) ) != 0L ) ;
+            // Any of (row, col+2), (row+1, col+1..col+2)
+            boolean bAnchorRight = ( ( occupancy(row, col+2, 1) | occupancy(row+1, col+1, 2) ) != 0L ) ;
+
+            return ( bLeftFaceEmpty   && bAnchorAbove && bAnchorLeft  ) ||
+                   ( bRightFaceEmpty  && bAnchorAbove && bAnchorRight ) ||
+                   ( bMiddleFaceEmpty && bAnchorLeft  && bAnchorRight ) ;
+
+        } else {
+
+            bMiddleFaceEmpty = (row > 0 ) && !isOccupied(row - 1, col);
+
+            // Any of (row+1, col-1..col+1)
+            boolean bAnchorBelow = ( occupancy(row+1, col-1, 3) != 0L ) ;
+            // Any of (row, col-2), (row-1, col-2..col-1)
+            boolean bAnchorLeft  = ( ( occupancy(row, col-2, 1) | occupancy(row-1, col-2, 2) ) != 0L ) ;
+            // Any of (row, col+2), (row-1, col+1..col+2)
+            boolean bAnchorRight = ( ( occupancy(row, col+2, 1) | occupancy(row-1, col+1, 2) ) != 0L ) ;
+
+            return ( bLeftFaceEmpty   && bAnchorBelow && bAnchorLeft  ) ||
+                   ( bRightFaceEmpty  && bAnchorBelow && bAnchorRight ) ||
+                   ( bMiddleFaceEmpty && bAnchorLeft  && bAnchorRight ) ;
+        }
+    }
+
+    /**
+     * Does playing a tile at this location complete a hexagon?  Any of the
+     *   six hexagons the tile could be part of counts.
+     * @param o - the orientation of a tile at the location
+     * @param row - position to place the tile
+     * @param col - position to place the tile
+     * @return true if a hexagon is completed, false otherwise
+     */
+    public boolean createsAHexagon(Orientation o, int row, int col) {
+
+        if ( o == Orientation.UP ) {
+
+            if ( row < num_rows-1 ) {
+                // hexagon left: (row, col-2..col-1) and (row+1, col-2..col)
+                if ( ( col > 1 ) &&
+                        ( occupancy(row,   col-2, 2) == 0b11  ) &&
+                        ( occupancy(row+1, col-2, 3) == 0b111 ) )
+                    return true ;
+                // hexagon right: (row, col+1..col+2) and (row+1, col..col+2)
+                if ( ( col < num_cols-2 ) &&
+                        ( occupancy(row,   col+1, 2) == 0b11  ) &&
+                        ( occupancy(row+1, col,   3) == 0b111 ) )
+                    return true ;
+            }
+
+            // hexagon above: (row, col-1), (row, col+1) and (row-1, col-1..col+1)
+            return ( row > 1 ) && ( col > 1 ) && ( col < num_cols - 1 ) &&
+                   ( ( occupancy(row,   col-1, 3) & 0b101 ) == 0b101 ) &&
+                   (   occupancy(row-1, col-1, 3)           == 0b111 ) ;
+
+        } else {
+
+            if ( row > 0 ) {
+                // hexagon left: (row, col-2..col-1) and (row-1, col-2..col)
+                if ( ( col > 1 ) &&
+                        ( occupancy(row,   col-2, 2) == 0b11  ) &&
+                        ( occupancy(row-1, col-2, 3) == 0b111 ) )
+                    return true ;
+                // hexagon right: (row, col+1..col+2) and (row-1, col..col+2)
+                if ( ( col < num_cols-2 ) &&
+                        ( occupancy(row,   col+1, 2) == 0b11  ) &&
+                        ( occupancy(row-1, col,   3) == 0b111 ) )
+                    return true ;
+            }
+
+            // hexagon below: (row, col-1), (row, col+1) and (row+1, col-1..col+1)
+            return ( row < num_rows-1 ) && ( col > 1 ) && ( col < num_cols - 1 ) &&
+                   ( ( occupancy(row,   col-1, 3) & 0b101 ) == 0b101 ) &&
+                   (   occupancy(row+1, col-1, 3)           == 0b111 ) ;
+        }
+    }
+
 
     /**
      * Places the provided tile on the board at the location specified, if and
@@ -1101,16 +1459,44 @@ public class Board implements Serializable {
             return false ;
 
         Tile t = choice.getTile();
+        Placement placement = nextPlacement();
+        placement.tile = t ;
+        placement.row = row ;
+        placement.col = col ;
+        placement.orientation = t.getOrientation() ;
+        placement.rotation = t.getRotation() ;
+        placement.tileRow = t.getRow() ;
+        placement.tileCol = t.getCol() ;
+        placement.placed = t.getPlaced() ;
+        placement.inTray = t.getInTray() ;
 
         // Orientation needs to be set based on the tile position.
         // Do it now so the checks and balances can work.
         t.setOrientation( getOrientationForPositionOnBoard(row,col) ) ;
+        choice.setOrientation( t.getOrientation() ) ;
 
         // Does the piece fit into that location on the board?
         if ( pieceFits( choice ) ) {
 
+            // The tile takes on the way it was chosen to be played
+            t.setRotation( choice.getRotation() ) ;
+
+            placement.minRow = minPlayedRow ;
+            placement.maxRow = maxPlayedRow ;
+            placement.minCol = minPlayedCol ;
+            placement.maxCol = maxPlayedCol ;
+
             // Play the tile and setup the piece information.
             playedTiles[row][col] = t;
+            occupied[row][col >>> 6] |= ( 1L << col ) ;
+            updateFrontier(row, col, placement);
+
+            pieceCount++ ;
+            minPlayedRow = Math.min(minPlayedRow, row) ;
+            maxPlayedRow = Math.max(maxPlayedRow, row) ;
+            minPlayedCol = Math.min(minPlayedCol, col) ;
+            maxPlayedCol = Math.max(maxPlayedCol, col) ;
+            zobristKey ^= Zobrist.key(row, col, t.getId(), t.getRotation()) ;
 
             // Set the row and column and player
             t.setRow(row);
@@ -1121,11 +1507,70 @@ public class Board implements Serializable {
 
             // Removed from the player's tray
             t.setInTray(false) ;
+
+            placementCount++ ;
             return true;
         }
         return false;
     }
 
+    /**
+     * @return (Placement) the record for the next placement, made if this is the deepest yet
+     */
+    private Placement nextPlacement() {
+        if ( placements == null )
+            placements = new ArrayList<Placement>();
+        if ( placementCount == placements.size() )
+            placements.add(new Placement());
+        return placements.get(placementCount);
+    }
+
+    /**
+     * Takes back the last tile placed, leaving the board and the tile
+     *   exactly as they were before it was placed.  Nothing is searched or
+     *   allocated, so a search can place and take back tiles rather than
+     *   copy the board.
+     * @return (Tile) the tile taken back, or null if there is no placement to take back
+     */
+    public Tile unplaceTile() {
+
+        if ( placementCount == 0 )
+            return null;
+
+        Placement placement = placements.get(--placementCount);
+        Tile t = placement.tile ;
+        int row = placement.row ;
+        int col = placement.col ;
+
+        zobristKey ^= Zobrist.key(row, col, t.getId(), t.getRotation()) ;
+        playedTiles[row][col] = null ;
+        occupied[row][col >>> 6] &= ~( 1L << col ) ;
+        restoreFrontier(placement);
+
+        pieceCount-- ;
+        minPlayedRow = placement.minRow ;
+        maxPlayedRow = placement.maxRow ;
+        minPlayedCol = placement.minCol ;
+        maxPlayedCol = placement.maxCol ;
+
+        t.setOrientation(placement.orientation);
+        t.setRotation(placement.rotation);
+        t.setRow(placement.tileRow);
+        t.setCol(placement.tileCol);
+        t.setPlaced(placement.placed);
+        t.setInTray(placement.inTray);
+
+        placement.tile = null ;
+        return t;
+    }
+
+    /**
+     * @return (int) the number of placements that can be taken back
+     */
+    public int getPlacementCount() {
+        return placementCount;
+    }
+
     public int getRound() {
         return round;
     }
@@ -0,0 +1,65 @@
+package com.thirdsonsoftware;
+
+/**
+ * A read-only view of the board, for deciding where to play.  A strategy
+ *   can look at the tiles placed and the open slots, and test and score a
+ *   play, but can't place a tile.
+ */
+public interface BoardView {
+
+    /**
+     * @return (int) the number of tiles on the board
+     */
+    int count();
+
+    /**
+     * @return (int) the round the board is being played in
+     */
+    int getRound();
+
+    boolean isOccupied(int row, int col);
+
+    /**
+     * @return (long) the Zobrist key of the tiles played, the same for the same position however it was reached
+     */
+    long getZobristKey();
+
+    /**
+     * @return (Tile) the tile at the location, or null if there is none
+     */
+    Tile pieceAtLocation(int row, int col);
+
+    /**
+     * @return (Orientation) the way a tile placed at the location points
+     */
+    Orientation getOrientationForPositionOnBoard(int row, int col);
+
+    /**
+     * @return (int) the number of open slots sharing a face with a tile on the board
+     */
+    int getFrontierSize();
+
+    int getFrontierRow(int index);
+
+    int getFrontierCol(int index);
+
+    /**
+     * @return (int) the sides of the slot bordered by a tile, as FRONTIER_ bits of Board
+     */
+    int getFrontierSides(int index);
+
+    /**
+     * @return (boolean) true if the tile, turned this way, could be placed at the location
+     */
+    boolean fits(Tile t, Orientation o, int rotation, int row, int col);
+
+    /**
+     * @return (int) the score for placing the tile at the location, bonuses included
+     */
+    int score(Tile t, Orientation o, int row, int col);
+
+    /**
+     * @return (Board) a board of its own with the same tiles played, to try plays on
+     */
+    Board copy();
+}
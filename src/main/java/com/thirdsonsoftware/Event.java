@@ -75,19 +75,21 @@ public class Event implements Serializable {
     //Round round ;
     int round ;
 
-    // Making the game static allows us to set it and forget it
-    // Todo: Might want to consider this for other options?  Round?
-    public static int game = 1;
+    // Which game was this event recorded for?  Each thread's EventManager
+    //   tracks the game it is currently recording.
+    int game ;
 
     // Generic Event
     public Event(EventType evtType) {
         type = evtType ;
         eventDateTime = new Date();
+        game = EventManager.getInstance().getGame();
     }
 
     // Default constructor
     public Event(EventType evtType, Player p, Tile t, int r, int c) {
         eventDateTime = new Date();
+        game = EventManager.getInstance().getGame();
         type = evtType ;
         player = p;
         tile = t;
@@ -126,6 +128,7 @@ public class Event implements Serializable {
     static void logEvent( EventType type, int value ) {
         Event event = new Event( type ) ;
         if ( type == EventType.START_A_GAME || type == EventType.END_A_GAME ) {
+            EventManager.getInstance().setGame(value);
             event.game = value;
         } else if ( type == EventType.START_A_ROUND || type == EventType.END_A_ROUND ) {
             event.round = value;
@@ -0,0 +1,222 @@
+package com.thirdsonsoftware;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Walks the records of an event data file in place.  The file is memory
+ *   mapped, and each field of the current record is read straight out of
+ *   the mapping, so nothing is copied or built unless it is asked for.
+ *   Large files are mapped a window at a time.
+ *
+ * <pre>
+ *   try (EventCursor cursor = EventCursor.open(filename)) {
+ *       while (cursor.next()) {
+ *           if (cursor.type() == EventType.PLACE_A_TILE) ...
+ *       }
+ *   }
+ * </pre>
+ */
+public class EventCursor implements Closeable {
+
+    // The most bytes mapped at once, in whole records
+    static final int WINDOW_RECORDS = ( 1 << 30 ) / EventRecord.RECORD_SIZE ;
+
+    private final String filename ;
+    private final RandomAccessFile file ;
+    private final FileChannel channel ;
+    private final int windowRecords ;
+
+    private final String[] names ;
+    private final Player[] players ;
+
+    // The file's tiles, one for each set of corners, made as they are asked for
+    private final Tile[] tiles = new Tile[EventRecord.NO_TILE];
+
+    private final long recordCount ;
+    private long index = -1 ;
+
+    private MappedByteBuffer window ;
+    private long windowFirst ;
+    private int offset ;
+
+    /**
+     * @param filename - the event data file
+     * @param windowRecords - the most records mapped at once
+     * @throws IOException if the file can't be mapped, or isn't an event data file
+     */
+    EventCursor(String filename, int windowRecords) throws IOException {
+        this.filename = filename;
+        this.windowRecords = windowRecords;
+        this.file = new RandomAccessFile(filename, "r");
+        try {
+            this.channel = file.getChannel();
+            long size = channel.size();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, EventRecord.HEADER_SIZE));
+            names = EventRecord.readHeader(header);
+            players = EventLogReader.players(names);
+            recordCount = ( size - EventRecord.HEADER_SIZE ) / EventRecord.RECORD_SIZE;
+        } catch (IllegalArgumentException e) {
+            file.close();
+            throw new IOException(String.format("%s: %s", filename, e.getMessage()));
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a cursor before the first record of an event data file.
+     * @param filename - the event data file
+     * @return (EventCursor) the cursor
+     * @throws IOException if the file can't be mapped, or isn't an event data file
+     */
+    public static EventCursor open(String filename) throws IOException {
+        return new EventCursor(filename, WINDOW_RECORDS);
+    }
+
+    /**
+     * @return (long) the number of records in the file
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return (String[]) the names of the players in the file, in index order
+     */
+    public String[] getPlayerNames() {
+        return names.clone();
+    }
+
+    /**
+     * Moves to the next record.
+     * @return (boolean) true if there is one, false at the end of the file
+     * @throws IOException if the next window of the file can't be mapped
+     */
+    public boolean next() throws IOException {
+        if ( index + 1 >= recordCount )
+            return false;
+        index++ ;
+        if ( ( window == null ) || ( index - windowFirst >= windowRecords ) )
+            map(index);
+        offset = (int) ( index - windowFirst ) * EventRecord.RECORD_SIZE;
+        return true;
+    }
+
+    /**
+     * Maps the window of records starting at the one provided.
+     * @param first - the first record of the window
+     */
+    private void map(long first) throws IOException {
+        long records = Math.min(windowRecords, recordCount - first);
+        window = channel.map(FileChannel.MapMode.READ_ONLY,
+                EventRecord.HEADER_SIZE + first * EventRecord.RECORD_SIZE,
+                records * EventRecord.RECORD_SIZE);
+        windowFirst = first;
+    }
+
+    public EventType type() {
+        return EventRecord.type(window, offset);
+    }
+
+    /**
+     * @return (long) when the event was recorded, in milliseconds
+     */
+    public long time() {
+        return window.getLong(offset + EventRecord.TIME);
+    }
+
+    public int game() {
+        return window.getInt(offset + EventRecord.GAME);
+    }
+
+    public int round() {
+        return window.getShort(offset + EventRecord.ROUND);
+    }
+
+    public int row() {
+        return window.getShort(offset + EventRecord.ROW);
+    }
+
+    public int col() {
+        return window.getShort(offset + EventRecord.COL);
+    }
+
+    public int score() {
+        return window.getInt(offset + EventRecord.SCORE);
+    }
+
+    public int startBonus() {
+        return window.getInt(offset + EventRecord.START_BONUS);
+    }
+
+    /**
+     * @return (int) the index of the player in the file's names, or -1 if there is no player
+     */
+    public int playerIndex() {
+        int i = window.get(offset + EventRecord.PLAYER);
+        return ( i < players.length ) ? i : -1;
+    }
+
+    /**
+     * @return (Player) the file's player for this record, or null.  Every
+     *   record of a player in the file returns the same object.
+     */
+    public Player player() {
+        int i = playerIndex();
+        return ( i < 0 ) ? null : players[i];
+    }
+
+    /**
+     * @return (int) the tile's corners as a * 36 + b * 6 + c, or -1 if there is no tile
+     */
+    public int tileCorners() {
+        int corners = window.get(offset + EventRecord.TILE_CORNERS) & 0xFF;
+        return ( corners == EventRecord.NO_TILE ) ? -1 : corners;
+    }
+
+    public int tileId() {
+        return window.get(offset + EventRecord.TILE_ID) & 0xFF;
+    }
+
+    /**
+     * @return (Tile) the file's tile with this record's corners and id, or
+     *   null.  Every record of a tile in the file returns the same object,
+     *   so only its corners and id are set.
+     */
+    public Tile tile() {
+        int corners = tileCorners();
+        if ( corners < 0 )
+            return null;
+        Tile t = tiles[corners];
+        if ( t == null ) {
+            t = new Tile(corners / 36, ( corners / 6 ) % 6, corners % 6);
+            t.setId(tileId());
+            tiles[corners] = t;
+        }
+        return t;
+    }
+
+    /**
+     * @return (Event) the whole record, built as an Event of its own
+     */
+    public Event event() {
+        return EventRecord.read(window, offset, players);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        file.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d of %d]", filename, index, recordCount);
+    }
+}
@@ -0,0 +1,61 @@
+package com.thirdsonsoftware;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the events back out of an event data file written by an
+ *   EventLogWriter.  Each player named in the header becomes one Player, so
+ *   every event of a player in the file refers to the same object.
+ */
+public class EventLogReader {
+
+    private EventLogReader() {
+    }
+
+    /**
+     * @param names - the names of the players from the header
+     * @return (Player[]) a player for each name
+     */
+    static Player[] players(String[] names) {
+        Player[] players = new Player[names.length];
+        for ( int i = 0; i < names.length; i++ )
+            players[i] = new Player(names[i]);
+        return players;
+    }
+
+    /**
+     * Reads every event in an event data file.
+     * @param filename - the event data file
+     * @return (List) the events, in the order they were written
+     * @throws IOException if the file can't be read, or isn't an event data file
+     */
+    public static List<Event> readAll(String filename) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r");
+             FileChannel channel = file.getChannel()) {
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while ( buffer.hasRemaining() && ( channel.read(buffer) >= 0 ) ) {
+                // keep reading until the file is in the buffer
+            }
+            buffer.flip();
+
+            Player[] players;
+            try {
+                players = players(EventRecord.readHeader(buffer));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(String.format("%s: %s", filename, e.getMessage()));
+            }
+
+            int count = ( buffer.limit() - EventRecord.HEADER_SIZE ) / EventRecord.RECORD_SIZE;
+            List<Event> events = new ArrayList<>(count);
+            for ( int i = 0; i < count; i++ )
+                events.add(EventRecord.read(buffer, EventRecord.HEADER_SIZE + i * EventRecord.RECORD_SIZE, players));
+            return events;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.thirdsonsoftware;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes events to an event data file as fixed size records (see
+ *   EventRecord).  Players are given an index the first time they are seen,
+ *   and their names are written into the header when the file is closed.
+ */
+public class EventLogWriter implements Closeable {
+
+    // How many records are gathered before they are written
+    private static final int RECORDS_PER_WRITE = 256 ;
+
+    private final String filename ;
+    private final RandomAccessFile file ;
+    private final FileChannel channel ;
+    private final ByteBuffer records ;
+
+    private final EventRecord.Names names ;
+
+    private int recordCount = 0 ;
+
+    /**
+     * Creates the event data file, replacing any file of the same name.
+     * @param filename - the event data file to write
+     * @throws IOException if the file can't be created
+     */
+    public EventLogWriter(String filename) throws IOException {
+        this(filename, new EventRecord.Names(filename));
+    }
+
+    /**
+     * Creates the event data file, replacing any file of the same name, for
+     *   records whose players were given their indexes elsewhere.
+     * @param filename - the event data file to write
+     * @param names - the players named in the records, written into the header when the file is closed
+     * @throws IOException if the file can't be created
+     */
+    EventLogWriter(String filename, EventRecord.Names names) throws IOException {
+        this.filename = filename;
+        this.names = names;
+        this.file = new RandomAccessFile(filename, "rw");
+        this.file.setLength(0);
+        this.channel = file.getChannel();
+        this.records = ByteBuffer.allocate(RECORDS_PER_WRITE * EventRecord.RECORD_SIZE);
+        writeHeader();
+        this.channel.position(EventRecord.HEADER_SIZE);
+    }
+
+    /**
+     * @return (String) the event data file being written
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * @return (int) the number of events written so far
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Adds an event to the file.
+     * @param e - the event to write
+     * @throws IOException if the record can't be written
+     */
+    public void write(Event e) throws IOException {
+        if ( !records.hasRemaining() )
+            flush();
+        EventRecord.write(records, e, names.indexOf(e.player));
+        recordCount++ ;
+    }
+
+    /**
+     * Adds the oldest record waiting in a buffer to the file.
+     * @param buffer - the records waiting to be written
+     * @return (boolean) true if there was a record to write
+     * @throws IOException if the record can't be written
+     */
+    boolean write(EventRingBuffer buffer) throws IOException {
+        if ( !records.hasRemaining() )
+            flush();
+        if ( !buffer.poll(records) )
+            return false;
+        recordCount++ ;
+        return true;
+    }
+
+    /**
+     * Writes out any records still gathered.
+     * @throws IOException if they can't be written
+     */
+    public void flush() throws IOException {
+        records.flip();
+        while ( records.hasRemaining() )
+            channel.write(records);
+        records.clear();
+    }
+
+    /**
+     * Writes out any records still gathered, names the players in the header
+     *   and closes the file.
+     * @throws IOException if the file can't be finished
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            writeHeader();
+        } finally {
+            file.close();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(EventRecord.HEADER_SIZE);
+        names.writeHeader(header);
+        header.flip();
+        long position = 0;
+        while ( header.hasRemaining() )
+            position += channel.write(header, position);
+    }
+}
@@ -14,18 +14,38 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class EventManager implements Serializable {
 
-    static final String EVENT_OBJECT_PATH_FORMAT = "logs/events%s.ser" ;
+    static final String EVENT_OBJECT_PATH_FORMAT = "logs/events%s.evt" ;
     static final String EVENT_OBJECT_PATH = "logs" ;
     static final String EVENT_OBJECT_FILE_PREFIX = "event" ;
-    static final String EVENT_OBJECT_FILE_EXTENSION = ".ser" ;
+    static final String EVENT_OBJECT_FILE_EXTENSION = ".evt" ;
+    static final String EVENT_SERIALIZED_FILE_EXTENSION = ".ser" ;
     static final String EVENT_JSON_FILE_EXTENSION = ".json" ;
+    static final String EVENT_TEXT_FILE_EXTENSION = ".txt" ;
+
+    // How many events may wait for the background writer at once
+    static final int EVENT_BUFFER_CAPACITY = 4096 ;
 
     ArrayList<Event> events ;
 
-    private static EventManager instance ;
+    // The game number events are currently being recorded for
+    private int game = 1 ;
+
+    // Should events be written to disk in the background as they are logged?
+    private static volatile boolean writeInBackground = false ;
+
+    // The background writer for the game being recorded, if there is one
+    private transient EventWriter writer ;
+
+    // Each thread gets its own event sink, so games played concurrently in a
+    //   batch never share (or interleave) their events.
+    private static final ThreadLocal<EventManager> instance = ThreadLocal.withInitial(EventManager::new);
+
+    // Keeps event data file names unique when games finish in the same millisecond
+    private static final AtomicInteger fileSequence = new AtomicInteger();
 
     //private constructor to avoid client applications to use constructor
     private EventManager(){
@@ -33,10 +53,42 @@ public class EventManager implements Serializable {
     }
 
     public static EventManager getInstance(){
-        if(instance == null){
-            instance = new EventManager();
-        }
-        return instance;
+        return instance.get();
+    }
+
+    /**
+     * The game number that new events will be recorded against.
+     * @return (int) the current game number
+     */
+    public int getGame() {
+        return game;
+    }
+
+    /**
+     * Sets the game number that new events will be recorded against.
+     * @param game - the current game number
+     */
+    public void setGame(int game) {
+        this.game = game;
+    }
+
+    /**
+     * Are events written to disk in the background as they are logged?
+     * @return (boolean) true if they are
+     */
+    public static boolean isWriteInBackground() {
+        return writeInBackground;
+    }
+
+    /**
+     * When set, each thread hands its events to a background writer as they
+     *   are logged, rather than keeping them all until logEvents() is called.
+     *   The events of a game are then never held in memory, and getEvents()
+     *   stays empty.
+     * @param writeInBackground - true to write events in the background
+     */
+    public static void setWriteInBackground(boolean writeInBackground) {
+        EventManager.writeInBackground = writeInBackground;
     }
 
     /**
@@ -44,7 +96,7 @@ public class EventManager implements Serializable {
      * @return
      */
     public ArrayList<Event> getEvents() {
-        return getInstance().events ;
+        return events ;
     }
 
     /**
@@ -52,14 +104,27 @@ public class EventManager implements Serializable {
      * @param e - the Event to log
      */
     public void logEvent(Event e) {
-        events.add(e);
+        if ( isWriteInBackground() ) {
+            if ( writer == null ) {
+                boolean f = new File(EVENT_OBJECT_PATH).mkdirs();
+                writer = new EventWriter(getUniqueEventDataFilename(), EVENT_BUFFER_CAPACITY);
+            }
+            writer.append(e);
+        } else {
+            events.add(e);
+        }
     }
 
     /**
-     * Removes all events from the current event list
+     * Removes all events from the current event list, and throws away any
+     *   the background writer has not finished with.
      */
     public void clearEvents() {
-        getInstance().getEvents().clear();
+        getEvents().clear();
+        if ( writer != null ) {
+            writer.discard();
+            writer = null;
+        }
     }
 
     /**
@@ -68,7 +133,8 @@ public class EventManager implements Serializable {
      */
     public String getUniqueEventDataFilename() {
         Date dt = new Date();
-        String filename = String.format(EVENT_OBJECT_PATH_FORMAT,dt.hashCode());
+        String filename = String.format(EVENT_OBJECT_PATH_FORMAT,
+                dt.hashCode() + "-" + fileSequence.incrementAndGet());
         return filename ;
     }
 
@@ -78,29 +144,52 @@ public class EventManager implements Serializable {
      */
     public String logEvents() {
 
+        // The background writer already has them, so we only need to wait for it
+        if ( writer != null ) {
+            String filename = writer.close();
+            writer = null;
+            return filename;
+        }
+
         // Create the log path in case it isn't there
         boolean f = new File(EVENT_OBJECT_PATH).mkdirs();
 
         // Obtain a unique event data file name based on our time code
         String filename = getUniqueEventDataFilename();
 
-        try {
-            FileOutputStream fos = new FileOutputStream(filename);
-            ObjectOutputStream oos = new ObjectOutputStream(fos);
-            for (Event evt : getInstance().events)
-                oos.writeObject(evt);
-            oos.close();
-            fos.close();
-        } catch (FileNotFoundException e) {
-            Log.Error("  Error event serialization file not found:\n" + e.getMessage());
+        try (EventLogWriter writer = new EventLogWriter(filename)) {
+            for (Event evt : events)
+                writer.write(evt);
         } catch (IOException e) {
-            Log.Error("  Error initializing event stream:\n" + e.getMessage());
+            Log.Error("  Error writing event data file:\n" + e.getMessage());
         }
         return filename ;
     }
 
     /**
-     * Collect all of the event data files and return them in a List
+     * Was this event data file written with Java serialization, before the
+     *   binary format?
+     * @param dataFile - the event data file
+     * @return (boolean) true if it holds serialized Event objects
+     */
+    static boolean isSerialized(String dataFile) {
+        return dataFile.endsWith(EVENT_SERIALIZED_FILE_EXTENSION);
+    }
+
+    /**
+     * Swaps the extension of an event data file for another.
+     * @param dataFile - the event data file
+     * @param extension - the new extension, including the '.'
+     * @return (String) the file name with the new extension
+     */
+    static String withExtension(String dataFile, String extension) {
+        int dot = dataFile.lastIndexOf('.');
+        return ( ( dot < 0 ) ? dataFile : dataFile.substring(0, dot) ) + extension;
+    }
+
+    /**
+     * Collect all of the event data files and return them in a List.  Files
+     *   written with Java serialization, before the binary format, are included.
      * @return - a list of all event data files
      */
     public List<String> getAllEventDataFiles() {
@@ -112,7 +201,8 @@ public class EventManager implements Serializable {
             String filename = currentFile.getName();
             // todo: can we be smarter about this with a file system call that takes a mask?
             if (filename.startsWith(EVENT_OBJECT_FILE_PREFIX) &&
-                    filename.endsWith((EVENT_OBJECT_FILE_EXTENSION)))
+                    ( filename.endsWith(EVENT_OBJECT_FILE_EXTENSION) ||
+                      filename.endsWith(EVENT_SERIALIZED_FILE_EXTENSION) ))
                 eventFiles.add(currentFile.getAbsolutePath());
         }
         return eventFiles;
@@ -126,6 +216,18 @@ public class EventManager implements Serializable {
      */
     public List<Event> getAllEventsForDataFile(String dataFile) {
 
+        // Binary event data files are read record by record
+        if ( !isSerialized(dataFile) ) {
+            try {
+                return EventLogReader.readAll(dataFile);
+            } catch (FileNotFoundException e) {
+                Log.Error(String.format("  Error event data file, %s, not found", dataFile));
+            } catch (IOException e) {
+                Log.Error("  Error reading event data file:\n" + e.getMessage());
+            }
+            return new ArrayList<Event>();
+        }
+
         // The event list to return
         ArrayList<Event> evtList = new ArrayList<Event>();
 
@@ -153,13 +255,18 @@ public class EventManager implements Serializable {
     }
 
     /**
-     * Spin through the data files and dump the data
+     * Spin through the data files and dump the data.  Files that already have
+     *   a text dump were dumped by an earlier run, and are left alone.
      */
     public void dumpAllEventData() {
         List<String> eventFiles = getAllEventDataFiles();
         for (String s : eventFiles) {
             File currentFile = new File(s);
             if (currentFile.getName().startsWith(EVENT_OBJECT_FILE_PREFIX)) {
+                if (new File(withExtension(s, EVENT_TEXT_FILE_EXTENSION)).exists()) {
+                    Log.Debug(String.format("  Event file %s has already been dumped to text.", s));
+                    continue;
+                }
                 dumpEventData(currentFile.getAbsolutePath());
                 dumpEventDataToFile(currentFile.getAbsolutePath());
             }
@@ -181,7 +288,7 @@ public class EventManager implements Serializable {
         BufferedWriter bw = null;
         FileWriter fw = null;
         try {
-            fw = new FileWriter(filename.replace(".ser",".txt"));
+            fw = new FileWriter(withExtension(filename, EVENT_TEXT_FILE_EXTENSION));
             bw = new BufferedWriter(fw);
             List<Event> events = getAllEventsForDataFile(filename);
             Log.Debug(String.format("   Events (%d) recorded:",events.size()));
@@ -199,9 +306,9 @@ public class EventManager implements Serializable {
         }
     }
     /**
-     * This method is designed to scan the logs directory, looking for all event-*.ser files
+     * This method is designed to scan the logs directory, looking for all event data files
      *   and making sure they have a proper event-*.json file.  These json files are used for analysis
-     *   and contain almost an exact replicate of the ser files.
+     *   and contain almost an exact replicate of the event data files.
      */
     public void convertToJSON() {
 
@@ -210,7 +317,7 @@ public class EventManager implements Serializable {
 
         for ( String eventFile : entries ) {
 
-            String jsonFilename = eventFile.replace(EVENT_OBJECT_FILE_EXTENSION, EVENT_JSON_FILE_EXTENSION);
+            String jsonFilename = withExtension(eventFile, EVENT_JSON_FILE_EXTENSION);
 
             // Let's setup the File object to reference the JSON file
             File jsonFile = new File(jsonFilename);
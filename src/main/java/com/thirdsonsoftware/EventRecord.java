@@ -0,0 +1,286 @@
+package com.thirdsonsoftware;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * The layout of an event data file.  A file is a fixed size header followed
+ *   by fixed size records, one per event, so the n'th event is always at
+ *   HEADER_SIZE + n * RECORD_SIZE.
+ *
+ * The header holds:
+ * <pre>
+ *   offset size
+ *     0     4   magic, "TRIE"
+ *     4     2   version
+ *     6     2   record size
+ *     8     2   header size
+ *    10     1   number of players named
+ *    11     5   reserved
+ *    16    64   player names, 16 bytes each (UTF-8, zero padded)
+ * </pre>
+ * Each record holds:
+ * <pre>
+ *   offset size
+ *     0     8   date and time, in milliseconds
+ *     8     4   game
+ *    12     4   score
+ *    16     4   start bonus
+ *    20     2   round
+ *    22     2   row
+ *    24     2   col
+ *    26     2   tile row
+ *    28     2   tile col
+ *    30     1   event type ordinal
+ *    31     1   flags (starting move, hexagon, bridge, end of round, end of game)
+ *    32     1   player index into the header's names, or -1
+ *    33     1   tile id
+ *    34     1   tile corners (a * 36 + b * 6 + c), or 255 for no tile
+ *    35     1   tile state (rotation index, orientation, placed, in tray)
+ *    36     4   reserved
+ * </pre>
+ * Only the player's name is kept.  The tile is kept as its corners, id,
+ *   location, rotation and orientation.
+ */
+public final class EventRecord {
+
+    public static final int MAGIC = 0x54524945 ;   // "TRIE"
+    public static final short VERSION = 1 ;
+
+    public static final int MAX_PLAYERS = 4 ;
+    public static final int NAME_BYTES = 16 ;
+
+    public static final int HEADER_SIZE = 16 + MAX_PLAYERS * NAME_BYTES ;
+    public static final int RECORD_SIZE = 40 ;
+
+    // Record offsets
+    static final int TIME = 0 ;
+    static final int GAME = 8 ;
+    static final int SCORE = 12 ;
+    static final int START_BONUS = 16 ;
+    static final int ROUND = 20 ;
+    static final int ROW = 22 ;
+    static final int COL = 24 ;
+    static final int TILE_ROW = 26 ;
+    static final int TILE_COL = 28 ;
+    static final int TYPE = 30 ;
+    static final int FLAGS = 31 ;
+    static final int PLAYER = 32 ;
+    static final int TILE_ID = 33 ;
+    static final int TILE_CORNERS = 34 ;
+    static final int TILE_STATE = 35 ;
+
+    // Flags
+    static final int STARTING_MOVE = 1 ;
+    static final int COMPLETED_A_HEXAGON = 2 ;
+    static final int COMPLETED_A_BRIDGE = 4 ;
+    static final int END_OF_ROUND = 8 ;
+    static final int END_OF_GAME = 16 ;
+
+    // Tile state, above the two bits of rotation index
+    static final int TILE_UP = 4 ;
+    static final int TILE_PLACED = 8 ;
+    static final int TILE_IN_TRAY = 16 ;
+
+    static final int NO_TILE = 0xFF ;
+
+    private static final EventType[] TYPES = EventType.values();
+
+    private EventRecord() {
+    }
+
+    /**
+     * The players named in a file's header.  Each player is given the next
+     *   index the first time one of their events is written.
+     */
+    static final class Names {
+
+        private final String filename ;
+        private final String[] names = new String[MAX_PLAYERS];
+        private int count = 0 ;
+
+        /**
+         * @param filename - the event data file the names are for
+         */
+        Names(String filename) {
+            this.filename = filename;
+        }
+
+        /**
+         * @param p - the player of an event, or null
+         * @return (int) the index of the player's name in the header, or -1
+         */
+        int indexOf(Player p) {
+            if ( p == null )
+                return -1;
+            String name = p.getName();
+            for ( int i = 0; i < count; i++ ) {
+                if ( names[i].equals(name) )
+                    return i;
+            }
+            if ( count == names.length ) {
+                Log.Debug(String.format("  No room to name player '%s' in %s.", name, filename));
+                return -1;
+            }
+            names[count] = name;
+            return count++;
+        }
+
+        /**
+         * Writes a header naming these players.
+         * @param buffer - the buffer to write the header into, at its position
+         */
+        void writeHeader(ByteBuffer buffer) {
+            EventRecord.writeHeader(buffer, names, count);
+        }
+    }
+
+    /**
+     * Writes a header naming the players provided.
+     * @param buffer - the buffer to write the header into, at its position
+     * @param names - the names of the players, in index order
+     * @param count - the number of names
+     */
+    public static void writeHeader(ByteBuffer buffer, String[] names, int count) {
+        int start = buffer.position();
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) RECORD_SIZE);
+        buffer.putShort((short) HEADER_SIZE);
+        buffer.put((byte) count);
+        for ( int i = 0; i < MAX_PLAYERS; i++ ) {
+            byte[] name = new byte[NAME_BYTES];
+            if ( ( i < count ) && ( names[i] != null ) ) {
+                byte[] bytes = names[i].getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(bytes, 0, name, 0, Math.min(bytes.length, NAME_BYTES));
+            }
+            buffer.position(start + 16 + i * NAME_BYTES);
+            buffer.put(name);
+        }
+        buffer.position(start + HEADER_SIZE);
+    }
+
+    /**
+     * Reads and checks the header at the start of the buffer.
+     * @param buffer - the buffer holding the start of an event data file
+     * @return (String[]) the names of the players, in index order
+     * @throws IllegalArgumentException if this is not an event data file we can read
+     */
+    public static String[] readHeader(ByteBuffer buffer) {
+        if ( ( buffer.limit() < HEADER_SIZE ) || ( buffer.getInt(0) != MAGIC ) )
+            throw new IllegalArgumentException("Not an event data file.");
+        short version = buffer.getShort(4);
+        if ( ( version != VERSION ) || ( buffer.getShort(6) != RECORD_SIZE ) || ( buffer.getShort(8) != HEADER_SIZE ) )
+            throw new IllegalArgumentException(String.format("Unsupported event data file version %d.", version));
+        int count = Math.min(buffer.get(10), MAX_PLAYERS);
+        String[] names = new String[count];
+        for ( int i = 0; i < count; i++ ) {
+            int offset = 16 + i * NAME_BYTES;
+            int length = 0;
+            while ( ( length < NAME_BYTES ) && ( buffer.get(offset + length) != 0 ) )
+                length++;
+            byte[] name = new byte[length];
+            for ( int b = 0; b < length; b++ )
+                name[b] = buffer.get(offset + b);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    /**
+     * Writes an event as a record.
+     * @param buffer - the buffer to write the record into, at its position
+     * @param e - the event
+     * @param playerIndex - the index of the event's player in the header, or -1
+     */
+    public static void write(ByteBuffer buffer, Event e, int playerIndex) {
+        int start = buffer.position();
+        Tile t = e.tile;
+        buffer.putLong(start + TIME, ( e.eventDateTime == null ) ? 0L : e.eventDateTime.getTime());
+        buffer.putInt(start + GAME, e.game);
+        buffer.putInt(start + SCORE, e.score);
+        buffer.putInt(start + START_BONUS, e.startBonus);
+        buffer.putShort(start + ROUND, (short) e.round);
+        buffer.putShort(start + ROW, (short) e.row);
+        buffer.putShort(start + COL, (short) e.col);
+        buffer.putShort(start + TILE_ROW, (short) ( ( t == null ) ? 0 : t.getRow() ));
+        buffer.putShort(start + TILE_COL, (short) ( ( t == null ) ? 0 : t.getCol() ));
+        buffer.put(start + TYPE, (byte) e.type.ordinal());
+        buffer.put(start + FLAGS, (byte) flags(e));
+        buffer.put(start + PLAYER, (byte) playerIndex);
+        buffer.put(start + TILE_ID, (byte) ( ( t == null ) ? 0 : t.getId() ));
+        buffer.put(start + TILE_CORNERS, (byte) ( ( t == null ) ? NO_TILE : t.getCorners() ));
+        buffer.put(start + TILE_STATE, (byte) ( ( t == null ) ? 0 : tileState(t) ));
+        buffer.putInt(start + 36, 0);
+        buffer.position(start + RECORD_SIZE);
+    }
+
+    /**
+     * Reads the record at an offset back into an event.
+     * @param buffer - the buffer holding the record
+     * @param offset - the offset of the record in the buffer
+     * @param players - the players named in the header, in index order
+     * @return (Event) the event
+     */
+    public static Event read(ByteBuffer buffer, int offset, Player[] players) {
+        Event e = new Event(type(buffer, offset));
+        e.eventDateTime = new Date(buffer.getLong(offset + TIME));
+        e.game = buffer.getInt(offset + GAME);
+        e.score = buffer.getInt(offset + SCORE);
+        e.startBonus = buffer.getInt(offset + START_BONUS);
+        e.round = buffer.getShort(offset + ROUND);
+        e.row = buffer.getShort(offset + ROW);
+        e.col = buffer.getShort(offset + COL);
+
+        int flags = buffer.get(offset + FLAGS);
+        e.startingMove = ( flags & STARTING_MOVE ) != 0 ;
+        e.completedAHexagon = ( flags & COMPLETED_A_HEXAGON ) != 0 ;
+        e.completedABridge = ( flags & COMPLETED_A_BRIDGE ) != 0 ;
+        e.endOfRound = ( flags & END_OF_ROUND ) != 0 ;
+        e.endOfGame = ( flags & END_OF_GAME ) != 0 ;
+
+        int playerIndex = buffer.get(offset + PLAYER);
+        if ( ( playerIndex >= 0 ) && ( playerIndex < players.length ) )
+            e.player = players[playerIndex];
+
+        int corners = buffer.get(offset + TILE_CORNERS) & 0xFF;
+        if ( corners != NO_TILE ) {
+            int state = buffer.get(offset + TILE_STATE);
+            Tile t = new Tile(corners / 36, ( corners / 6 ) % 6, corners % 6);
+            t.setId(buffer.get(offset + TILE_ID) & 0xFF);
+            t.setRow(buffer.getShort(offset + TILE_ROW));
+            t.setCol(buffer.getShort(offset + TILE_COL));
+            t.setRotation(( state & 3 ) * 120);
+            t.setOrientation(( ( state & TILE_UP ) != 0 ) ? Orientation.UP : Orientation.DOWN);
+            t.setPlaced(( state & TILE_PLACED ) != 0);
+            t.setInTray(( state & TILE_IN_TRAY ) != 0);
+            e.tile = t;
+        }
+        return e;
+    }
+
+    /**
+     * @param buffer - the buffer holding the record
+     * @param offset - the offset of the record in the buffer
+     * @return (EventType) the type of the event recorded
+     */
+    public static EventType type(ByteBuffer buffer, int offset) {
+        return TYPES[buffer.get(offset + TYPE)];
+    }
+
+    private static int flags(Event e) {
+        return ( e.startingMove ? STARTING_MOVE : 0 ) |
+                ( e.completedAHexagon ? COMPLETED_A_HEXAGON : 0 ) |
+                ( e.completedABridge ? COMPLETED_A_BRIDGE : 0 ) |
+                ( e.endOfRound ? END_OF_ROUND : 0 ) |
+                ( e.endOfGame ? END_OF_GAME : 0 ) ;
+    }
+
+    private static int tileState(Tile t) {
+        return ( ( t.getRotation() / 120 ) & 3 ) |
+                ( ( t.getOrientation() == Orientation.UP ) ? TILE_UP : 0 ) |
+                ( Boolean.TRUE.equals(t.getPlaced()) ? TILE_PLACED : 0 ) |
+                ( Boolean.TRUE.equals(t.getInTray()) ? TILE_IN_TRAY : 0 ) ;
+    }
+}
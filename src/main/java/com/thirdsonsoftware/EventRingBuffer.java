@@ -0,0 +1,94 @@
+package com.thirdsonsoftware;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free queue of events between exactly one thread that
+ *   records them (the game) and one thread that takes them (the writer).
+ *   An event is written into its slot as a record (see EventRecord) when it
+ *   is offered, so the game can go on to change the player and tile, and
+ *   nothing is copied or kept but the record's bytes.  The capacity is
+ *   rounded up to a power of two so a slot is found with a mask rather than
+ *   a division.
+ */
+public class EventRingBuffer {
+
+    // The records, one slot after another; the producer writes through its own view
+    private final byte[] slots ;
+    private final ByteBuffer in ;
+    private final int size ;
+    private final int mask ;
+
+    // The next slot to take from; only the consumer moves it
+    private final AtomicLong head = new AtomicLong();
+
+    // The next slot to fill; only the producer moves it
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity - the most events the buffer holds, rounded up to a power of two
+     */
+    public EventRingBuffer(int capacity) {
+        if ( capacity < 1 )
+            throw new IllegalArgumentException(String.format("Ring buffer capacity %d must be positive.", capacity));
+        int size = Integer.highestOneBit(capacity);
+        if ( size < capacity )
+            size <<= 1;
+        slots = new byte[size * EventRecord.RECORD_SIZE];
+        in = ByteBuffer.wrap(slots);
+        this.size = size;
+        mask = size - 1;
+    }
+
+    /**
+     * @return (int) the most events the buffer can hold
+     */
+    public int capacity() {
+        return size;
+    }
+
+    /**
+     * @return (int) the number of events waiting to be taken
+     */
+    public int size() {
+        return (int) ( tail.get() - head.get() );
+    }
+
+    /**
+     * @return (boolean) true if there are no events waiting
+     */
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * Adds an event, as a record, if there is room.  Called only by the producer.
+     * @param e - the event to add
+     * @param playerIndex - the index of the event's player in the file's header, or -1
+     * @return (boolean) true if it was added, false if the buffer is full
+     */
+    public boolean offer(Event e, int playerIndex) {
+        long t = tail.get();
+        if ( t - head.get() == size )
+            return false;
+        in.position(( (int) t & mask ) * EventRecord.RECORD_SIZE);
+        EventRecord.write(in, e, playerIndex);
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Takes the oldest record.  Called only by the consumer.
+     * @param out - where to put the record, at its position, which must have room for it
+     * @return (boolean) true if there was a record, false if there are none
+     */
+    public boolean poll(ByteBuffer out) {
+        long h = head.get();
+        if ( h == tail.get() )
+            return false;
+        out.put(slots, ( (int) h & mask ) * EventRecord.RECORD_SIZE, EventRecord.RECORD_SIZE);
+        head.lazySet(h + 1);
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+package com.thirdsonsoftware;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes one game's events to its event data file on a background thread.
+ *   The game hands events over through a ring buffer and carries on; the
+ *   writer drains the buffer to disk as the game is played.  The file has
+ *   the same format as one written by EventManager.logEvents(), so it is
+ *   read back the same way.
+ */
+public class EventWriter implements Runnable {
+
+    // How long the writer sleeps when there is nothing to write
+    private static final long IDLE_PARK_NANOS = 1000000L ;
+
+    private final String filename ;
+    private final EventRingBuffer buffer ;
+
+    // The players named in the file, given their indexes as the game records events
+    private final EventRecord.Names names ;
+    private final Thread thread ;
+
+    private volatile boolean closing = false ;
+
+    // How many events have made it into the file
+    private volatile int written = 0 ;
+
+    /**
+     * Opens the event data file and starts the writer thread.
+     * @param filename - the event data file to write
+     * @param capacity - the most events waiting to be written at once
+     */
+    public EventWriter(String filename, int capacity) {
+        this.filename = filename;
+        this.buffer = new EventRingBuffer(capacity);
+        this.names = new EventRecord.Names(filename);
+        this.thread = new Thread(this, "event-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return (String) the event data file being written
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * @return (int) the number of events written to the file so far
+     */
+    public int getWritten() {
+        return written;
+    }
+
+    /**
+     * Hands an event to the writer, as a record of how the event, its player
+     *   and its tile stand now; none of them are kept.  If the buffer is full,
+     *   the game waits for the writer to make room, but never waits on the
+     *   disk itself.
+     * @param e - the event to write
+     */
+    public void append(Event e) {
+        int player = names.indexOf(e.player);
+        while ( !buffer.offer(e, player) ) {
+            if ( !thread.isAlive() )
+                return;
+            LockSupport.unpark(thread);
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Writes out any events still waiting, then closes the file.
+     * @return (String) the event data file written
+     */
+    public String close() {
+        closing = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Log.Error("  Interrupted while waiting for events to be written: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+        return filename;
+    }
+
+    /**
+     * Closes the file and removes it, throwing away its events.
+     */
+    public void discard() {
+        close();
+        if ( !new File(filename).delete() )
+            Log.Debug(String.format("  Unable to remove event data file %s.", filename));
+    }
+
+    @Override
+    public void run() {
+        try (EventLogWriter log = new EventLogWriter(filename, names)) {
+            while ( true ) {
+                boolean done = closing ;
+                int count = drain(log);
+                if ( count > 0 ) {
+                    // Hand the records to the file as we go
+                    log.flush();
+                } else if ( done ) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            Log.Error(String.format("  Error writing event data file %s:\n%s", filename, e.getMessage()));
+            // Keep the buffer moving so the game is never left waiting
+            ByteBuffer dropped = ByteBuffer.allocate(EventRecord.RECORD_SIZE);
+            while ( !closing || !buffer.isEmpty() ) {
+                dropped.clear();
+                if ( !buffer.poll(dropped) )
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * @param log - the event data file to write the events to
+     * @return (int) the number of events written
+     * @throws IOException if an event can't be written
+     */
+    private int drain(EventLogWriter log) throws IOException {
+        int count = 0 ;
+        while ( log.write(buffer) )
+            count++ ;
+        written += count ;
+        return count;
+    }
+}
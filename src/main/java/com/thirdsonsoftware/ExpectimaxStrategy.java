@@ -0,0 +1,379 @@
+package com.thirdsonsoftware;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses a play by looking a few moves ahead: our play, the replies of
+ *   the players after us, and the tiles drawn by a player who can't play
+ *   (expectimax).  The other trays can't be seen, so the same few guesses
+ *   at them are dealt for every play (see SimulatedRound), and each play is
+ *   worth what it averages over the guesses.
+ *
+ * A position is worth the points we gain from it less what the others
+ *   gain, on average.  We make the play worth the most to us, and the
+ *   others are taken to play against us (paranoid), so their replies are
+ *   the ones worth the least to us.  A player who can't play draws, and
+ *   that is worth the average over the tiles they might draw; with no
+ *   tiles to draw they pass.  At the end of the search the trays are
+ *   rated, since the winner of the round earns the value of the others.
+ *
+ * The search is run one move deeper at a time until it reaches its depth,
+ *   or runs out of time (iterative deepening); the play chosen is the best
+ *   of the deepest search finished.  The plays at the top are shared out
+ *   among the threads, and every thread keeps the positions it has worked
+ *   out in one transposition table, so the others don't work them out
+ *   again.  With one thread the same play is always chosen for the same
+ *   seed and depth; otherwise it can depend on which thread got where first.
+ */
+public class ExpectimaxStrategy implements PlayerStrategy {
+
+    static final String NAME = "expectimax" ;
+
+    static final long DEFAULT_MILLIS = 200 ;
+    static final int DEFAULT_DEPTH = 4 ;
+
+    // The guesses at the hidden tiles each play is searched against
+    static final int DEALS = 4 ;
+
+    // The most tiles a draw is averaged over; the pool is shuffled, so its first tiles are a fair sample
+    static final int DRAW_SAMPLES = 6 ;
+
+    // What a point in a tray is worth, to its holder, at the end of the search
+    static final float TRAY_WEIGHT = 0.25f ;
+
+    static final int TABLE_CAPACITY = 1 << 16 ;
+
+    private final long millis ;
+    private final int depth ;
+    private final int threads ;
+    private final SplittableRandom random ;
+    private final TranspositionTable table = new TranspositionTable(TABLE_CAPACITY) ;
+
+    // What a position is worth depends on whose side we are on
+    private int tableSeat = -1 ;
+
+    /**
+     * A search with the default budgets, on every core.
+     */
+    public ExpectimaxStrategy() {
+        this(DEFAULT_MILLIS, DEFAULT_DEPTH);
+    }
+
+    /**
+     * @param millis - the most time to search for a play, in milliseconds, or 0 for no limit
+     * @param depth - the most moves, draws included, to look ahead
+     */
+    public ExpectimaxStrategy(long millis, int depth) {
+        this(millis, depth, ForkJoinPool.getCommonPoolParallelism() + 1, new SplittableRandom());
+    }
+
+    /**
+     * @param millis - the most time to search for a play, in milliseconds, or 0 for no limit
+     * @param depth - the most moves, draws included, to look ahead
+     * @param threads - the number of threads to share the plays out among
+     * @param random - the source of randomness for guessing the hidden tiles
+     */
+    public ExpectimaxStrategy(long millis, int depth, int threads, SplittableRandom random) {
+        if ( ( millis < 0 ) || ( depth < 1 ) || ( threads < 1 ) )
+            throw new IllegalArgumentException(String.format("Invalid search budget of %d ms, %d moves deep on %d threads",
+                    millis, depth, threads));
+        this.millis = millis;
+        this.depth = depth;
+        this.threads = threads;
+        this.random = random;
+    }
+
+    /**
+     * Makes a strategy from its name and budgets, as 'expectimax',
+     *   'expectimax:millis', 'expectimax:millis:depth' or
+     *   'expectimax:millis:depth:threads'.
+     * @param spec - the name and budgets
+     * @param random - the source of randomness for guessing the unseen tiles
+     * @return (ExpectimaxStrategy) the strategy
+     */
+    static ExpectimaxStrategy parse(String spec, SplittableRandom random) {
+        String[] parts = spec.split(":");
+        long millis = ( parts.length > 1 ) ? Long.parseLong(parts[1].trim()) : DEFAULT_MILLIS ;
+        int depth = ( parts.length > 2 ) ? Integer.parseInt(parts[2].trim()) : DEFAULT_DEPTH ;
+        int threads = ( parts.length > 3 ) ? Integer.parseInt(parts[3].trim()) :
+                ForkJoinPool.getCommonPoolParallelism() + 1 ;
+        return new ExpectimaxStrategy(millis, depth, threads, random);
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Choice choose(BoardView board, List<Tile> tray, RoundContext context) {
+
+        long deadline = ( millis == 0 ) ? Long.MAX_VALUE :
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        // The plays that fit, each only once
+        List<Choice> plays = new ArrayList<Choice>();
+        Set<Integer> keys = new HashSet<Integer>();
+        for ( Choice c : context.getCandidates() ) {
+            if ( PlayerStrategy.fitsAndIsScored(board, c) && keys.add(MctsStrategy.key(c)) )
+                plays.add(c);
+        }
+
+        // Nothing to search: no choice, or no round to guess the rest of
+        if ( ( plays.size() < 2 ) || ( board.count() == 0 ) || ( context.getPlayerCount() == 0 ) )
+            return GreedyStrategy.best(board, plays);
+
+        if ( context.getSeat() != tableSeat ) {
+            table.clear();
+            tableSeat = context.getSeat();
+        }
+
+        long[] seeds = new long[DEALS];
+        for ( int i = 0; i < DEALS; i++ )
+            seeds[i] = random.nextLong();
+        Search search = new Search(board, tray, context, plays, seeds, deadline);
+
+        // One move deeper at a time, keeping the best play of the deepest search finished
+        Choice chosen = null ;
+        for ( int d = 1; d <= depth; d++ ) {
+            float[] values = search.values(d);
+            if ( values == null )
+                break;
+            int best = 0 ;
+            for ( int i = 1; i < values.length; i++ ) {
+                if ( ( values[i] > values[best] ) ||
+                     ( ( values[i] == values[best] ) && ( plays.get(i).getScore() > plays.get(best).getScore() ) ) )
+                    best = i;
+            }
+            chosen = plays.get(best);
+        }
+        return ( chosen == null ) ? GreedyStrategy.best(board, plays) : chosen;
+    }
+
+    /**
+     * One choice of a play, searched on every thread.
+     */
+    private class Search {
+
+        private final BoardView board ;
+        private final List<Tile> tray ;
+        private final RoundContext context ;
+        private final List<Choice> plays ;
+        private final long[] seeds ;
+        private final long deadline ;
+        private final Searcher[] searchers ;
+
+        private volatile boolean stopped = false ;
+
+        Search(BoardView board, List<Tile> tray, RoundContext context, List<Choice> plays, long[] seeds, long deadline) {
+            this.board = board;
+            this.tray = tray;
+            this.context = context;
+            this.plays = plays;
+            this.seeds = seeds;
+            this.deadline = deadline;
+            this.searchers = new Searcher[threads];
+        }
+
+        /**
+         * Searches every play to a depth, sharing them out among the threads.
+         * @param d - the moves to look ahead, our play included
+         * @return (float[]) what each play is worth, or null if time ran out first
+         */
+        float[] values(int d) {
+
+            float[] values = new float[plays.size()];
+            AtomicInteger next = new AtomicInteger(0);
+
+            List<CompletableFuture<Void>> others = new ArrayList<CompletableFuture<Void>>();
+            for ( int i = 1; i < threads; i++ ) {
+                int thread = i ;
+                others.add(CompletableFuture.runAsync(() -> searcher(thread).values(d, next, values)));
+            }
+            searcher(0).values(d, next, values);
+            for ( CompletableFuture<Void> f : others )
+                f.join();
+
+            return stopped ? null : values;
+        }
+
+        /**
+         * @return (Searcher) the thread's searcher, dealt the first time it is needed
+         */
+        private Searcher searcher(int thread) {
+            if ( searchers[thread] == null )
+                searchers[thread] = new Searcher(this);
+            return searchers[thread];
+        }
+    }
+
+    /**
+     * Searches plays for one thread, on guesses of its own.
+     */
+    private class Searcher {
+
+        private final Search search ;
+        private final SimulatedRound[] deals ;
+        private final int seat ;
+
+        Searcher(Search search) {
+            this.search = search;
+            this.seat = search.context.getSeat();
+            this.deals = new SimulatedRound[search.seeds.length];
+            for ( int i = 0; i < deals.length; i++ )
+                deals[i] = new SimulatedRound(search.board.copy(), search.tray, search.context, new SplittableRandom(search.seeds[i]));
+        }
+
+        /**
+         * Takes plays to search until there are none left, and works out what
+         *   each is worth on average over the guesses.
+         */
+        void values(int d, AtomicInteger next, float[] values) {
+            int i ;
+            while ( !search.stopped && ( ( i = next.getAndIncrement() ) < values.length ) ) {
+                float total = 0.0f ;
+                for ( SimulatedRound deal : deals ) {
+                    Choice c = deal.mine(search.plays.get(i));
+                    float before = utility(deal);
+                    deal.step(SimulatedRound.PLAY, c, 0);
+                    total += ( utility(deal) - before ) +
+                            value(deal, d - 1, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
+                    deal.undo();
+                }
+                values[i] = total / deals.length ;
+            }
+        }
+
+        /**
+         * What the rest of the search is worth to us from a position, as the
+         *   points we will gain less what the others will gain.  Our plays
+         *   and theirs are cut off once they can't change the choice above
+         *   (alpha-beta), but a draw is averaged over every tile sampled.
+         * @param deal - the guess, at the position
+         * @param d - the moves left to look ahead
+         * @param alpha - the most we are sure of already
+         * @param beta - the least the others are sure of already
+         * @return (float) what the position is worth to us
+         */
+        private float value(SimulatedRound deal, int d, float alpha, float beta) {
+
+            if ( deal.isOver() )
+                return 0.0f;
+            if ( System.nanoTime() > search.deadline )
+                search.stopped = true ;
+            if ( search.stopped )
+                return 0.0f;
+            if ( d == 0 )
+                return trays(deal);
+
+            // A pass in turn changes what a position is worth, so only the first is kept
+            long key = deal.getKey();
+            boolean keep = ( deal.getBlocked() == 0 ) ;
+            if ( keep ) {
+                float known = table.probe(key, d);
+                if ( !Float.isNaN(known) )
+                    return known;
+            }
+
+            float before = utility(deal);
+            List<Choice> choices = deal.choices();
+            float value ;
+
+            if ( choices.isEmpty() && ( deal.getPoolSize() > 0 ) ) {
+
+                // Draw, and try again: averaged over what might be drawn
+                int samples = Math.min(DRAW_SAMPLES, deal.getPoolSize());
+                float total = 0.0f ;
+                for ( int i = 0; ( i < samples ) && !search.stopped; i++ ) {
+                    deal.step(SimulatedRound.DRAW, null, i);
+                    total += ( utility(deal) - before ) +
+                            value(deal, d - 1, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
+                    deal.undo();
+                }
+                value = total / samples ;
+
+            } else if ( choices.isEmpty() ) {
+
+                deal.step(SimulatedRound.PASS, null, 0);
+                float gained = utility(deal) - before ;
+                value = gained + value(deal, d, alpha - gained, beta - gained);
+                deal.undo();
+                keep = false ;
+
+            } else {
+
+                boolean ours = ( deal.getToMove() == seat ) ;
+                value = ours ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY ;
+                for ( Choice c : choices ) {
+                    deal.step(SimulatedRound.PLAY, c, 0);
+                    float gained = utility(deal) - before ;
+                    float v = gained + ( ours ? value(deal, d - 1, Math.max(alpha, value) - gained, beta - gained) :
+                                                value(deal, d - 1, alpha - gained, Math.min(beta, value) - gained) );
+                    deal.undo();
+                    if ( search.stopped )
+                        break;
+                    value = ours ? Math.max(value, v) : Math.min(value, v);
+                    if ( ours ? ( value >= beta ) : ( value <= alpha ) )
+                        break;
+                }
+
+                // Only a value inside the window is exact; outside it, it's only a bound
+                keep &= ( value > alpha ) && ( value < beta ) ;
+            }
+
+            if ( keep && !search.stopped )
+                table.store(key, d, value);
+            return value;
+        }
+
+        /**
+         * @return (float) our points gained, less the average gained by the others
+         */
+        private float utility(SimulatedRound deal) {
+            float others = 0.0f ;
+            for ( int s = 0; s < deal.getSeats(); s++ ) {
+                if ( s != seat )
+                    others += deal.getGained(s);
+            }
+            return deal.getGained(seat) - others / ( deal.getSeats() - 1 );
+        }
+
+        /**
+         * @return (float) what the trays are worth to us, where the search ends: every point the
+         *   others hold could be ours at the end of the round, and every point we hold theirs
+         */
+        private float trays(SimulatedRound deal) {
+            float others = 0.0f ;
+            for ( int s = 0; s < deal.getSeats(); s++ ) {
+                if ( s != seat )
+                    others += deal.getTrayValue(s);
+            }
+            return TRAY_WEIGHT * ( others / ( deal.getSeats() - 1 ) - deal.getTrayValue(seat) );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s:%d:%d", NAME, millis, depth);
+    }
+}
@@ -29,6 +29,27 @@ import java.io.Serializable;
  */
 public class Face implements Comparable, Serializable {
 
+    // Corner values run from 0 through 5
+    public static final int CORNER_VALUES = 6 ;
+
+    // Every face can be packed as (left * CORNER_VALUES + right)
+    public static final int FACE_CODES = CORNER_VALUES * CORNER_VALUES ;
+
+    // One shared instance for each face, since a Face never changes
+    private static final Face[] FACES = new Face[FACE_CODES] ;
+
+    // The code of each face read from the other side
+    private static final int[] REVERSED = new int[FACE_CODES] ;
+
+    static {
+        for ( int l = 0; l < CORNER_VALUES; l++ ) {
+            for ( int r = 0; r < CORNER_VALUES; r++ ) {
+                FACES[code(l, r)] = new Face(l, r);
+                REVERSED[code(l, r)] = code(r, l);
+            }
+        }
+    }
+
     // Left corner facing away from tile face
     private final int left;
 
@@ -44,6 +65,48 @@ public class Face implements Comparable, Serializable {
         right = r;
     }
 
+    /** Packs the two corners of a face into a single code
+     * @param l - Outward facing left-hand value for face
+     * @param r - Outward facing right-hand value for face
+     * @return - the face code, 0 through FACE_CODES-1
+     */
+    public static int code(int l, int r) {
+        return ( l * CORNER_VALUES ) + r ;
+    }
+
+    /** Returns the shared Face for a face code, without allocating
+     * @param code - the face code, 0 through FACE_CODES-1
+     * @return - the Face for that code
+     */
+    public static Face valueOf(int code) {
+        return FACES[code];
+    }
+
+    /** Returns the code of a face read from the other side, which is the
+     *   face it matches
+     * @param code - the face code, 0 through FACE_CODES-1
+     * @return - the code of the reversed face
+     */
+    public static int reverse(int code) {
+        return REVERSED[code];
+    }
+
+    /** Determines if two face codes could be adjacent to each other
+     * @param a - code of one face
+     * @param b - code of the other face
+     * @return - true if faces can be matched, false otherwise
+     */
+    public static boolean codesMatch(int a, int b) {
+        return ( a == REVERSED[b] );
+    }
+
+    /** Returns the code that packs this face
+     * @return - the face code, 0 through FACE_CODES-1
+     */
+    public int getCode() {
+        return code(left, right);
+    }
+
     /** Returns the string that shows the face
      * @return - String defining the face
      */
@@ -21,7 +21,10 @@ package com.thirdsonsoftware;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 @SuppressWarnings("SpellCheckingInspection")
 class Game implements Serializable {
@@ -31,6 +34,9 @@ class Game implements Serializable {
 
     private static final int DEFAULT_NUM_ROUNDS = 5 ;
 
+    // Mixed into the seed for the strategies' stream, so it isn't the rounds' stream
+    private static final long STRATEGY_SEED_MIX = 0x9E3779B97F4A7C15L ;
+
     private int numPlayers; // how many players are playing this game?
 
     // Each game can have a number of players
@@ -39,19 +45,45 @@ class Game implements Serializable {
     // Each game is composed of a set of Rounds
     private ArrayList<Round> rounds;
 
+    // Should the board be displayed in color?
+    private boolean useColor = true ;
+
+    // Should the game be played without rendering the board, trays and pool?
+    private boolean headless = false ;
+
+    // The seed this game was played from, so it can be played again
+    private final long seed ;
+
+    // Each round is shuffled from its own stream, split from this one
+    private transient SplittableRandom random ;
+
     /**
-     * Construct the default game
+     * Construct the default game, with a seed of its own
      */
     Game(int numPlayers) {
+        this(numPlayers, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Construct a game that is played from a seed.  Games with the same
+     *   seed and number of players deal the same tiles, round after round.
+     * @param numPlayers - the number of players in the game
+     * @param seed - the seed the rounds are shuffled from
+     */
+    Game(int numPlayers, long seed) {
 
         Log.Info("Let's play triominos!");
 
+        this.seed = seed ;
+        this.random = new SplittableRandom(seed);
+        Log.Info(" Playing from seed %d.", seed);
+
         Event.logEvent(EventType.SETUP_PLAYERS);
 
         // Set the number of players for this game
         setNumPlayers(numPlayers);
 
-        Log.Info(String.format(" Setting up for %d players.", numPlayers));
+        Log.Info(" Setting up for %d players.", numPlayers);
 
         // Allocate the number of players specified
         setPlayers(new ArrayList<Player>(numPlayers));
@@ -75,15 +107,36 @@ class Game implements Serializable {
 
         // We need to kick off the rounds.
         do {
-            Round round = new Round(++index, players);
-            round.getBoard().setUseColor(true);
+            Round round = createRound(++index);
+            round.getBoard().setUseColor(useColor);
+            round.setHeadless(headless);
             rounds.add(round);
             Event.logEvent(EventType.START_A_ROUND,round);
             playerWonGame = round.playRound();
             Event.logEvent(EventType.END_A_ROUND,round);
         } while ( playerWonGame == null ) ;
 
-        Log.Info(String.format("  Game completed in %d rounds.  Player '%s' won the game.", index, playerWonGame.getName()));
+        Log.Info("  Game completed in %d rounds.  Player '%s' won the game.", index, playerWonGame.getName());
+    }
+
+    /**
+     * Creates the next round of the game for these players.
+     * @param roundNumber - the number of the round, starting at 1
+     * @return (Round) the round to play
+     */
+    protected Round createRound(int roundNumber) {
+        if ( random == null )
+            random = new SplittableRandom(seed);
+        return new Round(roundNumber, players, random.split());
+    }
+
+    /**
+     * The seed this game is played from.  Playing a game with this seed
+     *   and the same number of players plays this game again.
+     * @return (long) the seed of the game
+     */
+    public long getSeed() {
+        return seed;
     }
 
     /**
@@ -110,6 +163,63 @@ class Game implements Serializable {
         return this.numPlayers;
     }
 
+    /**
+     * Color is a process-wide setting for Tiles, so games that are played
+     *   concurrently should turn it off to keep Tile rendering consistent.
+     * @param useColor - should the board be displayed in color
+     */
+    public void setUseColor(boolean useColor) {
+        this.useColor = useColor;
+    }
+
+    /**
+     * Will the board be displayed in color?
+     * @return (boolean) true if the board is displayed in color
+     */
+    public boolean getUseColor() {
+        return useColor;
+    }
+
+    /**
+     * A headless game renders none of its rounds, so batches of games cost
+     *   only the play itself.
+     * @param headless - true to skip showing each round as it is played
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Should the players score their candidate plays in parallel each turn?
+     * @param evaluateInParallel - true to spread each turn's scoring over the fork/join pool
+     */
+    public void setEvaluateInParallel(boolean evaluateInParallel) {
+        for ( Player p : players )
+            p.setEvaluateInParallel(evaluateInParallel);
+    }
+
+    /**
+     * Gives each seat a strategy, by name, in seat order.  If there are more
+     *   seats than names, the names are used again from the first.  Each
+     *   strategy is seeded from the game's seed, so a game with searching
+     *   strategies can be played again.
+     * @param names - the names of the strategies
+     * @throws IllegalArgumentException if there is no strategy by one of the names
+     */
+    public void setStrategies(List<String> names) {
+        if ( ( names == null ) || names.isEmpty() )
+            return;
+
+        // A stream apart from the rounds', so the deal is the same whatever the seats play
+        SplittableRandom strategies = new SplittableRandom(seed ^ STRATEGY_SEED_MIX);
+        for ( int seat = 0; seat < players.size(); seat++ )
+            players.get(seat).setStrategy(PlayerStrategy.named(names.get(seat % names.size()), strategies.split()));
+    }
+
     /**
      * The list of players in the game.
      * @return players (ArrayList<Player>) - List of players in the game
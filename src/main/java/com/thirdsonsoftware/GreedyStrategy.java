@@ -0,0 +1,69 @@
+package com.thirdsonsoftware;
+
+import java.util.List;
+
+/**
+ * Plays the highest scoring candidate each turn, bonuses included.  This
+ *   is how every player has always played, and is the strategy a player
+ *   has unless it is given another.
+ */
+public class GreedyStrategy implements PlayerStrategy {
+
+    static final String NAME = "greedy" ;
+
+    // Below this many candidates, splitting the work costs more than it saves
+    static final int PARALLEL_EVALUATION_THRESHOLD = 32 ;
+
+    @Override
+    public Choice choose(BoardView board, List<Tile> tray, RoundContext context) {
+        List<Choice> choices = context.getCandidates();
+        return ( context.isEvaluateInParallel() && ( choices.size() >= PARALLEL_EVALUATION_THRESHOLD ) ) ?
+                bestInParallel(board, choices) : best(board, choices);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Spin through choices looking for the highest value or score.  On a tie,
+     *   the first choice found wins.
+     * @param board - the board the tile would be placed on
+     * @param choices - the choices to consider
+     * @return (Choice) the highest scoring choice that fits, or null if none fit
+     */
+    static Choice best(BoardView board, List<Choice> choices) {
+
+        int highestScore = -1 ;    // 0 is a valid score for tile '0-0-0'
+        Choice topChoice = null ;
+
+        for ( Choice c : choices ) {
+            if ( PlayerStrategy.fitsAndIsScored(board, c) && ( c.getScore() > highestScore ) ) {
+                highestScore = c.getScore();
+                topChoice = c;
+            }
+        }
+        return topChoice;
+    }
+
+    /**
+     * The same as best, with the choices scored on the common fork/join
+     *   pool.  The reduction keeps the order of the choices, so the same choice
+     *   wins as it would if they were scored one at a time.
+     * @param board - the board the tile would be placed on
+     * @param choices - the choices to consider
+     * @return (Choice) the highest scoring choice that fits, or null if none fit
+     */
+    static Choice bestInParallel(BoardView board, List<Choice> choices) {
+        return choices.parallelStream()
+                .filter(c -> PlayerStrategy.fitsAndIsScored(board, c))
+                .reduce((a, b) -> ( b.getScore() > a.getScore() ) ? b : a)
+                .orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        return NAME;
+    }
+}
@@ -1,9 +1,40 @@
 package com.thirdsonsoftware;
 
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Logs messages to the console in color.  Messages below the current level
+ *   are dropped before they are built: pass a format and its arguments, or a
+ *   Supplier, and a disabled message is never formatted.
+ *
+ * <pre>
+ *   Log.Info("  Played tile '%s' at (%d,%d).", t, row, col);
+ *   Log.Debug(() -&gt; board.display(false));
+ * </pre>
+ *
+ * Messages can be sent to a file instead, written on a background thread
+ *   (see LogFileAppender), so logging threads never wait on the console.
+ */
 public class Log {
 
+    // The levels of messages, from the most to the least chatty
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARNING,
+        ERROR,
+        OFF
+    }
+
     public static boolean debugMode = false ;
 
+    // Messages below this level are dropped.  Debug messages follow debugMode.
+    private static volatile Level level = Level.INFO ;
+
+    // Where messages go instead of the console, when logging to a file
+    private static volatile LogFileAppender appender = null ;
+
     // Foreground colors
     public static final String RESET  = "\u001B[0m";
     public static final String BLACK  = "\u001B[30m";
@@ -32,26 +63,140 @@ public class Log {
         return Class.forName(rawFQN.substring(0, rawFQN.lastIndexOf('.')));
     }
 
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the least important level of message that is logged.
+     * @param level - the level; DEBUG also turns on debugMode, any other level turns it off
+     */
+    public static void setLevel(Level level) {
+        Log.level = level;
+        Log.debugMode = ( level == Level.DEBUG );
+    }
+
+    /**
+     * @param l - the level of a message
+     * @return (boolean) true if a message at that level would be logged
+     */
+    public static boolean isEnabled(Level l) {
+        return ( l == Level.DEBUG ) ? debugMode : ( l.compareTo(level) >= 0 );
+    }
+
+    public static boolean isDebugEnabled() {
+        return debugMode;
+    }
+
+    public static boolean isInfoEnabled() {
+        return isEnabled(Level.INFO);
+    }
+
+    /**
+     * Sends messages to a file, rather than the console, from now on.  Errors
+     *   still go to the console as well.
+     * @param filename - the log file, appended to if it is there
+     * @param maxBytes - the size at which the file is rolled over
+     * @param maxFiles - the number of rolled over files to keep
+     * @throws IOException if the file can't be opened
+     */
+    public static void toFile(String filename, long maxBytes, int maxFiles) throws IOException {
+        LogFileAppender previous = appender;
+        appender = new LogFileAppender(filename, maxBytes, maxFiles);
+        if ( previous != null )
+            previous.close();
+    }
+
+    /**
+     * Writes out any messages still waiting for the log file, closes it, and
+     *   sends messages back to the console.
+     */
+    public static void closeFile() {
+        LogFileAppender previous = appender;
+        appender = null;
+        if ( previous != null )
+            previous.close();
+    }
+
+    /**
+     * @return (String) the log file messages are sent to, or null for the console
+     */
+    public static String getFilename() {
+        LogFileAppender current = appender;
+        return ( current == null ) ? null : current.getFilename();
+    }
+
+    private static void print(Level l, String color, String message) {
+        LogFileAppender current = appender;
+        if ( current != null ) {
+            current.append(l.name() + " " + message);
+            if ( l != Level.ERROR )
+                return;
+        }
+        System.out.println(color + message + RESET);
+    }
+
     //info
     public static void Info(String message) {
-        System.out.println(WHITE + message + RESET);
+        if ( isEnabled(Level.INFO) )
+            print(Level.INFO, WHITE, message);
+    }
+
+    public static void Info(String format, Object... args) {
+        if ( isEnabled(Level.INFO) )
+            Info(String.format(format, args));
+    }
+
+    public static void Info(Supplier<String> message) {
+        if ( isEnabled(Level.INFO) )
+            Info(message.get());
     }
 
     //error
     public static void Error(String message) {
-        System.out.println(RED + message + RESET);
+        if ( isEnabled(Level.ERROR) )
+            print(Level.ERROR, RED, message);
+    }
+
+    public static void Error(String format, Object... args) {
+        if ( isEnabled(Level.ERROR) )
+            Error(String.format(format, args));
+    }
+
+    public static void Error(Supplier<String> message) {
+        if ( isEnabled(Level.ERROR) )
+            Error(message.get());
     }
 
     //debug
     public static void Debug(String message) {
         if ( debugMode )
-            System.out.println(BLUE + message + RESET);
+            print(Level.DEBUG, BLUE, message);
+    }
+
+    public static void Debug(String format, Object... args) {
+        if ( debugMode )
+            Debug(String.format(format, args));
+    }
+
+    public static void Debug(Supplier<String> message) {
+        if ( debugMode )
+            Debug(message.get());
     }
 
     //warning
     public static void Warning(String message) {
-        System.out.println(YELLOW + message + RESET);
+        if ( isEnabled(Level.WARNING) )
+            print(Level.WARNING, YELLOW, message);
     }
 
-    // Todo: Add logging to a file support
+    public static void Warning(String format, Object... args) {
+        if ( isEnabled(Level.WARNING) )
+            Warning(String.format(format, args));
+    }
+
+    public static void Warning(Supplier<String> message) {
+        if ( isEnabled(Level.WARNING) )
+            Warning(message.get());
+    }
 }
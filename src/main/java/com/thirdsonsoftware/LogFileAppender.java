@@ -0,0 +1,183 @@
+package com.thirdsonsoftware;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes log messages to a file on a background thread.  Threads logging a
+ *   message only queue it and carry on; the writer drains the queue into a
+ *   buffered file in batches.  Once the file grows past its limit it is
+ *   rolled over: 'triominos.log' becomes 'triominos.log.1', the old '.1'
+ *   becomes '.2', and so on, keeping a fixed number of old files.
+ */
+public class LogFileAppender implements Runnable {
+
+    // How many messages can wait to be written before loggers wait on the writer
+    static final int QUEUE_CAPACITY = 8192 ;
+
+    // The most messages written between checks of the file's size
+    private static final int BATCH_SIZE = 1024 ;
+
+    // How long the writer waits for a message before flushing what it has
+    private static final long IDLE_MILLIS = 100 ;
+
+    private static final int BUFFER_SIZE = 64 * 1024 ;
+
+    private final File file ;
+    private final long maxBytes ;
+    private final int maxFiles ;
+
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread ;
+
+    private volatile boolean closing = false ;
+
+    private Writer writer ;
+    private long written ;
+
+    /**
+     * Opens the log file, appending to it if it is there, and starts the
+     *   writer thread.
+     * @param filename - the log file to write
+     * @param maxBytes - the size at which the file is rolled over
+     * @param maxFiles - the number of rolled over files to keep
+     * @throws IOException if the file can't be opened
+     */
+    public LogFileAppender(String filename, long maxBytes, int maxFiles) throws IOException {
+        if ( maxBytes < 1 )
+            throw new IllegalArgumentException(String.format("Invalid log file size %d", maxBytes));
+        this.file = new File(filename);
+        this.maxBytes = maxBytes;
+        this.maxFiles = Math.max(0, maxFiles);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if ( parent != null )
+            parent.mkdirs();
+        open();
+        this.thread = new Thread(this, "log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return (String) the log file being written
+     */
+    public String getFilename() {
+        return file.getPath();
+    }
+
+    /**
+     * Hands a message to the writer.  If the queue is full, the caller waits
+     *   for the writer to make room.  Messages arriving after close() are
+     *   dropped.
+     * @param message - the message to write, as a line of its own
+     */
+    public void append(String message) {
+        try {
+            while ( !closing ) {
+                if ( queue.offer(message, IDLE_MILLIS, TimeUnit.MILLISECONDS) )
+                    return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes out any messages still waiting, then closes the file.
+     */
+    public void close() {
+        closing = true;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while ( !closing || !queue.isEmpty() ) {
+                String first = null ;
+                try {
+                    first = queue.poll(IDLE_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // Closing; drain whatever is left
+                }
+                if ( first == null ) {
+                    writer.flush();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for ( String message : batch )
+                    write(message);
+                batch.clear();
+                if ( written >= maxBytes )
+                    rollOver();
+            }
+        } catch (IOException e) {
+            System.err.println(String.format("Error writing log file %s: %s", file, e.getMessage()));
+            // Keep the queue moving so nobody is left waiting on a full queue
+            while ( !closing || !queue.isEmpty() ) {
+                queue.clear();
+                try {
+                    Thread.sleep(IDLE_MILLIS);
+                } catch (InterruptedException ie) {
+                    // Closing
+                }
+            }
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println(String.format("Error closing log file %s: %s", file, e.getMessage()));
+            }
+        }
+    }
+
+    private void write(String message) throws IOException {
+        writer.write(message);
+        writer.write(System.lineSeparator());
+        // Close enough for deciding when to roll over
+        written += message.length() + 1 ;
+    }
+
+    private void open() throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file, true), StandardCharsets.UTF_8), BUFFER_SIZE);
+        written = file.length();
+    }
+
+    /**
+     * Closes the current file, shifts the older files along, and starts a
+     *   new file.
+     */
+    private void rollOver() throws IOException {
+        writer.close();
+        if ( maxFiles == 0 ) {
+            file.delete();
+        } else {
+            new File(file.getPath() + "." + maxFiles).delete();
+            for ( int i = maxFiles - 1; i >= 1; i-- ) {
+                File older = new File(file.getPath() + "." + i);
+                if ( older.exists() )
+                    older.renameTo(new File(file.getPath() + "." + ( i + 1 )));
+            }
+            file.renameTo(new File(file.getPath() + ".1"));
+        }
+        open();
+    }
+}
@@ -20,17 +20,38 @@
 package com.thirdsonsoftware;
 
 import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.cli.*;
 
 class Main {
 
     static private int DEFAULT_GAME_COUNT = 1;
     static private int DEFAULT_NUMBER_OF_PLAYERS = 2 ;
+    static private int DEFAULT_THREAD_COUNT = 1 ;
+    static private int DEFAULT_LOG_FILE_MEGABYTES = 64 ;
+
+    // How many rolled over log files are kept
+    static private int LOG_FILES_KEPT = 5 ;
 
     static private int gameCount = DEFAULT_GAME_COUNT ;
     static private int numberOfPlayers = DEFAULT_NUMBER_OF_PLAYERS ;
+    static private int threadCount = DEFAULT_THREAD_COUNT ;
 
     static private boolean analyzeResults = false ;
+    static private boolean evaluateInParallel = false ;
+    static private boolean reanalyze = false ;
+    static private boolean headless = false ;
+
+    // The seed of the first game, when one is given.  Game 'n' of a batch is
+    //   played from seed + n - 1, so any game can be played again on its own.
+    static private Long seed = null ;
+
+    // The strategy of each seat, by name, when they are given
+    static private List<String> strategies = null ;
 
     static Game game = null ;
 
@@ -42,6 +63,46 @@ class Main {
         Main.analyzeResults = analyzeResults;
     }
 
+    public static boolean isReanalyze() {
+        return reanalyze;
+    }
+
+    public static void setReanalyze(boolean reanalyze) {
+        Main.reanalyze = reanalyze;
+    }
+
+    public static boolean isHeadless() {
+        return headless;
+    }
+
+    public static void setHeadless(boolean headless) {
+        Main.headless = headless;
+    }
+
+    public static boolean isEvaluateInParallel() {
+        return evaluateInParallel;
+    }
+
+    public static void setEvaluateInParallel(boolean evaluateInParallel) {
+        Main.evaluateInParallel = evaluateInParallel;
+    }
+
+    public static List<String> getStrategies() {
+        return strategies;
+    }
+
+    public static void setStrategies(List<String> strategies) {
+        Main.strategies = strategies;
+    }
+
+    public static Long getSeed() {
+        return seed;
+    }
+
+    public static void setSeed(Long seed) {
+        Main.seed = seed;
+    }
+
     public static Game getGame() {
         return game;
     }
@@ -66,24 +127,59 @@ class Main {
         Main.numberOfPlayers = numPlayers ;
     }
 
+    public static int getThreadCount() {
+        return threadCount ;
+    }
+
+    public static void setThreadCount(int threads) {
+        Main.threadCount = ( threads < 1 ) ? DEFAULT_THREAD_COUNT : threads ;
+    }
+
     private static void processCommandLine( String[] args ) {
 
         Options options = new Options();
 
         options.addOption("d",false,"Debug Logging");
+        options.addOption("q",false,"Quiet, logging only errors");
         options.addOption("g",true,"Number Of Games To Play");
         options.addOption("p",true,"Number of Players in the Game");
         options.addOption("a",false,"Analyze the events recorded");
+        options.addOption("r",false,"Re-analyze every event file, ignoring the last analysis");
+        options.addOption("t",true,"Number of Threads to play or analyze Games on");
+        options.addOption("e",false,"Evaluate each turn's candidate plays in parallel");
+        options.addOption("H",false,"Headless, playing without rendering the board, trays or tile pool");
+        options.addOption("s",true,"Seed to play the first Game from");
+        options.addOption("S",true,"Strategy of each seat, separated by commas (greedy, mcts[:ms[:playouts]], expectimax[:ms[:depth]])");
+        options.addOption("b",false,"Write each Game's events in the background as it is played");
+        options.addOption("l",true,"Log to a file, written in the background, instead of the console");
+        options.addOption("m",true,"Size in megabytes at which the log file is rolled over");
 
         CommandLineParser parser = new DefaultParser();
         try {
 
             CommandLine cmd = parser.parse( options, args);
 
+            // Logging to a file, so the messages that follow go there too
+            if (cmd.hasOption("l")) {
+                long megabytes = cmd.hasOption("m") ?
+                        Long.parseLong(cmd.getOptionValue("m")) : DEFAULT_LOG_FILE_MEGABYTES ;
+                try {
+                    Log.toFile(cmd.getOptionValue("l"), megabytes * 1024 * 1024, LOG_FILES_KEPT);
+                    Log.Info( "   Logging to " + Log.getFilename() + ", rolled over every " + megabytes + " MB.");
+                } catch (IOException e) {
+                    Log.Error("  Unable to open log file: " + e.getMessage());
+                }
+            }
+
             // Determine if we are in debug mode
             if (cmd.hasOption("d")) {
                 Log.Info( "   Enabling debug logging.");
-                Log.debugMode = true ;
+                Log.setLevel(Log.Level.DEBUG);
+            }
+
+            // Quiet wins over debug, so batch runs spend nothing on messages
+            if (cmd.hasOption("q")) {
+                Log.setLevel(Log.Level.ERROR);
             }
 
             // Setting the number of games to play
@@ -100,11 +196,62 @@ class Main {
                 Log.Info( "   Setting the number of players to " + getNumberOfPlayers());
             }
 
+            // Setting the number of threads to play or analyze games on
+            if (cmd.hasOption("t")) {
+                String strThreadCount = cmd.getOptionValue("t");
+                setThreadCount(Integer.parseInt(strThreadCount));
+                Log.Info( "   Using " + getThreadCount() + " threads.");
+            }
+
+            // Scoring each turn's candidate plays in parallel
+            if (cmd.hasOption("e")) {
+                setEvaluateInParallel(true);
+                Log.Info( "   Evaluating candidate plays in parallel.");
+            }
+
+            // Setting the seed so the games can be played again
+            if (cmd.hasOption("s")) {
+                String strSeed = cmd.getOptionValue("s");
+                setSeed(Long.parseLong(strSeed));
+                Log.Info( "   Playing from seed " + getSeed());
+            }
+
+            // Giving each seat a strategy of its own
+            if (cmd.hasOption("S")) {
+                List<String> names = Arrays.asList(cmd.getOptionValue("S").split(","));
+                try {
+                    for ( String name : names )
+                        PlayerStrategy.named(name);
+                    setStrategies(names);
+                    Log.Info( "   Playing strategies " + getStrategies());
+                } catch ( IllegalArgumentException iae ) {
+                    Log.Error("  " + iae.getMessage());
+                }
+            }
+
+            // Playing without rendering anything
+            if (cmd.hasOption("H")) {
+                setHeadless(true);
+                Log.Info( "   Playing headless.");
+            }
+
+            // Writing events to disk while the games are played
+            if (cmd.hasOption("b")) {
+                EventManager.setWriteInBackground(true);
+                Log.Info( "   Writing events in the background.");
+            }
+
             if (cmd.hasOption("a")) {
                 Main.setAnalyzeResults(true);
                 Log.Info("\nAnalyzing results...");
             }
 
+            // Counting every event file again, rather than only the new ones
+            if (cmd.hasOption("r")) {
+                Main.setReanalyze(true);
+                Log.Info("   Re-analyzing every event file.");
+            }
+
         } catch ( ParseException pe ) {
             Log.Error("  Parse exception: " + pe.getMessage());
         }
@@ -114,6 +261,19 @@ class Main {
 
         Main.processCommandLine(args);
 
+        try {
+            run();
+        } finally {
+            // Write out anything still waiting for the log file
+            Log.closeFile();
+        }
+    }
+
+    /**
+     * Analyzes or plays games, as the command line asked.
+     */
+    static protected void run() {
+
         // Are we being asked to analyze the results, let's get to it.
         if ( isAnalyzeResults() ) {
 
@@ -124,31 +284,92 @@ class Main {
             EventManager.getInstance().convertToJSON();
 
             // Let's kick off the analysis phase
-            AnalyzeResults analyzeResults = new AnalyzeResults() ;
+            AnalyzeResults analyzeResults = new AnalyzeResults(getThreadCount(), !isReanalyze()) ;
 
         } else {
 
-            // Let's loop through the number of games we were asked to play
-            for (int nGame = 1; nGame <= getGameCount(); nGame++) {
+            if ( getThreadCount() > 1 ) {
+
+                // Independent games are spread across the threads we were given
+                playGamesInParallel();
+
+            } else {
 
-                // Clear out any events before we get started with the next game
-                EventManager.getInstance().clearEvents();
+                // Let's loop through the number of games we were asked to play
+                for (int nGame = 1; nGame <= getGameCount(); nGame++) {
+                    setGame(playGame(nGame, true));
+                }
+            }
 
-                Event.logEvent(EventType.START_A_GAME, nGame);
+            EventManager.getInstance().dumpAllEventData();
+        }
+    }
 
-                setGame(new Game(getNumberOfPlayers()));
+    /**
+     * Plays a single game from start to finish, recording its events into the
+     *   event sink of the calling thread.
+     * @param nGame - the number of the game being played
+     * @param useColor - should the board be displayed in color
+     * @return (Game) the game that was played
+     */
+    static protected Game playGame(int nGame, boolean useColor) {
 
-                getGame().play();
+        // Clear out any events before we get started with the next game
+        EventManager.getInstance().clearEvents();
 
-                Log.Info(getGame().toString());
+        Event.logEvent(EventType.START_A_GAME, nGame);
 
-                Event.logEvent(EventType.END_A_GAME, nGame);
+        Game aGame = ( getSeed() == null ) ? new Game(getNumberOfPlayers()) :
+                new Game(getNumberOfPlayers(), getSeed() + nGame - 1);
+        aGame.setUseColor(useColor);
+        aGame.setEvaluateInParallel(isEvaluateInParallel());
+        aGame.setHeadless(isHeadless());
+        aGame.setStrategies(getStrategies());
 
-                String eventLog = EventManager.getInstance().logEvents();
-                Log.Info(String.format(" Event log for Game %d is %s.", nGame, eventLog));
-            }
+        aGame.play();
 
-            EventManager.getInstance().dumpAllEventData();
+        if ( !aGame.isHeadless() )
+            Log.Info(aGame::toString);
+
+        Event.logEvent(EventType.END_A_GAME, nGame);
+
+        String eventLog = EventManager.getInstance().logEvents();
+        Log.Info(String.format(" Event log for Game %d is %s.", nGame, eventLog));
+        Log.Info(String.format(" Game %d was played from seed %d.", nGame, aGame.getSeed()));
+
+        return aGame;
+    }
+
+    /**
+     * Plays the requested number of games on a fixed pool of threads.  Every
+     *   game is independent and records its events on its own thread, so the
+     *   only thing shared between them is the console.  Nothing is kept of a
+     *   game once it is over, so any number of games can be played.
+     */
+    static protected void playGamesInParallel() {
+
+        ExecutorService executor = Executors.newFixedThreadPool(getThreadCount());
+
+        for (int nGame = 1; nGame <= getGameCount(); nGame++) {
+            final int gameNumber = nGame;
+            executor.execute(() -> {
+                try {
+                    playGame(gameNumber, false);
+                } catch (RuntimeException e) {
+                    Log.Error("  Exception while playing game " + gameNumber + ": " + e);
+                }
+            });
+        }
+
+        // Wait for all of the games to complete
+        executor.shutdown();
+        try {
+            while ( !executor.awaitTermination(1, TimeUnit.MINUTES) )
+                Log.Debug("  Still waiting for games to complete...");
+        } catch (InterruptedException e) {
+            Log.Error("  Interrupted while waiting for games to complete: " + e.getMessage());
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
 
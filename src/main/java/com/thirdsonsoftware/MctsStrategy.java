@@ -0,0 +1,294 @@
+package com.thirdsonsoftware;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses a play by Monte Carlo tree search over guesses at the tiles it
+ *   can't see (information set MCTS).  Each iteration deals the other trays
+ *   and the pool at random (see SimulatedRound), walks down the tree by UCT
+ *   among the plays that guess allows, adds one new play, and plays the
+ *   rest of the round out greedily.  Every seat's plays in the tree are
+ *   rated by that seat's margin over the best of the others at the end of
+ *   the round.
+ *
+ * The search stops at whichever comes first of its time and iteration
+ *   budgets.  It runs a tree of its own on each thread, and the play tried
+ *   most often across all of the trees is made (root parallelization).
+ *   With one thread, a seed and no time limit the same play is always
+ *   chosen; otherwise it depends on how much was searched.
+ */
+public class MctsStrategy implements PlayerStrategy {
+
+    static final String NAME = "mcts" ;
+
+    static final long DEFAULT_MILLIS = 200 ;
+    static final int DEFAULT_ITERATIONS = 20000 ;
+
+    // The UCT exploration constant, for rewards between 0 and 1
+    static final double EXPLORATION = 0.7 ;
+
+    // The margin, in points, that earns the whole reward, or none of it
+    static final int REWARD_SCALE = 100 ;
+
+    private final long millis ;
+    private final int iterations ;
+    private final int threads ;
+    private final SplittableRandom random ;
+
+    /**
+     * A search with the default budgets, on every core.
+     */
+    public MctsStrategy() {
+        this(DEFAULT_MILLIS, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * @param millis - the most time to search for a play, in milliseconds, or 0 for no limit
+     * @param iterations - the most iterations to search for a play, across all threads
+     */
+    public MctsStrategy(long millis, int iterations) {
+        this(millis, iterations, ForkJoinPool.getCommonPoolParallelism() + 1, new SplittableRandom());
+    }
+
+    /**
+     * @param millis - the most time to search for a play, in milliseconds, or 0 for no limit
+     * @param iterations - the most iterations to search for a play, across all threads
+     * @param threads - the number of trees to search at once
+     * @param random - the source of randomness for guessing the unseen tiles
+     */
+    public MctsStrategy(long millis, int iterations, int threads, SplittableRandom random) {
+        if ( ( millis < 0 ) || ( iterations < 1 ) || ( threads < 1 ) )
+            throw new IllegalArgumentException(String.format("Invalid search budget of %d ms, %d iterations on %d threads",
+                    millis, iterations, threads));
+        this.millis = millis;
+        this.iterations = iterations;
+        this.threads = threads;
+        this.random = random;
+    }
+
+    /**
+     * Makes a strategy from its name and budgets, as 'mcts', 'mcts:millis',
+     *   'mcts:millis:iterations' or 'mcts:millis:iterations:threads'.
+     * @param spec - the name and budgets
+     * @param random - the source of randomness for guessing the unseen tiles
+     * @return (MctsStrategy) the strategy
+     */
+    static MctsStrategy parse(String spec, SplittableRandom random) {
+        String[] parts = spec.split(":");
+        long millis = ( parts.length > 1 ) ? Long.parseLong(parts[1].trim()) : DEFAULT_MILLIS ;
+        int iterations = ( parts.length > 2 ) ? Integer.parseInt(parts[2].trim()) : DEFAULT_ITERATIONS ;
+        int threads = ( parts.length > 3 ) ? Integer.parseInt(parts[3].trim()) :
+                ForkJoinPool.getCommonPoolParallelism() + 1 ;
+        return new MctsStrategy(millis, iterations, threads, random);
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Choice choose(BoardView board, List<Tile> tray, RoundContext context) {
+
+        long deadline = ( millis == 0 ) ? Long.MAX_VALUE :
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        List<Choice> plays = new ArrayList<Choice>();
+        for ( Choice c : context.getCandidates() ) {
+            if ( PlayerStrategy.fitsAndIsScored(board, c) )
+                plays.add(c);
+        }
+
+        // Nothing to search: no choice, or no round to guess the rest of
+        if ( ( plays.size() < 2 ) || ( board.count() == 0 ) || ( context.getPlayerCount() == 0 ) )
+            return GreedyStrategy.best(board, plays);
+
+        Map<Integer, Integer> tried = search(board, tray, context, deadline);
+
+        // The play tried most often, the first of them on a tie
+        Choice chosen = null ;
+        int most = 0 ;
+        for ( Choice c : plays ) {
+            Integer count = tried.get(key(c));
+            if ( ( count != null ) && ( count > most ) ) {
+                most = count;
+                chosen = c;
+            }
+        }
+        return ( chosen == null ) ? GreedyStrategy.best(board, plays) : chosen;
+    }
+
+    /**
+     * Searches a tree on each thread, this one included, and adds up how
+     *   often each play was tried at the top of the trees.
+     * @return (Map) the times each play was tried, by key
+     */
+    private Map<Integer, Integer> search(BoardView board, List<Tile> tray, RoundContext context, long deadline) {
+
+        AtomicInteger budget = new AtomicInteger(iterations);
+
+        List<CompletableFuture<Node>> others = new ArrayList<CompletableFuture<Node>>();
+        for ( int i = 1; i < threads; i++ ) {
+            SplittableRandom r = random.split();
+            others.add(CompletableFuture.supplyAsync(() -> searchTree(board, tray, context, r, deadline, budget)));
+        }
+        List<Node> roots = new ArrayList<Node>();
+        roots.add(searchTree(board, tray, context, random, deadline, budget));
+        for ( CompletableFuture<Node> f : others )
+            roots.add(f.join());
+
+        Map<Integer, Integer> tried = new HashMap<Integer, Integer>();
+        for ( Node root : roots ) {
+            for ( Node child : root.children )
+                tried.merge(child.move, child.visits, Integer::sum);
+        }
+        return tried;
+    }
+
+    /**
+     * Grows a single tree until the budget runs out.
+     * @return (Node) the root of the tree
+     */
+    private static Node searchTree(BoardView board, List<Tile> tray, RoundContext context,
+                                   SplittableRandom random, long deadline, AtomicInteger budget) {
+
+        Node root = new Node(null, -1, context.getSeat());
+
+        // Every guess is played on this copy, and taken back off it after
+        Board work = board.copy();
+
+        while ( ( System.nanoTime() < deadline ) && ( budget.getAndDecrement() > 0 ) ) {
+
+            SimulatedRound round = new SimulatedRound(work, tray, context, random);
+            Node node = root;
+            List<Choice> plays = round.plays();
+
+            // Walk down the tree by the plays this guess allows, adding the first one not tried
+            while ( !plays.isEmpty() ) {
+                int seat = round.getToMove();
+                List<Choice> untried = new ArrayList<Choice>();
+                Node best = null ;
+                Choice bestPlay = null ;
+                double bestValue = Double.NEGATIVE_INFINITY ;
+                for ( Choice c : plays ) {
+                    Node child = node.child(key(c));
+                    if ( child == null ) {
+                        untried.add(c);
+                        continue;
+                    }
+                    child.available++ ;
+                    double value = child.value();
+                    if ( value > bestValue ) {
+                        bestValue = value;
+                        best = child;
+                        bestPlay = c;
+                    }
+                }
+                if ( !untried.isEmpty() ) {
+                    Choice c = untried.get(random.nextInt(untried.size()));
+                    node = node.add(key(c), seat);
+                    round.play(c);
+                    break;
+                }
+                node = best;
+                round.play(bestPlay);
+                plays = round.plays();
+            }
+
+            round.playOut();
+            round.rewind();
+
+            for ( Node n = node; n != null; n = n.parent )
+                n.update(reward(round, n.seat));
+        }
+        return root;
+    }
+
+    /**
+     * @return (double) the seat's margin at the end of the round, as a reward from 0 to 1
+     */
+    static double reward(SimulatedRound round, int seat) {
+        double r = 0.5 + round.margin(seat) / ( 2.0 * REWARD_SCALE );
+        return Math.max(0.0, Math.min(1.0, r));
+    }
+
+    /**
+     * @return (int) the play, as its tile id, location and rotation packed together
+     */
+    static int key(Choice c) {
+        return ( ( c.getTile().getId() * Board.DEFAULT_ROWS + c.getRow() ) * Board.DEFAULT_COLS + c.getCol() ) * 3
+                + c.getRotation() / 120 ;
+    }
+
+    /**
+     * A play in the tree, and how it has done when it could be made.
+     */
+    static class Node {
+
+        final Node parent ;
+        final int move ;
+        final int seat ;
+        final List<Node> children = new ArrayList<Node>(4);
+
+        int visits ;
+        int available = 1 ;
+        double rewards ;
+
+        Node(Node parent, int move, int seat) {
+            this.parent = parent;
+            this.move = move;
+            this.seat = seat;
+        }
+
+        Node child(int move) {
+            for ( Node n : children ) {
+                if ( n.move == move )
+                    return n;
+            }
+            return null;
+        }
+
+        Node add(int move, int seat) {
+            Node n = new Node(this, move, seat);
+            children.add(n);
+            return n;
+        }
+
+        /**
+         * @return (double) the UCT value of the play, counting only the times it could be made
+         */
+        double value() {
+            return rewards / visits + EXPLORATION * Math.sqrt(Math.log(available) / visits);
+        }
+
+        void update(double reward) {
+            visits++ ;
+            rewards += reward ;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s:%d:%d", NAME, millis, iterations);
+    }
+}
@@ -21,8 +21,8 @@ package com.thirdsonsoftware;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Arrays;
+import java.util.Collections;
 
 enum Mode {
     RELEASE,
@@ -44,6 +44,36 @@ public class Player implements Serializable {
 
     final ArrayList<Tile> tray;       // The tray in the player's hand
 
+    private transient TrayIndex trayIndex ;  // The tray, indexed by the faces each tile presents
+
+    private boolean evaluateInParallel ;     // Score our candidate plays in parallel
+
+    private transient PlayerStrategy strategy ;  // How we choose which play to make
+
+    /**
+     * What a play made by makePlay() changed, so it can be taken back.
+     *   Records are reused, so a search allocates nothing once it has been
+     *   as deep before.
+     */
+    private static class Move {
+        Tile tile ;
+        Orientation orientation ;
+        Player playedBy ;
+        int rotation ;
+        int score ;
+        int trayPosition ;
+        final TrayIndex.Removal removal = new TrayIndex.Removal() ;
+
+        // The tiles with an empty face: was this one added, and which were removed from where
+        boolean addedToFaces ;
+        int removedFromFaces ;
+        final Tile[] faceTiles = new Tile[4] ;
+        final int[] facePositions = new int[4] ;
+    }
+
+    private transient ArrayList<Move> moves ;    // Plays that can be taken back, most recent last
+    private transient int moveCount ;
+
     /**
      * @param name - name of player
      */
@@ -111,10 +141,82 @@ public class Player implements Serializable {
         this.startingTile = startingTile;
     }
 
+    /**
+     * @return (ArrayList) the tiles in our tray, to read; tiles are added and
+     *   removed through addToTray() and removeFromTray(), which keep the
+     *   tray's index in step with it
+     */
     public ArrayList<Tile> getTray() {
         return tray;
     }
 
+    /**
+     * Adds a tile to the end of our tray.
+     * @param t - the tile
+     */
+    protected void addToTray(Tile t) {
+        getTrayIndex().add(t);
+        tray.add(t);
+    }
+
+    /**
+     * Removes a tile from our tray.
+     * @param t - the tile
+     * @return (boolean) true if it was in the tray
+     */
+    protected boolean removeFromTray(Tile t) {
+        int position = getTrayIndex().remove(t, null);
+        if ( position < 0 )
+            return false;
+        tray.remove(position);
+        return true;
+    }
+
+    /**
+     * Should we score our candidate plays in parallel each turn?
+     * @param evaluateInParallel - true to spread the scoring over the common fork/join pool
+     */
+    public void setEvaluateInParallel(boolean evaluateInParallel) {
+        this.evaluateInParallel = evaluateInParallel;
+    }
+
+    public boolean getEvaluateInParallel() {
+        return evaluateInParallel;
+    }
+
+    /**
+     * How this player chooses which play to make each turn.
+     * @param strategy - the strategy, or null for the greedy strategy
+     */
+    public void setStrategy(PlayerStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * @return (PlayerStrategy) how this player chooses which play to make
+     */
+    public PlayerStrategy getStrategy() {
+        if ( strategy == null )
+            strategy = new GreedyStrategy();
+        return strategy;
+    }
+
+    /**
+     * The tray, indexed by the faces each tile can present.  A tray filled
+     *   directly, as the tests do, is indexed the first time it's needed;
+     *   every other change goes through addToTray() and removeFromTray(), so
+     *   the index holds the same tiles as the tray, in the same order.
+     * @return (TrayIndex) the index of the tiles in our tray
+     */
+    protected TrayIndex getTrayIndex() {
+        if ( trayIndex == null )
+            trayIndex = new TrayIndex();
+        if ( trayIndex.size() != tray.size() )
+            trayIndex.rebuild(tray);
+        assert trayIndex.holds(tray) : "The tray index is out of step with " + name + "'s tray" ;
+        return trayIndex;
+    }
+
     /**
      * Pop the top tile from the pool
      * Assumes the pool has been properly shuffled for
@@ -126,8 +228,9 @@ public class Player implements Serializable {
         Tile t = tilePool.remove(0);
         t.setPlayer(this);
         Event.logEvent(EventType.DRAW_A_TILE,t,this,round);
-        Log.Info(String.format( "   Removing tile %s and adding it to %s's tray.", t, name ) );
-        return getTray().add(t);
+        Log.Info("   Removing tile %s and adding it to %s's tray.", t, name);
+        addToTray(t);
+        return true;
     }
 
     /**
@@ -201,150 +304,274 @@ public class Player implements Serializable {
      * @param board the board that a tile is placed on
      */
     public Tile playATile(Board board, ArrayList<Tile> playedTiles, ArrayList<Tile> tilesWithAvailableFaces ) {
+        return playATile(board, playedTiles, tilesWithAvailableFaces, null);
+    }
 
-        // Let's see if we have any choices to play
-        ArrayList<Choice> choicesToPlay = new ArrayList<Choice>();
+    /**
+     * Plays a tile from our tray, if we can.  We find the plays our tray
+     *   offers, and our strategy chooses which one to make.
+     * @param board - the board that a tile is placed on
+     * @param playedTiles - the tiles played so far
+     * @param tilesWithAvailableFaces - the tiles on the board with an empty face
+     * @param round - the round being played, or null
+     * @return (Tile) the tile played, or null if none could be
+     */
+    public Tile playATile(Board board, ArrayList<Tile> playedTiles, ArrayList<Tile> tilesWithAvailableFaces, Round round ) {
 
-        // If this is our first piece, add the first tile
-        if ( board.count() == 0 ) {
-            choicesToPlay.add(playFirstTile(board));
-        }
+        ArrayList<Choice> choicesToPlay = candidates(board);
 
-        Iterator<Tile> iTile = tilesWithAvailableFaces.iterator();
+        Tile tileToPlay = null ;
 
-        // Let's look at our played tiles and see if any have available faces...
-        //   Add all choices to the list so we can find the most valuable
-        while (iTile.hasNext()) {
+        // Let our strategy choose which of them to play
+        RoundContext context = new RoundContext(round, this, choicesToPlay, getEvaluateInParallel());
+        Choice topChoice = getStrategy().choose(board, Collections.unmodifiableList(getTray()), context);
 
-            Tile played = iTile.next();
+        if ( getMode() == Mode.DEBUG )
+            displayChoices("  Choices:",choicesToPlay);
 
-            if (getMode() == Mode.DEBUG)
-                Log.Debug("Tile to match:\n" + showTile(played));
+        // Do we have a top choice from the list of choices?
+        if ( topChoice != null ) {
 
-            int tileRow = played.getRow();
-            int tileCol = played.getCol();
+            int row   = topChoice.getRow() ;
+            int col   = topChoice.getCol() ;
 
-            Orientation playedTileOrientation = played.getOrientation();
-            int directionToLook = (playedTileOrientation == Orientation.UP) ? 1 : -1;
+            tileToPlay = topChoice.getTile();
 
-            boolean bWeCanLookLeft = (tileCol > 0);
-            boolean bWeCanLookRight = (tileCol < board.getNumberOfCols() - 1);
-            boolean bWeCanLookDown = ((directionToLook > 0) && (tileRow < board.getNumberOfRows() - 1));
-            boolean bWeCanLookUp = ((directionToLook < 0) && (tileRow > 0));
+            topChoice.setTestForFitOnly(false);
 
-            boolean bLeftFaceOpen = bWeCanLookLeft && (board.playedTiles[tileRow][tileCol - 1] == null);
-            boolean bRightFaceOpen = bWeCanLookRight && (tileCol > 0) && (board.playedTiles[tileRow][tileCol + 1] == null);
-            boolean bMiddleFaceOpen = (bWeCanLookDown || bWeCanLookUp) && (board.playedTiles[tileRow + directionToLook][tileCol] == null);
+            Log.Debug("  Top choice: %s", topChoice.getTile());
 
-            ArrayList<Choice> choicesForAFace;
+            if ( place(board, topChoice, tilesWithAvailableFaces, null) ) {
 
-            // Can we play any of our tiles to the left?
-            if (bLeftFaceOpen) {
-                choicesForAFace = getTileFromTrayForLeftFace(played, played.getLeftFace(), tileRow, tileCol - 1);
-                choicesToPlay.addAll(choicesForAFace);
-            }
+                Event.logEvent(EventType.PLACE_A_TILE, board.getRound(), topChoice.getTile());
 
-            // Can we play any of our tiles to the right?
-            if (bRightFaceOpen) {
-                choicesForAFace = getTileFromTrayForRightFace(played, played.getRightFace(), tileRow, tileCol + 1);
-                choicesToPlay.addAll(choicesForAFace);
-            }
+                Log.Debug(() -> board.display(false));
+                Log.Info("   Played tile '%s' at location (%d,%d).", tileToPlay, tileToPlay.getRow(), tileToPlay.getCol());
 
-            // Can we play any of our tiles up or down?
-            if (bMiddleFaceOpen) {
-                choicesForAFace = getTileFromTrayForMiddleFace(played, played.getMiddleFace(), tileRow + directionToLook, tileCol);
-                choicesToPlay.addAll(choicesForAFace);
+            } else {
+                // We can't place it, so let's not pretend we can!
+                Log.Info("--- Unable to place tile '%s' on board @ (%d,%d) with o:%s r:%d ---", tileToPlay, row, col, tileToPlay.getOrientation(), tileToPlay.getRow());
+                tileToPlay = null ;
             }
 
-            // If there are no more open faces, let's remove this tile from the list.
-            if ( !bLeftFaceOpen && !bRightFaceOpen && !bMiddleFaceOpen ) {
-                iTile.remove();
-            }
         }
 
-        int highestScore = -1 ;    // 0 is a valid score for tile '0-0-0'
-        Choice topChoice = null ;
-        Tile tileToPlay = null ;
+        // Ultimately, did we play a tile?
+        if ( tileToPlay == null ) {
 
-        // Spin through choices looking for the highest value or score
-        for ( Choice c : choicesToPlay ) {
+            Log.Debug("--- Player '%s' can't find a tile to play ---", this.getName());
 
-            c.setTestForFitOnly(true);
+            if ( Log.isDebugEnabled() ) {
 
-            // Test to see if the choice fits or not before deciding if it's worth it.
-            if ( board.pieceFits( c ) ) {
+                StringBuilder strTray = new StringBuilder("    No matches: ");
 
-                // Get value for a tile needs to include bonus scoring...
-                if (c.getScore() > highestScore) {
-                    highestScore = c.getScore();
-                    topChoice = c;
+                // Does the left face match a face on any of our tile's faces?
+                for (Tile trayTile : getTray()) {
+                    strTray.append(trayTile).append(",");
                 }
+
+                Log.Debug(strTray.toString());
             }
+
         }
 
-        if ( getMode() == Mode.DEBUG )
-            displayChoices("  Choices:",choicesToPlay);
+        return tileToPlay;
+    }
 
-        // Do we have a top choice from the list of choices?
-        if ( topChoice != null ) {
+    /**
+     * Places a chosen tile from our tray on the board, and keeps our score,
+     *   our tray and the tiles with an empty face up to date.
+     * @param board - the board the tile is placed on
+     * @param choice - the tile, and where and how to place it
+     * @param tilesWithAvailableFaces - the tiles on the board with an empty face
+     * @param move - where to record what changed, or null
+     * @return (boolean) true if the tile was placed, false if it doesn't fit
+     */
+    private boolean place(Board board, Choice choice, ArrayList<Tile> tilesWithAvailableFaces, Move move) {
+
+        Tile tileToPlay = choice.getTile();
+        int row = choice.getRow();
+        int col = choice.getCol();
+
+        if ( move != null ) {
+            move.tile = tileToPlay ;
+            move.orientation = tileToPlay.getOrientation() ;
+            move.rotation = tileToPlay.getRotation() ;
+            move.playedBy = tileToPlay.getPlayer() ;
+            move.score = getScore() ;
+            move.addedToFaces = false ;
+            move.removedFromFaces = 0 ;
+        }
 
-            int row   = topChoice.getRow() ;
-            int col   = topChoice.getCol() ;
+        tileToPlay.setOrientation(choice.getOrientation());
+        tileToPlay.setRotation(choice.getRotation());
+        tileToPlay.setPlayer(this);
 
-            tileToPlay = topChoice.getTile();
+        if ( !board.placeTile(choice) ) {
+            if ( move != null ) {
+                tileToPlay.setOrientation(move.orientation);
+                tileToPlay.setRotation(move.rotation);
+                tileToPlay.setPlayer(move.playedBy);
+            }
+            return false;
+        }
 
-            tileToPlay.setOrientation(topChoice.getOrientation());
-            tileToPlay.setRotation(topChoice.getRotation());
-            tileToPlay.setPlayer(this);
+        this.setScore(this.getScore()+choice.getScore());
+
+        // The index keeps the tiles in tray order, so it knows where the tile is
+        int position = getTrayIndex().remove(tileToPlay, ( move == null ) ? null : move.removal);
+        if ( position >= 0 )
+            tray.remove(position);
+        if ( move != null )
+            move.trayPosition = position ;
+
+        // We found a tile to play, so let's add it to the list
+        if ( tileHasAnEmptyFace(board, tileToPlay) ) {
+            Log.Debug("  Tile added to empty faces pool: %s", tileToPlay);
+            tilesWithAvailableFaces.add(tileToPlay);
+            if ( move != null )
+                move.addedToFaces = true ;
+        } else {
+            Log.Debug("  Tile removed from empty faces pool: %s", tileToPlay);
+            removeFromFaces(tileToPlay, tilesWithAvailableFaces, move);
+        }
 
-            topChoice.setTestForFitOnly(false);
+        // The tiles sharing a face with it may have just lost their last open face
+        removeIfNoEmptyFace(board, row, col - 1, tilesWithAvailableFaces, move);
+        removeIfNoEmptyFace(board, row, col + 1, tilesWithAvailableFaces, move);
+        removeIfNoEmptyFace(board, row + ( ( tileToPlay.getOrientation() == Orientation.UP ) ? 1 : -1 ), col, tilesWithAvailableFaces, move);
 
-            Log.Debug("  Top choice: " + topChoice.getTile());
+        return true;
+    }
 
-            if ( board.placeTile(topChoice)) {
+    /**
+     * Makes a play for a search: the tile is placed as it would be in the
+     *   game, but nothing is logged or recorded as an event, and the play can
+     *   be taken back with unmakePlay().
+     * @param board - the board the tile is placed on
+     * @param choice - the tile, and where and how to place it, tested for fit only
+     * @param tilesWithAvailableFaces - the tiles on the board with an empty face
+     * @return (boolean) true if the tile was placed, false if it doesn't fit
+     */
+    public boolean makePlay(Board board, Choice choice, ArrayList<Tile> tilesWithAvailableFaces) {
+        if ( moves == null )
+            moves = new ArrayList<Move>();
+        if ( moveCount == moves.size() )
+            moves.add(new Move());
+        if ( !place(board, choice, tilesWithAvailableFaces, moves.get(moveCount)) )
+            return false;
+        moveCount++ ;
+        return true;
+    }
 
-                Event.logEvent(EventType.PLACE_A_TILE, board.getRound(), topChoice.getTile());
+    /**
+     * Takes back our last play made by makePlay().  The board, the tile, our
+     *   score, our tray (in its order) and the tiles with an empty face are
+     *   all left exactly as they were before it.
+     * @param board - the board the tile was placed on
+     * @param tilesWithAvailableFaces - the tiles on the board with an empty face
+     * @return (Tile) the tile taken back, or null if there is no play to take back
+     */
+    public Tile unmakePlay(Board board, ArrayList<Tile> tilesWithAvailableFaces) {
 
-                this.setScore(this.getScore()+topChoice.getScore());
+        if ( moveCount == 0 )
+            return null;
 
-                getTray().remove(tileToPlay);
-                Log.Debug(board.display(false));
-                Log.Info(String.format("   Played tile '%s' at location (%d,%d).", tileToPlay, tileToPlay.getRow(), tileToPlay.getCol()));
+        Move move = moves.get(--moveCount);
+        Tile tile = move.tile ;
 
-                // We found a tile to play, so let's add it to the list
-                if ( tileHasAnEmptyFace(board, tileToPlay) ) {
-                    Log.Debug("  Tile added to empty faces pool: " + tileToPlay );
-                    tilesWithAvailableFaces.add(tileToPlay);
-                } else {
-                    Log.Debug("  Tile removed from empty faces pool: " + tileToPlay );
-                    tilesWithAvailableFaces.remove(tileToPlay);
-                }
+        for ( int i = move.removedFromFaces - 1; i >= 0; i-- )
+            tilesWithAvailableFaces.add(move.facePositions[i], move.faceTiles[i]);
+        if ( move.addedToFaces )
+            tilesWithAvailableFaces.remove(tilesWithAvailableFaces.size() - 1);
 
-            } else {
-                // We can't place it, so let's not pretend we can!
-                Log.Info(String.format("--- Unable to place tile '%s' on board @ (%d,%d) with o:%s r:%d ---", tileToPlay, row, col, tileToPlay.getOrientation(), tileToPlay.getRow() ) );
-                tileToPlay = null ;
-            }
+        if ( move.trayPosition >= 0 ) {
+            getTrayIndex().restore(move.removal);
+            tray.add(move.trayPosition, tile);
+        }
+        setScore(move.score);
+
+        board.unplaceTile();
+        tile.setOrientation(move.orientation);
+        tile.setRotation(move.rotation);
+        tile.setPlayer(move.playedBy);
+
+        move.tile = null ;
+        Arrays.fill(move.faceTiles, null);
+        move.playedBy = null ;
+        return tile;
+    }
 
+    /**
+     * Removes a tile from the tiles with an empty face, if it's there.
+     * @param tile - the tile to remove
+     * @param tilesWithAvailableFaces - the tiles on the board with an empty face
+     * @param move - where to record the removal, or null
+     */
+    private void removeFromFaces(Tile tile, ArrayList<Tile> tilesWithAvailableFaces, Move move) {
+        int position = tilesWithAvailableFaces.indexOf(tile);
+        if ( position < 0 )
+            return;
+        tilesWithAvailableFaces.remove(position);
+        if ( move != null ) {
+            move.faceTiles[move.removedFromFaces] = tile ;
+            move.facePositions[move.removedFromFaces++] = position ;
         }
+    }
 
-        // Ultimately, did we play a tile?
-        if ( tileToPlay == null ) {
+    /**
+     * Finds the plays our tray offers: the first tile, if the board is empty,
+     *   or a tile matching a face that borders each open slot.  The plays are
+     *   not yet tested for fit.
+     * @param board - the board that a tile is placed on
+     * @return (ArrayList) the plays our tray offers
+     */
+    protected ArrayList<Choice> candidates(Board board) {
 
-            Log.Debug(String.format("--- Player '%s' can't find a tile to play ---", this.getName()));
+        // Let's see if we have any choices to play
+        ArrayList<Choice> choicesToPlay = new ArrayList<Choice>();
 
-            StringBuilder strTray = new StringBuilder("    No matches: ");
+        // If this is our first piece, add the first tile
+        if ( board.count() == 0 ) {
+            choicesToPlay.add(playFirstTile(board));
+        }
 
-            // Does the left face match a face on any of our tile's faces?
-            for (Tile trayTile : getTray()) {
-                strTray.append(trayTile).append(",");
+        // Let's look at the open slots on the board and see which of our tiles
+        //   match the faces that border them.  Add all choices to the list so
+        //   we can find the most valuable
+        for ( int slot = 0; slot < board.getFrontierSize(); slot++ ) {
+
+            int row   = board.getFrontierRow(slot);
+            int col   = board.getFrontierCol(slot);
+            int sides = board.getFrontierSides(slot);
+
+            // Can we play any of our tiles to the right of the tile on our left?
+            if ( ( sides & Board.FRONTIER_LEFT ) != 0 ) {
+                Tile played = board.pieceAtLocation(row, col - 1);
+                if (getMode() == Mode.DEBUG)
+                    Log.Debug(() -> "Tile to match:\n" + showTile(played));
+                choicesToPlay.addAll(getTileFromTrayForRightFace(played, played.getRightFaceCode(), row, col));
             }
 
-            Log.Debug(strTray.toString());
+            // Can we play any of our tiles to the left of the tile on our right?
+            if ( ( sides & Board.FRONTIER_RIGHT ) != 0 ) {
+                Tile played = board.pieceAtLocation(row, col + 1);
+                if (getMode() == Mode.DEBUG)
+                    Log.Debug(() -> "Tile to match:\n" + showTile(played));
+                choicesToPlay.addAll(getTileFromTrayForLeftFace(played, played.getLeftFaceCode(), row, col));
+            }
 
+            // Can we play any of our tiles above or below the tile sharing our middle face?
+            if ( ( sides & Board.FRONTIER_MIDDLE ) != 0 ) {
+                int directionToLook = ( board.getOrientationForPositionOnBoard(row, col) == Orientation.UP ) ? 1 : -1 ;
+                Tile played = board.pieceAtLocation(row + directionToLook, col);
+                if (getMode() == Mode.DEBUG)
+                    Log.Debug(() -> "Tile to match:\n" + showTile(played));
+                choicesToPlay.addAll(getTileFromTrayForMiddleFace(played, played.getMiddleFaceCode(), row, col));
+            }
         }
 
-        return tileToPlay;
+        return choicesToPlay;
     }
 
     /**
@@ -366,53 +593,35 @@ public class Player implements Serializable {
      *  |    |++++v
      *
      * @param played - the tile played that we are trying to match
-     * @param middleFace - the middle face we are trying to match
+     * @param middleFace - the code of the middle face we are trying to match
      * @param row - the row where the tile is played
      * @param col - the column where the tile is played
      * @return (ArrayList<Choice>) the list of possible choices to be played
      */
-    private ArrayList<Choice>  getTileFromTrayForMiddleFace(Tile played, Face middleFace, int row, int col) {
+    private ArrayList<Choice>  getTileFromTrayForMiddleFace(Tile played, int middleFace, int row, int col) {
 
         ArrayList<Choice> choices = new ArrayList<>();
-        boolean aMatchWasFound ;
 
         Orientation orientationOfTileToMatch = played.getOrientation();
         Orientation orientationOfTrayTile = (orientationOfTileToMatch==Orientation.UP) ? Orientation.DOWN : Orientation.UP;
 
-        // Does the left face match a face on any of our tile's faces?
-        for (Tile trayTile : getTray()) {
-
-            // Always compare with a known orientation to make things simpler
-            trayTile.setOrientation(orientationOfTrayTile);
-            trayTile.setRotation(0);
+        // Which of our tiles, turned which way, present a matching face on this side?
+        for (TrayIndex.Entry match : getTrayIndex().matching(orientationOfTrayTile, TrayIndex.MIDDLE, middleFace)) {
 
-            // Assume we are going to play this one
-            aMatchWasFound = true ;
+            Tile trayTile = match.getTile();
 
-            // Compare all the faces
-            if (trayTile.getLeftFace().match(middleFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 240 : 120);
-            } else if (trayTile.getRightFace().match(middleFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 120 : 240);
-            } else if (trayTile.getMiddleFace().match(middleFace)) {
-                trayTile.setRotation(0);
-            } else {
-                aMatchWasFound = false ;
-            }
-
-            // Assume we are going to play this one
-            if ( aMatchWasFound ) {
-                if ( getMode() == Mode.DEBUG ) {
-                    if (orientationOfTileToMatch == Orientation.UP) {
-                        Log.Info("== Match Face Below ==");
-                        Log.Info(showTwoTilesTopAndBottom(played, trayTile));
-                    } else {
-                        Log.Info("== Match Face Above ==");
-                        Log.Info(showTwoTilesTopAndBottom(trayTile, played));
-                    }
+            if ( getMode() == Mode.DEBUG ) {
+                trayTile.setOrientation(orientationOfTrayTile);
+                trayTile.setRotation(match.getRotation());
+                if (orientationOfTileToMatch == Orientation.UP) {
+                    Log.Info("== Match Face Below ==");
+                    Log.Info(() -> showTwoTilesTopAndBottom(played, trayTile));
+                } else {
+                    Log.Info("== Match Face Above ==");
+                    Log.Info(() -> showTwoTilesTopAndBottom(trayTile, played));
                 }
-                choices.add(new Choice( trayTile, row, col, trayTile.getOrientation(), trayTile.getRotation()));
             }
+            choices.add(new Choice( trayTile, row, col, orientationOfTrayTile, match.getRotation()));
         }
         return choices;
     }
@@ -431,46 +640,30 @@ public class Player implements Serializable {
      *  |    |++++ v -------
      *
      * @param played - the tile played that we are trying to match
-     * @param rightFace - the right face we are trying to match
+     * @param rightFace - the code of the right face we are trying to match
      * @param row - the row where the tile is played
      * @param col - the column where the tile is played
      * @return (ArrayList<Choice>) the list of possible choices to be played
      */
-    private ArrayList<Choice>  getTileFromTrayForRightFace(Tile played, Face rightFace, int row, int col) {
+    private ArrayList<Choice>  getTileFromTrayForRightFace(Tile played, int rightFace, int row, int col) {
 
         ArrayList<Choice> choices = new ArrayList<>();
-        boolean aMatchWasFound ;
 
         Orientation orientationOfTileToMatch = played.getOrientation();
         Orientation orientationOfTrayTile = (orientationOfTileToMatch==Orientation.UP) ? Orientation.DOWN : Orientation.UP;
 
-        // Does the left face match a face on any of our tile's faces?
-        for (Tile trayTile : getTray()) {
+        // Which of our tiles, turned which way, present a matching face on this side?
+        for (TrayIndex.Entry match : getTrayIndex().matching(orientationOfTrayTile, TrayIndex.LEFT, rightFace)) {
 
-            // Always compare with a known orientation to make things simpler
-            trayTile.setOrientation(orientationOfTrayTile);
-            trayTile.setRotation(0);
+            Tile trayTile = match.getTile();
 
-            aMatchWasFound = true ;
-
-            // Compare all the faces
-            if (trayTile.getLeftFace().match(rightFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 0 : 0);
-            } else if (trayTile.getRightFace().match(rightFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 240 : 120);
-            } else if (trayTile.getMiddleFace().match(rightFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 120 : 240);
-            } else {
-                aMatchWasFound = false ;
-            }
-
-            if ( aMatchWasFound ) {
-                if ( getMode() == Mode.DEBUG ) {
-                    Log.Info("== Match Right Face ==");
-                    Log.Info(showTwoTilesLeftAndRight(played, trayTile));
-                }
-                choices.add(new Choice( trayTile, row, col, trayTile.getOrientation(), trayTile.getRotation()));
+            if ( getMode() == Mode.DEBUG ) {
+                trayTile.setOrientation(orientationOfTrayTile);
+                trayTile.setRotation(match.getRotation());
+                Log.Info("== Match Right Face ==");
+                Log.Info(() -> showTwoTilesLeftAndRight(played, trayTile));
             }
+            choices.add(new Choice( trayTile, row, col, orientationOfTrayTile, match.getRotation()));
         }
         return choices;
     }
@@ -489,50 +682,51 @@ public class Player implements Serializable {
      *  |    |+ ------- v
      *
      * @param played - the tile played that we are trying to match
-     * @param leftFace - the left face we are trying to match
+     * @param leftFace - the code of the left face we are trying to match
      * @param row - the row where the tile is played
      * @param col - the column where the tile is played
      * @return (ArrayList<Choice>) the list of possible choices to be played
      */
-    private ArrayList<Choice> getTileFromTrayForLeftFace(Tile played, Face leftFace, int row, int col) {
+    private ArrayList<Choice> getTileFromTrayForLeftFace(Tile played, int leftFace, int row, int col) {
 
         ArrayList<Choice> choices = new ArrayList<>();
-        boolean aMatchWasFound ;
 
         Orientation orientationOfTileToMatch = played.getOrientation();
-        Orientation orientationOfTrayTile    = (orientationOfTileToMatch==Orientation.UP) ? Orientation.DOWN : Orientation.UP;
-
-        // Does the left face match a face on any of our tile's faces?
-        for (Tile trayTile : getTray()) {
+        Orientation orientationOfTrayTile = (orientationOfTileToMatch==Orientation.UP) ? Orientation.DOWN : Orientation.UP;
 
-            // Make sure our tile in our tray is properly oriented to match
-            trayTile.setOrientation(orientationOfTrayTile);
-            trayTile.setRotation(0);
+        // Which of our tiles, turned which way, present a matching face on this side?
+        for (TrayIndex.Entry match : getTrayIndex().matching(orientationOfTrayTile, TrayIndex.RIGHT, leftFace)) {
 
-            aMatchWasFound = true ;
+            Tile trayTile = match.getTile();
 
-            // Compare all the faces
-            if (trayTile.getLeftFace().match(leftFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 120 : 240);
-            } else if (trayTile.getRightFace().match(leftFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 0 : 0);
-            } else if (trayTile.getMiddleFace().match(leftFace)) {
-                trayTile.setRotation((orientationOfTrayTile == Orientation.UP) ? 240 : 120);
-            } else {
-                aMatchWasFound = false ;
+            if ( getMode() == Mode.DEBUG ) {
+                trayTile.setOrientation(orientationOfTrayTile);
+                trayTile.setRotation(match.getRotation());
+                Log.Info("== Match Left Face ==");
+                Log.Info(() -> showTwoTilesLeftAndRight(trayTile, played));
             }
+            choices.add(new Choice( trayTile, row, col, orientationOfTrayTile, match.getRotation()));
+        }
+        return choices;
+    }
 
-            // Assume we are going to play this one
-            if ( aMatchWasFound ) {
-                if ( getMode() == Mode.DEBUG ) {
-                    Log.Info("== Match Left Face ==");
-                    Log.Info(showTwoTilesLeftAndRight(trayTile, played));
-                }
-                choices.add(new Choice( trayTile, row, col, trayTile.getOrientation(), trayTile.getRotation()));
+    /**
+     * Removes the tile at this location from the pool of tiles with empty faces
+     *   once all of its faces are covered.
+     * @param board - the board that the tile is played on
+     * @param row - the row of the tile
+     * @param col - the column of the tile
+     * @param tilesWithAvailableFaces - the pool of tiles with empty faces
+     * @param move - where to record the removal, or null
+     */
+    private void removeIfNoEmptyFace(Board board, int row, int col, ArrayList<Tile> tilesWithAvailableFaces, Move move) {
+        if ( board.isOccupied(row, col) ) {
+            Tile neighbor = board.pieceAtLocation(row, col);
+            if ( !tileHasAnEmptyFace(board, neighbor) ) {
+                Log.Debug("  Tile removed from empty faces pool: %s", neighbor);
+                removeFromFaces(neighbor, tilesWithAvailableFaces, move);
             }
-
         }
-        return choices;
     }
 
     /**
@@ -554,9 +748,9 @@ public class Player implements Serializable {
         boolean bWeCanLookDown  = ( ( directionToLook > 0 ) && ( tileRow < board.getNumberOfRows()-1 ) );
         boolean bWeCanLookUp    = ( ( directionToLook < 0 ) && ( tileRow > 0 ) ) ;
 
-        boolean bLeftFaceOpen = bWeCanLookLeft && ( board.playedTiles[tileRow][tileCol - 1] == null ) ;
-        boolean bRightFaceOpen = bWeCanLookRight && ( tileCol > 0 ) && ( board.playedTiles[tileRow][tileCol + 1] == null ) ;
-        boolean bMiddleFaceOpen = ( bWeCanLookDown || bWeCanLookUp ) && ( board.playedTiles[tileRow + directionToLook][tileCol] == null ) ;
+        boolean bLeftFaceOpen = bWeCanLookLeft && ( !board.isOccupied(tileRow, tileCol - 1) ) ;
+        boolean bRightFaceOpen = bWeCanLookRight && ( tileCol > 0 ) && ( !board.isOccupied(tileRow, tileCol + 1) ) ;
+        boolean bMiddleFaceOpen = ( bWeCanLookDown || bWeCanLookUp ) && ( !board.isOccupied(tileRow + directionToLook, tileCol) ) ;
 
         return ( bLeftFaceOpen || bRightFaceOpen || bMiddleFaceOpen ) ;
     }
@@ -0,0 +1,84 @@
+package com.thirdsonsoftware;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Decides which play a player makes on their turn.  The player finds the
+ *   plays its tray offers (see RoundContext.getCandidates()), and the
+ *   strategy picks one of them.  Each seat can be given a strategy of its
+ *   own, so strategies can be played against each other from the same seed.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Chooses the play to make this turn.
+     * @param board - the board, which can be looked at but not changed
+     * @param tray - the tiles in the player's tray, which can't be changed
+     * @param context - the round being played, and the plays open to the player
+     * @return (Choice) one of the candidates, scored, or null if none of them fit
+     */
+    Choice choose(BoardView board, List<Tile> tray, RoundContext context);
+
+    /**
+     * @return (String) the name the strategy is chosen by
+     */
+    String getName();
+
+    /**
+     * Tests whether a choice fits on the board, and scores it if it does.
+     *   Neither the tile nor the board is touched, so choices can be scored
+     *   at the same time.
+     * @param board - the board the tile would be placed on
+     * @param c - the choice to score
+     * @return (boolean) true if the choice fits, false otherwise
+     */
+    static boolean fitsAndIsScored(BoardView board, Choice c) {
+
+        c.setTestForFitOnly(true);
+
+        // Test to see if the choice fits or not before deciding if it's worth it.
+        if ( board.fits( c.getTile(), c.getOrientation(), c.getRotation(), c.getRow(), c.getCol() ) ) {
+
+            // Get value for a tile needs to include bonus scoring...
+            c.setScore( board.score( c.getTile(), c.getOrientation(), c.getRow(), c.getCol() ) );
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Makes a new strategy by name, unseeded.
+     * @param name - the name of the strategy
+     * @return (PlayerStrategy) a strategy of its own, for one seat
+     * @throws IllegalArgumentException if there is no strategy by that name
+     * @see #named(String, SplittableRandom)
+     */
+    static PlayerStrategy named(String name) {
+        return named(name, new SplittableRandom());
+    }
+
+    /**
+     * Makes a new strategy by name.  A searching strategy can be given its
+     *   budgets after its name, as in 'mcts:500' or 'mcts:500:20000', and
+     *   guesses at the hidden tiles from the random given, so a seeded game
+     *   can be played again.
+     * @param name - the name of the strategy
+     * @param random - the source of randomness for a searching strategy
+     * @return (PlayerStrategy) a strategy of its own, for one seat
+     * @throws IllegalArgumentException if there is no strategy by that name
+     */
+    static PlayerStrategy named(String name, SplittableRandom random) {
+        String spec = name.trim().toLowerCase();
+        switch ( spec.split(":")[0] ) {
+            case GreedyStrategy.NAME:
+                return new GreedyStrategy();
+            case MctsStrategy.NAME:
+                return MctsStrategy.parse(spec, random);
+            case ExpectimaxStrategy.NAME:
+                return ExpectimaxStrategy.parse(spec, random);
+            default:
+                throw new IllegalArgumentException(String.format("Unknown player strategy '%s'", name));
+        }
+    }
+}
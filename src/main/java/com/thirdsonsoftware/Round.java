@@ -3,6 +3,7 @@ package com.thirdsonsoftware;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.SplittableRandom;
 
 /**
  * The game of Triominos is composed of a series of Rounds.
@@ -17,6 +18,9 @@ public class Round implements Serializable {
 
     static public final int BONUS_EMPTY_TRAY = 25 ;
 
+    // The number of tiles in the pool, given ids 1 through 56 by generateTiles()
+    static final int NUMBER_OF_TILES = 56 ;
+
     // The number of draws are dependent on the number of players
     private int numDraws;
 
@@ -38,7 +42,24 @@ public class Round implements Serializable {
     // Setup for pieces that have faces empty
     private ArrayList<Tile> piecesOnBoardWithEmptyFaces ;
 
+    // The source of randomness for shuffling the tile pool
+    private transient SplittableRandom random ;
+
+    // Should the round be played without showing the board, trays and pool?
+    private boolean headless = false ;
+
     public Round(int roundNumber, ArrayList<Player> players ) {
+        this(roundNumber, players, new SplittableRandom());
+    }
+
+    /**
+     * A round whose tile pool is shuffled from the random source provided.
+     *   Given the same source, the round deals the same tiles every time.
+     * @param roundNumber - the number of this round in the game
+     * @param players - the players playing the round
+     * @param random - the source of randomness for shuffling the tile pool
+     */
+    public Round(int roundNumber, ArrayList<Player> players, SplittableRandom random ) {
 
         // Setup the roundNumber
         this.roundNumber = roundNumber;
@@ -46,6 +67,9 @@ public class Round implements Serializable {
         // Let's keep the list of players for each round
         this.players = players ;
 
+        // Keep our own source of randomness, so rounds never share one
+        this.random = random ;
+
         // Setup the board to place the tiles
         board = new Board();
         board.setRound(getRoundNumber());
@@ -73,6 +97,19 @@ public class Round implements Serializable {
         return roundNumber;
     }
 
+    /**
+     * A headless round is played without ever rendering the board, the trays
+     *   or the tile pool, so it costs only the game itself.
+     * @param headless - true to skip showing the round as it is played
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
     protected ArrayList<Player> hasWon() {
         ArrayList<Player> pWon = new ArrayList<Player>();
         for ( Player p : getPlayers() ) {
@@ -141,17 +178,18 @@ public class Round implements Serializable {
         player = firstPlayer ;
 
         // Let's show the game board to everyone!
-        Log.Info(this.toString());
+        if ( !headless )
+            Log.Info(this::toString);
 
         // Gameplay continues until all players can't play
         int blockedPlayerCount = 0 ;
         boolean playBlocked = false ;
         while ( !playBlocked && ( hasAnEmptyTray() == null ) && ( hasWon().size() == 0 ) ) {
 
-            Log.Info(String.format(" Turn %d by %s ...",turn++,player.getName()));
+            Log.Info(" Turn %d by %s ...",turn++,player.getName());
 
             // Keep running through the players
-            tilePlayed = player.playATile(getBoard(),getPiecesPlayed(),getPiecesOnBoardWithEmptyFaces());
+            tilePlayed = player.playATile(getBoard(),getPiecesPlayed(),getPiecesOnBoardWithEmptyFaces(),this);
 
             // If the player played a tile, let's update the necessary elements
             if ( tilePlayed != null ) {
@@ -174,7 +212,7 @@ public class Round implements Serializable {
                     player.setScore(player.getScore() - 5);
 
                     Log.Info("   Unable to play a tile, deducting 5 points and drawing another tile.");
-                    Log.Debug( String.format("Player %s's score is now %d.",player.getName(),player.getScore()));
+                    Log.Debug("Player %s's score is now %d.",player.getName(),player.getScore());
 
                     // Choose a new tile for the player
                     player.drawTile(tiles,getRoundNumber());
@@ -188,7 +226,7 @@ public class Round implements Serializable {
                     player.setScore(player.getScore() - 10);
 
                     Log.Info("   Unable to play a tile, and more more tiles in the pool.  Deducting 10 points.");
-                    Log.Debug( String.format("Player %s's score is now %d.",player.getName(),player.getScore()));
+                    Log.Debug("Player %s's score is now %d.",player.getName(),player.getScore());
                 }
 
                 // Let's start incrementing the blocked count
@@ -213,7 +251,7 @@ public class Round implements Serializable {
             pRoundWinner.setScore(pRoundWinner.getScore()+pointsTotalFromOtherPlayersTrays(pRoundWinner));
             pRoundWinner.setWonAGameCount(pRoundWinner.getWonAGameCount()+1);
             Event.logEvent(EventType.WIN_A_ROUND_BY_EMPTY_TRAY,this, pRoundWinner);
-            Log.Info(String.format("  Player '%s' won this round by playing all of their tiles.", pRoundWinner.getName()));
+            Log.Info("  Player '%s' won this round by playing all of their tiles.", pRoundWinner.getName());
 
         // Else, the player with the fewest tiles at the end of the Round wins and
         // gets the value of all the tiles in the other player's trays.
@@ -222,7 +260,7 @@ public class Round implements Serializable {
             pRoundWinner = getPlayerWithFewestTiles() ;
             pRoundWinner.setScore(pRoundWinner.getScore()+pointsTotalFromOtherPlayersTrays(pRoundWinner));
             Event.logEvent(EventType.WIN_A_ROUND_BY_FEWEST_TILES,this, pRoundWinner);
-            Log.Info( String.format("  Player '%s' won this round with the fewest tiles remaining in their tray.", pRoundWinner.getName()));
+            Log.Info("  Player '%s' won this round with the fewest tiles remaining in their tray.", pRoundWinner.getName());
         }
 
         // Do we have a winner of the game yet?
@@ -261,10 +299,11 @@ public class Round implements Serializable {
 
         // The Round is over...let's account for points.
         Log.Info("\n\n ==== ROUND OVER === \n\n");
-        Log.Info(this.toString());
+        if ( !headless )
+            Log.Info(this::toString);
 
         if ( pWinner != null )
-            Log.Info(String.format("Player '%s' has won the game by scoring %d points!  Congratulations!",pWinner.getName(),pWinner.getScore() ) ) ;
+            Log.Info("Player '%s' has won the game by scoring %d points!  Congratulations!",pWinner.getName(),pWinner.getScore());
 
         return pWinner ;
     }
@@ -362,7 +401,7 @@ public class Round implements Serializable {
         // Draw tray for each player, taking turns
         Log.Info(" Drawing tiles for each player's tray...");
         for ( int draw = 0; draw < getNumDraws(); draw++ ) {
-            Log.Info(String.format("  Draw %s", draw ));
+            Log.Info("  Draw %s", draw);
             for ( Player p : getPlayers() ) {
                 p.drawTile(getTiles(),getRoundNumber());
             }
@@ -371,14 +410,21 @@ public class Round implements Serializable {
 
     /**
      * Shuffles the tiles in the tile pool so that we randomize the picking order.
+     *   The shuffle is a Fisher-Yates shuffle driven by this round's own
+     *   random source, so a seeded round always shuffles the same way.
      */
     protected void shuffleTilePool() {
 
         Event.logEvent(EventType.SHUFFLE_TILES,this);
 
+        // A round restored from a saved game has no random source
+        if ( random == null )
+            random = new SplittableRandom();
+
         // Shuffle the tray for randomized picking
         Log.Info(" Shuffelling tile pool...");
-        Collections.shuffle(tiles);
+        for ( int i = tiles.size() - 1; i > 0; i-- )
+            Collections.swap(tiles, i, random.nextInt(i + 1));
     }
     /**
      * Scans through the list of players, looking at each ones tray,
@@ -409,14 +455,14 @@ public class Round implements Serializable {
             tile = p.determineFirstTile() ;
 
             if ( tile.getValue() == 0 ) {
-                Log.Info(String.format("  Player '%s' has tile '%s'!", p.getName(), tile ));
+                Log.Info("  Player '%s' has tile '%s'!", p.getName(), tile);
                 startTile = tile ;
                 first = p ;
                 break;
             } else if ( tile.isTriplet() ) {
                 if ( ( highestTriplet == null ) ||
                         ( tile.getValue() > highestTriplet.getValue() ) ) {
-                    Log.Info(String.format("  Player '%s' has highest triplet tile '%s' so far...", p.getName(), tile ));
+                    Log.Info("  Player '%s' has highest triplet tile '%s' so far...", p.getName(), tile);
                     startTile = tile ;
                     highestTriplet = tile ;
                     first = p ;
@@ -425,7 +471,7 @@ public class Round implements Serializable {
                 if ( ( highestTriplet == null ) &&
                         ( ( highestValue == null )  ||
                                 ( tile.getValue() > highestValue.getValue() ) ) ) {
-                    Log.Info(String.format("  Player '%s' has highest value tile '%s' so far...", p.getName(), tile ));
+                    Log.Info("  Player '%s' has highest value tile '%s' so far...", p.getName(), tile);
                     startTile = tile ;
                     highestValue = tile ;
                     first = p ;
@@ -437,7 +483,7 @@ public class Round implements Serializable {
         for ( Player p : players )
             p.setStarts( p == first );
 
-        Log.Info(String.format("  Player '%s' will start with tile '%s'.",first.getName(),startTile));
+        Log.Info("  Player '%s' will start with tile '%s'.",first.getName(),startTile);
         return first;
     }
 
@@ -455,6 +501,16 @@ public class Round implements Serializable {
      */
     protected void generateTiles() {
         Event.logEvent(EventType.GENERATE_TILES,this);
+        tiles.addAll(tileSet());
+    }
+
+    /**
+     * The complete set of 56 tiles, in id order, each pointing up with no
+     *   rotation.
+     * @return (ArrayList<Tile>) a new set of tiles, ids 1 through 56
+     */
+    static ArrayList<Tile> tileSet() {
+        ArrayList<Tile> tiles = new ArrayList<Tile>(NUMBER_OF_TILES);
                                                          // The 56-pieces generated should match this table
         int id = 1 ;                                     // -----------------------------------------------
         int cStart ;                                     // 01 0-0-0 1-1-1 2-2-2 3-3-3 4-4-4 5-5-4
@@ -478,6 +534,7 @@ public class Round implements Serializable {
                 }                                        // 19 0-4-4
             }                                            // 20 0-4-5
         }                                                // 21 0-5-5
+        return tiles;
     }
 
 
@@ -0,0 +1,92 @@
+package com.thirdsonsoftware;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a player's strategy may know about the round when it chooses a
+ *   play: the plays open to it, the scores and tray sizes of every seat,
+ *   how many tiles are left to draw, and the tiles already played.  The
+ *   other trays and the order of the pool stay hidden.
+ */
+public class RoundContext {
+
+    private final Round round ;
+    private final int seat ;
+    private final List<Choice> candidates ;
+    private final boolean evaluateInParallel ;
+
+    /**
+     * @param round - the round being played, or null if the player is playing outside of one
+     * @param player - the player choosing a play
+     * @param candidates - the plays the player's tray offers, not yet tested for fit
+     * @param evaluateInParallel - may the candidates be scored in parallel?
+     */
+    public RoundContext(Round round, Player player, List<Choice> candidates, boolean evaluateInParallel) {
+        this.round = round;
+        this.seat = ( round == null ) ? 0 : Math.max(0, round.getPlayers().indexOf(player));
+        this.candidates = Collections.unmodifiableList(candidates);
+        this.evaluateInParallel = evaluateInParallel;
+    }
+
+    /**
+     * @return (List) the plays the player's tray offers, not yet tested for fit
+     */
+    public List<Choice> getCandidates() {
+        return candidates;
+    }
+
+    public boolean isEvaluateInParallel() {
+        return evaluateInParallel;
+    }
+
+    /**
+     * @return (int) the number of the round, or 0 if there is no round
+     */
+    public int getRoundNumber() {
+        return ( round == null ) ? 0 : round.getRoundNumber();
+    }
+
+    /**
+     * @return (int) the seat of the player choosing a play
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * @return (int) the number of seats at the table, or 0 if there is no round
+     */
+    public int getPlayerCount() {
+        return ( round == null ) ? 0 : round.getPlayers().size();
+    }
+
+    /**
+     * @return (int) the score of the player in the seat, or 0 if there is no round
+     */
+    public int getScore(int seat) {
+        return ( round == null ) ? 0 : round.getPlayers().get(seat).getScore();
+    }
+
+    /**
+     * @return (int) the number of tiles in the tray of the player in the seat, or 0 if there is no round
+     */
+    public int getTraySize(int seat) {
+        return ( round == null ) ? 0 : round.getPlayers().get(seat).getTray().size();
+    }
+
+    /**
+     * @return (int) the number of tiles left in the pool to draw, or 0 if there is no round
+     */
+    public int getPoolSize() {
+        return ( round == null ) ? 0 : round.getTiles().size();
+    }
+
+    /**
+     * @return (List) the tiles played so far in the round, in the order they were played
+     */
+    public List<Tile> getPiecesPlayed() {
+        return ( round == null ) ? Collections.<Tile>emptyList() :
+                Collections.unmodifiableList(round.getPiecesPlayed());
+    }
+}
@@ -0,0 +1,470 @@
+package com.thirdsonsoftware;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * One guess at the rest of a round, played out on a board of its own.  The
+ *   tiles the player choosing can't see, the other trays and the pool, are
+ *   shuffled and dealt so every tray has as many tiles as it really does.
+ *   The round is then played by the same rules as Round.playRound(): a
+ *   player who can't play draws (5 points) until they can or the pool is
+ *   empty, then passes (10 points), and the round ends on an empty tray, a
+ *   score of 400 or more, or every player passing in turn.
+ *
+ * Only the tiles dealt are new; the tiles already on the board are shared
+ *   with the real board, and never changed.  Nothing is logged and no
+ *   events are recorded.  A search can play many guesses on one copy of
+ *   the board, rewinding it after each.
+ *
+ * A search that looks ahead move by move can instead step() through the
+ *   guess, a play, a draw or a pass at a time, and undo() each step.  It
+ *   leaves out the end of the round on 400 points, so what a position is
+ *   worth depends on its tiles alone.
+ */
+class SimulatedRound {
+
+    // Each tile's corners, by id, to make tiles of our own from
+    private static final int[][] CORNERS = new int[Round.NUMBER_OF_TILES + 1][] ;
+
+    static {
+        for ( Tile t : Round.tileSet() )
+            CORNERS[t.getId()] = new int[] { t.getCornerA(), t.getCornerB(), t.getCornerC() } ;
+    }
+
+    private final Board board ;
+    private final Player[] players ;
+    private final ArrayList<Tile> pool ;
+
+    // The points each seat has gained, or lost, since the guess was made
+    private final int[] gained ;
+    private final int[] scores ;
+
+    // The tiles this guess has placed on the board
+    private int placed = 0 ;
+
+    private int toMove ;
+    private int blocked = 0 ;
+    private boolean over = false ;
+
+    // Kinds of step
+    static final int PLAY = 0 ;
+    static final int DRAW = 1 ;
+    static final int PASS = 2 ;
+
+    /**
+     * What a step changed, so it can be undone.  Steps are reused, so a
+     *   search allocates nothing once it has been as deep before.
+     */
+    private static class Step {
+        int kind ;
+        int seat ;
+        int blocked ;
+        int gained ;
+
+        // The tile drawn, and where it was in the pool
+        Tile drawn ;
+        int poolIndex ;
+
+        // The seat that won the round on this step, and what it won, if it ended
+        int winner ;
+        int won ;
+    }
+
+    private final ArrayList<Step> steps = new ArrayList<Step>() ;
+    private int stepCount = 0 ;
+
+    // The trays' tiles, XORed together as Zobrist tray keys
+    private long trayKey = 0L ;
+
+    // Not needed to find plays, but kept up to date by Player.makePlay()
+    private final ArrayList<Tile> faces = new ArrayList<Tile>() ;
+
+    /**
+     * @param board - a copy of the real board, never the board itself, to play the guess on
+     * @param tray - the tray of the player choosing
+     * @param context - the round being played
+     * @param random - the source of randomness for dealing the unseen tiles
+     */
+    SimulatedRound(Board board, List<Tile> tray, RoundContext context, SplittableRandom random) {
+
+        int seats = context.getPlayerCount();
+
+        this.board = board;
+        this.players = new Player[seats];
+        this.gained = new int[seats];
+        this.scores = new int[seats];
+        this.toMove = context.getSeat();
+
+        // The tiles we can see are in our tray or on the board
+        Set<Integer> seen = new HashSet<Integer>();
+        for ( Tile t : tray )
+            seen.add(t.getId());
+        for ( Tile t : context.getPiecesPlayed() )
+            seen.add(t.getId());
+
+        ArrayList<Tile> unseen = new ArrayList<Tile>(Round.NUMBER_OF_TILES);
+        for ( int id = 1; id <= Round.NUMBER_OF_TILES; id++ ) {
+            if ( !seen.contains(id) )
+                unseen.add(tile(id));
+        }
+        for ( int i = unseen.size() - 1; i > 0; i-- ) {
+            int j = random.nextInt(i + 1);
+            Tile t = unseen.get(i);
+            unseen.set(i, unseen.get(j));
+            unseen.set(j, t);
+        }
+
+        // Deal the other trays from the unseen tiles, and leave the rest in the pool
+        for ( int seat = 0; seat < seats; seat++ ) {
+            players[seat] = new Player(String.valueOf(seat));
+            scores[seat] = context.getScore(seat);
+            if ( seat == context.getSeat() ) {
+                for ( Tile t : tray )
+                    players[seat].addToTray(tile(t.getId()));
+            } else {
+                for ( int i = context.getTraySize(seat); ( i > 0 ) && !unseen.isEmpty(); i-- )
+                    players[seat].addToTray(unseen.remove(unseen.size() - 1));
+            }
+            for ( Tile t : players[seat].getTray() )
+                trayKey ^= Zobrist.trayKey(seat, t.getId()) ;
+        }
+        this.pool = unseen;
+    }
+
+    private static Tile tile(int id) {
+        Tile t = new Tile(CORNERS[id][0], CORNERS[id][1], CORNERS[id][2]);
+        t.setId(id);
+        return t;
+    }
+
+    /**
+     * @return (int) the seat of the player to move
+     */
+    int getToMove() {
+        return toMove;
+    }
+
+    boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return (int) the number of seats at the table
+     */
+    int getSeats() {
+        return players.length;
+    }
+
+    /**
+     * @return (int) the number of players who have passed in turn, since the last play
+     */
+    int getBlocked() {
+        return blocked;
+    }
+
+    int getPoolSize() {
+        return pool.size();
+    }
+
+    /**
+     * @param seat - a seat at the table
+     * @return (int) the value of the tiles in the seat's tray
+     */
+    int getTrayValue(int seat) {
+        int value = 0 ;
+        for ( Tile t : players[seat].getTray() )
+            value += t.getValue();
+        return value;
+    }
+
+    /**
+     * @return (long) the Zobrist key of the tiles on the board, the tiles in every tray, and the seat to move
+     */
+    long getKey() {
+        return board.getZobristKey() ^ trayKey ^ Zobrist.turnKey(toMove);
+    }
+
+    /**
+     * @param c - a play by the player choosing, made with a tile from their real tray
+     * @return (Choice) the same play, made with this guess's copy of the tile
+     */
+    Choice mine(Choice c) {
+        for ( Tile t : players[toMove].getTray() ) {
+            if ( t.getId() == c.getTile().getId() ) {
+                Choice mine = new Choice(t, c.getRow(), c.getCol(), c.getOrientation(), c.getRotation());
+                mine.setTestForFitOnly(true);
+                mine.setScore(c.getScore());
+                return mine;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The plays that fit for the player to move, scored, each only once.
+     *   Unlike plays(), nothing is drawn or passed when there are none.
+     * @return (List) the plays open to the player to move, empty if they have to draw or pass
+     */
+    List<Choice> choices() {
+        List<Choice> choices = new ArrayList<Choice>();
+        if ( over )
+            return choices;
+        List<Choice> plays = players[toMove].candidates(board);
+        int[] keys = new int[plays.size()];
+        for ( Choice c : plays ) {
+            if ( !PlayerStrategy.fitsAndIsScored(board, c) )
+                continue;
+            int key = MctsStrategy.key(c);
+            boolean seen = false ;
+            for ( int i = 0; ( i < choices.size() ) && !seen; i++ )
+                seen = ( keys[i] == key ) ;
+            if ( !seen ) {
+                keys[choices.size()] = key ;
+                choices.add(c);
+            }
+        }
+        return choices;
+    }
+
+    /**
+     * Takes a step: the player to move makes a play, or draws the tile from
+     *   the pool, or passes.
+     * @param kind - PLAY, DRAW or PASS
+     * @param c - the play, one of choices(), when the kind is PLAY
+     * @param poolIndex - where the tile drawn is in the pool, when the kind is DRAW
+     */
+    void step(int kind, Choice c, int poolIndex) {
+
+        if ( stepCount == steps.size() )
+            steps.add(new Step());
+        Step step = steps.get(stepCount++);
+        step.kind = kind ;
+        step.seat = toMove ;
+        step.blocked = blocked ;
+        step.winner = -1 ;
+
+        Player player = players[toMove];
+        switch ( kind ) {
+            case PLAY:
+                player.makePlay(board, c, faces);
+                trayKey ^= Zobrist.trayKey(toMove, c.getTile().getId()) ;
+                step.gained = c.getScore() ;
+                blocked = 0 ;
+                break;
+            case DRAW:
+                // Swap it out of the pool, and back in again on undo()
+                Tile t = pool.get(poolIndex);
+                pool.set(poolIndex, pool.get(pool.size() - 1));
+                pool.remove(pool.size() - 1);
+                player.addToTray(t);
+                trayKey ^= Zobrist.trayKey(toMove, t.getId()) ;
+                step.drawn = t ;
+                step.poolIndex = poolIndex ;
+                step.gained = -5 ;
+                break;
+            default:
+                step.gained = -10 ;
+                blocked++ ;
+                break;
+        }
+        gained[toMove] += step.gained ;
+
+        if ( ( kind == PLAY ) && player.getTray().isEmpty() )
+            finish(step);
+        else if ( kind != DRAW ) {
+            toMove = ( toMove + 1 ) % players.length;
+            if ( blocked >= players.length )
+                finish(step);
+        }
+    }
+
+    /**
+     * Undoes the last step().
+     */
+    void undo() {
+
+        Step step = steps.get(--stepCount);
+        if ( step.winner >= 0 )
+            gained[step.winner] -= step.won ;
+        over = false ;
+        toMove = step.seat ;
+        blocked = step.blocked ;
+        gained[toMove] -= step.gained ;
+
+        Player player = players[toMove];
+        switch ( step.kind ) {
+            case PLAY:
+                Tile played = player.unmakePlay(board, faces);
+                trayKey ^= Zobrist.trayKey(toMove, played.getId()) ;
+                break;
+            case DRAW:
+                Tile t = step.drawn ;
+                player.removeFromTray(t);
+                trayKey ^= Zobrist.trayKey(toMove, t.getId()) ;
+                pool.add(t);
+                pool.set(pool.size() - 1, pool.get(step.poolIndex));
+                pool.set(step.poolIndex, t);
+                step.drawn = null ;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * The plays that fit for the player to move, scored.  A player with none
+     *   draws, or passes to the next player, until someone has a play or the
+     *   round is over.
+     * @return (List) the plays open to the player to move, or an empty list once the round is over
+     */
+    List<Choice> plays() {
+
+        while ( !over ) {
+
+            Player player = players[toMove];
+            List<Choice> plays = player.candidates(board);
+            plays.removeIf(c -> !PlayerStrategy.fitsAndIsScored(board, c));
+            if ( !plays.isEmpty() )
+                return plays;
+
+            if ( !pool.isEmpty() ) {
+
+                // Draw and try again
+                gained[toMove] -= 5 ;
+                Tile t = pool.remove(pool.size() - 1);
+                player.addToTray(t);
+
+            } else {
+
+                // Pass
+                gained[toMove] -= 10 ;
+                blocked++ ;
+                toMove = ( toMove + 1 ) % players.length;
+                if ( blocked >= players.length )
+                    finish();
+            }
+        }
+        return new ArrayList<Choice>();
+    }
+
+    /**
+     * Makes a play for the player to move, and passes the turn on.
+     * @param c - one of the plays returned by plays()
+     */
+    void play(Choice c) {
+
+        Player player = players[toMove];
+        Tile t = c.getTile();
+
+        board.placeTile(c);
+        placed++ ;
+        gained[toMove] += c.getScore();
+        player.removeFromTray(t);
+        blocked = 0 ;
+
+        if ( player.getTray().isEmpty() || ( scores[toMove] + gained[toMove] >= 400 ) )
+            finish();
+        else
+            toMove = ( toMove + 1 ) % players.length;
+    }
+
+    /**
+     * Plays the rest of the round with every player making their highest
+     *   scoring play.
+     */
+    void playOut() {
+        List<Choice> plays;
+        while ( !( plays = plays() ).isEmpty() ) {
+            Choice best = plays.get(0);
+            for ( Choice c : plays ) {
+                if ( c.getScore() > best.getScore() )
+                    best = c;
+            }
+            play(best);
+        }
+    }
+
+    /**
+     * Takes every tile this guess placed back off the board, leaving it as
+     *   it was before the guess.
+     */
+    void rewind() {
+        for ( ; placed > 0; placed-- )
+            board.unplaceTile();
+    }
+
+    /**
+     * Ends the round.  A player with an empty tray earns the bonus for it;
+     *   either way, the winner earns the value of every other tray.
+     */
+    private void finish() {
+        finish(null);
+    }
+
+    /**
+     * @param step - where to record who won, and what, or null
+     */
+    private void finish(Step step) {
+
+        over = true ;
+
+        Player winner = null ;
+        for ( Player p : players ) {
+            if ( p.getTray().isEmpty() ) {
+                winner = p;
+                break;
+            }
+        }
+        if ( winner == null ) {
+            for ( Player p : players ) {
+                if ( ( winner == null ) || ( p.getTray().size() < winner.getTray().size() ) )
+                    winner = p;
+            }
+        }
+
+        int seat = 0 ;
+        while ( players[seat] != winner )
+            seat++ ;
+        int won = 0 ;
+        if ( winner.getTray().isEmpty() )
+            won += Round.BONUS_EMPTY_TRAY ;
+        for ( Player p : players ) {
+            if ( p != winner ) {
+                for ( Tile t : p.getTray() )
+                    won += t.getValue();
+            }
+        }
+        gained[seat] += won ;
+        if ( step != null ) {
+            step.winner = seat ;
+            step.won = won ;
+        }
+    }
+
+    /**
+     * @param seat - a seat at the table
+     * @return (int) the points the seat has gained since the guess was made
+     */
+    int getGained(int seat) {
+        return gained[seat];
+    }
+
+    /**
+     * How well the round went for a seat: the points it gained less the most
+     *   gained by any other seat.
+     * @param seat - a seat at the table
+     * @return (int) the seat's margin over the best of the other seats
+     */
+    int margin(int seat) {
+        int best = Integer.MIN_VALUE ;
+        for ( int other = 0; other < gained.length; other++ ) {
+            if ( other != seat )
+                best = Math.max(best, gained[other]);
+        }
+        return ( best == Integer.MIN_VALUE ) ? gained[seat] : gained[seat] - best;
+    }
+}
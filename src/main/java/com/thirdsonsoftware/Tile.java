@@ -44,6 +44,7 @@ public class Tile implements Comparable, Serializable {
     final private int cornerA ;         // Reference corner A
     final private int cornerB ;         // Reference corner B
     final private int cornerC ;         // Reference corner C
+    final private int corners ;         // Corners packed as (a * 6 + b) * 6 + c, the tile's identity
 
     final private char NONE = ' ' ;
 
@@ -69,6 +70,65 @@ public class Tile implements Comparable, Serializable {
     static String b = "" ; // Color Blue
     static String r = "" ; // Color Reset
 
+    // Corner and face layouts for every corner triple, orientation and rotation,
+    //   so the corner and face accessors are table lookups rather than branches.
+    //   Indexed by ((a*36 + b*6 + c) * 2 + orientation) * 3 + rotation index.
+    //   Corners pack as (left << 8) | (middle << 4) | right, and faces as
+    //   (left face << 12) | (right face << 6) | middle face.
+    private static final int ROTATIONS = 3 ;
+    private static final int LAYOUTS_PER_TILE = 2 * ROTATIONS ;
+    private static final int[] CORNER_LAYOUTS ;
+    private static final int[] FACE_LAYOUTS ;
+
+    static {
+        int corners = Face.CORNER_VALUES ;
+        CORNER_LAYOUTS = new int[corners * corners * corners * LAYOUTS_PER_TILE];
+        FACE_LAYOUTS   = new int[CORNER_LAYOUTS.length];
+        for ( int a = 0; a < corners; a++ ) {
+            for ( int b = 0; b < corners; b++ ) {
+                for ( int c = 0; c < corners; c++ ) {
+                    int base = ( ( a * corners + b ) * corners + c ) * LAYOUTS_PER_TILE ;
+                    for ( Orientation o : Orientation.values() ) {
+                        for ( int rot = 0; rot < ROTATIONS; rot++ ) {
+                            int index = base + o.ordinal() * ROTATIONS + rot ;
+                            int left, middle, right ;
+                            switch (rot) {
+                                case 0:
+                                    left = ( o == Orientation.UP ) ? c : b ;
+                                    right = ( o == Orientation.UP ) ? b : c ;
+                                    middle = a ;
+                                    break;
+                                case 1:
+                                    left = ( o == Orientation.UP ) ? b : a ;
+                                    right = ( o == Orientation.UP ) ? a : b ;
+                                    middle = c ;
+                                    break;
+                                default:
+                                    left = ( o == Orientation.UP ) ? a : c ;
+                                    right = ( o == Orientation.UP ) ? c : a ;
+                                    middle = b ;
+                                    break;
+                            }
+                            CORNER_LAYOUTS[index] = ( left << 8 ) | ( middle << 4 ) | right ;
+                            // Faces are always oriented outward from the center of the tile
+                            if ( o == Orientation.DOWN ) {
+                                FACE_LAYOUTS[index] = ( Face.code(middle, left) << 12 ) |
+                                                      ( Face.code(right, middle) << 6 ) |
+                                                        Face.code(left, right) ;
+                            } else {
+                                FACE_LAYOUTS[index] = ( Face.code(left, middle) << 12 ) |
+                                                      ( Face.code(middle, right) << 6 ) |
+                                                        Face.code(right, left) ;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    final private int layoutBase ;      // Where this tile's layouts start in the tables
+
     /**
      * Constructs a tile with the provided corner values.
      * @param cornerA - value for corner A
@@ -83,6 +143,11 @@ public class Tile implements Comparable, Serializable {
         this.cornerC = cornerC;
         this.value = cornerA + cornerB + cornerC ;
 
+        if ( !validCorner(cornerA) || !validCorner(cornerB) || !validCorner(cornerC) )
+            throw new IllegalArgumentException(String.format("Invalid tile corners %d-%d-%d", cornerA, cornerB, cornerC));
+        this.corners = ( cornerA * Face.CORNER_VALUES + cornerB ) * Face.CORNER_VALUES + cornerC ;
+        this.layoutBase = corners * LAYOUTS_PER_TILE ;
+
         colors[0] = Log.RED;
         colors[1] = Log.GREEN;
         colors[2] = Log.BLUE;
@@ -99,6 +164,40 @@ public class Tile implements Comparable, Serializable {
         setUseColor(false);
     }
 
+    /**
+     * @param corner - a corner value
+     * @return (boolean) true if the value can be on a tile corner
+     */
+    private static boolean validCorner(int corner) {
+        return ( corner >= 0 ) && ( corner < Face.CORNER_VALUES ) ;
+    }
+
+    /**
+     * Maps a rotation to its slot in the layout tables.  Anything other
+     *   than 0 or 120 is treated as 240.
+     * @param rotation - 0, 120, or 240
+     * @return (int) 0, 1 or 2
+     */
+    private static int rotationIndex(int rotation) {
+        switch (rotation) {
+            case 0:
+                return 0;
+            case 120:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @return (int) the index of the layout in the tables
+     */
+    private int layoutIndex(Orientation o, int rotation) {
+        return layoutBase + o.ordinal() * ROTATIONS + rotationIndex(rotation) ;
+    }
+
     /**
      * A string representation of the tile.  This shows only the four corner
      *   values in a single row, separated by a dash.
@@ -130,6 +229,7 @@ public class Tile implements Comparable, Serializable {
     public int getCornerA() { return cornerA; }
     public int getCornerB() { return cornerB; }
     public int getCornerC() { return cornerC; }
+    public int getCorners() { return corners; }
     public int getValue() { return value; }
 
     public int getRotation() {
@@ -215,11 +315,7 @@ public class Tile implements Comparable, Serializable {
      * @return Face - the left face of the Tile in place
      */
     public Face getLeftFace() {
-        if ( orientation == Orientation.DOWN ) {
-            return new Face(getMiddleCorner(), getLeftCorner());
-        } else {
-            return new Face(getLeftCorner(), getMiddleCorner());
-        }
+        return Face.valueOf(getLeftFaceCode());
     }
 
     /**
@@ -229,11 +325,7 @@ public class Tile implements Comparable, Serializable {
      * @return Face - the right face of the Tile in place
      */
     public Face getRightFace() {
-        if ( orientation == Orientation.DOWN ) {
-            return new Face(getRightCorner(), getMiddleCorner());
-        } else {
-            return new Face(getMiddleCorner(), getRightCorner());
-        }
+        return Face.valueOf(getRightFaceCode());
     }
 
     /**
@@ -243,11 +335,58 @@ public class Tile implements Comparable, Serializable {
      * @return Face - the middle face of the Tile in place
      */
     public Face getMiddleFace() {
-        if ( orientation == Orientation.DOWN ) {
-            return new Face(getLeftCorner(), getRightCorner());
-        } else {
-            return new Face(getRightCorner(), getLeftCorner());
-        }
+        return Face.valueOf(getMiddleFaceCode());
+    }
+
+    /**
+     * @return (int) the code of the left face of the Tile in place
+     */
+    public int getLeftFaceCode() {
+        return getLeftFaceCode(orientation, rotation);
+    }
+
+    /**
+     * @return (int) the code of the right face of the Tile in place
+     */
+    public int getRightFaceCode() {
+        return getRightFaceCode(orientation, rotation);
+    }
+
+    /**
+     * @return (int) the code of the middle face of the Tile in place
+     */
+    public int getMiddleFaceCode() {
+        return getMiddleFaceCode(orientation, rotation);
+    }
+
+    /**
+     * The code of the left face if the tile were in this orientation and rotation.
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @return (int) the face code
+     */
+    public int getLeftFaceCode(Orientation o, int rotation) {
+        return FACE_LAYOUTS[layoutIndex(o, rotation)] >>> 12 ;
+    }
+
+    /**
+     * The code of the right face if the tile were in this orientation and rotation.
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @return (int) the face code
+     */
+    public int getRightFaceCode(Orientation o, int rotation) {
+        return ( FACE_LAYOUTS[layoutIndex(o, rotation)] >>> 6 ) & 0x3F ;
+    }
+
+    /**
+     * The code of the middle face if the tile were in this orientation and rotation.
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @return (int) the face code
+     */
+    public int getMiddleFaceCode(Orientation o, int rotation) {
+        return FACE_LAYOUTS[layoutIndex(o, rotation)] & 0x3F ;
     }
 
     /**
@@ -317,26 +456,7 @@ public class Tile implements Comparable, Serializable {
      * @return (int) the value of the left corner of the tile
      */
     public int getLeftCorner() {
-        switch (getRotation()) {
-            case 0:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerC();
-                } else {
-                    return getCornerB();
-                }
-            case 120:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerB();
-                } else {
-                    return getCornerA();
-                }
-            default:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerA();
-                } else {
-                    return getCornerC();
-                }
-        }
+        return getLeftCorner(getOrientation(), getRotation());
     }
 
     /**
@@ -344,26 +464,7 @@ public class Tile implements Comparable, Serializable {
      * @return (int) the value of the right corner of the tile
      */
     public int getRightCorner() {
-        switch (getRotation()) {
-            case 0:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerB();
-                } else {
-                    return getCornerC();
-                }
-            case 120:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerA();
-                } else {
-                    return getCornerB();
-                }
-            default:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerC();
-                } else {
-                    return getCornerA();
-                }
-        }
+        return getRightCorner(getOrientation(), getRotation());
     }
 
     /**
@@ -372,26 +473,37 @@ public class Tile implements Comparable, Serializable {
      * @return (int) the value of the middle corner of the tile
      */
     public int getMiddleCorner() {
-        switch (getRotation()) {
-            case 0:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerA();
-                } else {
-                    return getCornerA();
-                }
-            case 120:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerC();
-                } else {
-                    return getCornerC();
-                }
-            default:
-                if (getOrientation() == Orientation.UP) {
-                    return getCornerB();
-                } else {
-                    return getCornerB();
-                }
-        }
+        return getMiddleCorner(getOrientation(), getRotation());
+    }
+
+    /**
+     * The left corner if the tile were in this orientation and rotation.
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @return (int) the value of the left corner
+     */
+    public int getLeftCorner(Orientation o, int rotation) {
+        return CORNER_LAYOUTS[layoutIndex(o, rotation)] >>> 8 ;
+    }
+
+    /**
+     * The right corner if the tile were in this orientation and rotation.
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @return (int) the value of the right corner
+     */
+    public int getRightCorner(Orientation o, int rotation) {
+        return CORNER_LAYOUTS[layoutIndex(o, rotation)] & 0xF ;
+    }
+
+    /**
+     * The middle corner if the tile were in this orientation and rotation.
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @return (int) the value of the middle corner
+     */
+    public int getMiddleCorner(Orientation o, int rotation) {
+        return ( CORNER_LAYOUTS[layoutIndex(o, rotation)] >>> 4 ) & 0xF ;
     }
 
     @Override
@@ -400,42 +512,26 @@ public class Tile implements Comparable, Serializable {
      * @return (int) -1 if less, 0 if the same, or 1 if greater
      */
     public int compareTo(Object o) {
-        Tile t = (Tile)o;
-        if ( getCornerA() < t.getCornerA() )
-            return -1;
-        else if ( getCornerA() > t.getCornerA() )
-            return 1;
-
-        if ( getCornerB() < t.getCornerB() )
-            return -1;
-        else if ( getCornerB() > t.getCornerB() )
-            return 1;
-
-        if ( getCornerC() < t.getCornerC() )
-            return -1;
-        else if ( getCornerC() > t.getCornerC() )
-            return 1;
-
-        return 0;
+        // Packed corners order the same as comparing corner A, then B, then C
+        return Integer.compare(corners, ((Tile)o).corners);
     }
 
     /**
-     * We need this for HashMap to work correctly for a Tile.
-     * @return hash of the Tile's string
+     * We need this for HashMap to work correctly for a Tile.  No two tiles
+     *   share a set of corners, so the packed corners are a perfect hash.
+     * @return hash of the Tile's corners
      */
     public int hashCode() {
-        return toString().hashCode();
+        return corners;
     }
 
     /**
      * We need this for HashMap to work when using a Tile as a key
      * @param o - Object to compare this against
-     * @return true if names are the same, false otherwise
+     * @return true if the corners are the same, false otherwise
      */
     public boolean equals(Object o) {
-        if ((o instanceof Tile) && ((Tile) o).toString().equals(toString()))
-            return true;
-        return false;
+        return (o instanceof Tile) && (((Tile) o).corners == corners);
     }
 
 }
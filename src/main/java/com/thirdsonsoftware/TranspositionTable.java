@@ -0,0 +1,90 @@
+package com.thirdsonsoftware;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size table of values worked out for positions, keyed by their
+ *   Zobrist keys, so a search that reaches a position again by another
+ *   order of moves can use the value it already has.
+ *
+ * Any number of threads can share the table without locks.  Each slot
+ *   holds the entry and the key XORed with the entry, written one after
+ *   the other; a reader that sees half of a write finds the key doesn't
+ *   match, and treats it as a miss (Hyatt's lockless hashing).  A slot is
+ *   replaced by any new entry, unless it holds a deeper search of the
+ *   same position.
+ */
+public class TranspositionTable {
+
+    private final AtomicLongArray slots ;
+    private final int mask ;
+
+    /**
+     * @param capacity - the number of entries, rounded up to a power of two
+     */
+    public TranspositionTable(int capacity) {
+        if ( ( capacity < 1 ) || ( capacity > ( 1 << 29 ) ) )
+            throw new IllegalArgumentException(String.format("Invalid transposition table capacity %d", capacity));
+        int size = Integer.highestOneBit(capacity);
+        if ( size < capacity )
+            size <<= 1 ;
+        this.mask = size - 1 ;
+        this.slots = new AtomicLongArray(size * 2);
+    }
+
+    /**
+     * @return (int) the number of entries the table holds
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Remembers the value of a position.
+     * @param key - the position's Zobrist key
+     * @param depth - how deep the search for the value went, 0 or more
+     * @param value - the value of the position
+     */
+    public void store(long key, int depth, float value) {
+        int slot = slot(key);
+        long held = slots.get(slot + 1);
+        if ( ( ( slots.get(slot) ^ held ) == key ) && ( depth(held) > depth ) )
+            return;
+        long entry = ( (long) Float.floatToIntBits(value) << 32 ) | ( ( depth + 1 ) & 0xFFFFFFFFL ) ;
+        slots.set(slot, key ^ entry);
+        slots.set(slot + 1, entry);
+    }
+
+    /**
+     * Finds the value of a position, if it was searched at least as deep as
+     *   asked.
+     * @param key - the position's Zobrist key
+     * @param depth - the least depth the value must have been searched to
+     * @return (float) the value, or NaN if there is none deep enough
+     */
+    public float probe(long key, int depth) {
+        int slot = slot(key);
+        long checked = slots.get(slot);
+        long entry = slots.get(slot + 1);
+        if ( ( ( checked ^ entry ) != key ) || ( depth(entry) < depth ) )
+            return Float.NaN;
+        return Float.intBitsToFloat((int) ( entry >>> 32 ));
+    }
+
+    /**
+     * Forgets every position.
+     */
+    public void clear() {
+        for ( int i = 0; i < slots.length(); i++ )
+            slots.set(i, 0L);
+    }
+
+    private int slot(long key) {
+        return (int) ( ( key ^ ( key >>> 32 ) ) & mask ) * 2 ;
+    }
+
+    // Depths are held one higher, so an empty slot holds no depth at all
+    private static int depth(long entry) {
+        return (int) entry - 1;
+    }
+}
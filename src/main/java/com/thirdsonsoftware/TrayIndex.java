@@ -0,0 +1,262 @@
+package com.thirdsonsoftware;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TrayIndex keeps the tiles in a player's tray sorted by the faces
+ *   they can present.  For every orientation, side (left, right or middle)
+ *   and face code, it holds the tray tiles and rotations that put that face
+ *   on that side.  Finding the tiles that can be played against a face on
+ *   the board is then a single lookup, rather than a scan of the tray that
+ *   turns every tile to see if it fits.
+ */
+public class TrayIndex {
+
+    // Sides of a tile
+    public static final int LEFT   = 0 ;
+    public static final int RIGHT  = 1 ;
+    public static final int MIDDLE = 2 ;
+
+    private static final int SIDES = 3 ;
+
+    // Rotations a tile can be played with
+    private static final int[] ROTATIONS = { 0, 120, 240 } ;
+
+    /**
+     * A tile from the tray, and the rotation that presents the face.
+     */
+    public static class Entry {
+
+        private final Tile tile ;
+        private final int rotation ;
+
+        Entry(Tile tile, int rotation) {
+            this.tile = tile;
+            this.rotation = rotation;
+        }
+
+        public Tile getTile() {
+            return tile;
+        }
+
+        public int getRotation() {
+            return rotation;
+        }
+    }
+
+    /**
+     * Where a removed tile's entries were, so they can be put back.  A tile
+     *   has an entry for each orientation and rotation, in a bucket for each
+     *   side, so it is never in more than 18 places.  Kept by a search with
+     *   each of its plays, and used over again.
+     */
+    public static class Removal {
+        private Tile tile ;
+        private int position ;
+        private int count ;
+        private final Entry[] entries = new Entry[2 * 3 * SIDES] ;
+        private final int[] buckets = new int[2 * 3 * SIDES] ;
+        private final int[] positions = new int[2 * 3 * SIDES] ;
+    }
+
+    // Buckets indexed by ((orientation * SIDES) + side) * FACE_CODES + face code
+    private final ArrayList<Entry>[] buckets ;
+
+    // The tiles indexed, in the order they were added
+    private final ArrayList<Tile> tiles ;
+
+    @SuppressWarnings({"unchecked","rawtypes"})
+    public TrayIndex() {
+        buckets = new ArrayList[Orientation.values().length * SIDES * Face.FACE_CODES];
+        for ( int i = 0; i < buckets.length; i++ )
+            buckets[i] = new ArrayList<>(4);
+        tiles = new ArrayList<>(56);
+    }
+
+    /**
+     * @param o - the orientation of the tile
+     * @param side - LEFT, RIGHT or MIDDLE
+     * @param faceCode - the code of the face on that side
+     * @return (int) the bucket holding the tiles that present the face
+     */
+    private static int bucket(Orientation o, int side, int faceCode) {
+        return ( ( o.ordinal() * SIDES ) + side ) * Face.FACE_CODES + faceCode ;
+    }
+
+    /**
+     * @param t - the tile
+     * @param o - the orientation of the tile
+     * @param rotation - the rotation of the tile
+     * @param side - LEFT, RIGHT or MIDDLE
+     * @return (int) the code of the face on that side of the tile
+     */
+    private static int faceCode(Tile t, Orientation o, int rotation, int side) {
+        switch (side) {
+            case LEFT:
+                return t.getLeftFaceCode(o, rotation);
+            case RIGHT:
+                return t.getRightFaceCode(o, rotation);
+            default:
+                return t.getMiddleFaceCode(o, rotation);
+        }
+    }
+
+    /**
+     * Some tiles look the same in more than one rotation (a triplet looks
+     *   the same in all three).  Only the first rotation of a layout is kept.
+     * @param t - the tile
+     * @param o - the orientation of the tile
+     * @param index - the index of the rotation in ROTATIONS
+     * @return (boolean) true if an earlier rotation has the same layout
+     */
+    private static boolean sameAsEarlierRotation(Tile t, Orientation o, int index) {
+        int rotation = ROTATIONS[index];
+        for ( int i = 0; i < index; i++ ) {
+            if ( ( t.getLeftCorner(o, ROTATIONS[i]) == t.getLeftCorner(o, rotation) ) &&
+                 ( t.getRightCorner(o, ROTATIONS[i]) == t.getRightCorner(o, rotation) ) &&
+                 ( t.getMiddleCorner(o, ROTATIONS[i]) == t.getMiddleCorner(o, rotation) ) )
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a tile from the tray to the index.
+     * @param t - the tile added to the tray
+     */
+    public void add(Tile t) {
+        tiles.add(t);
+        for ( Orientation o : Orientation.values() ) {
+            for ( int i = 0; i < ROTATIONS.length; i++ ) {
+                if ( sameAsEarlierRotation(t, o, i) )
+                    continue;
+                Entry entry = new Entry(t, ROTATIONS[i]);
+                for ( int side = 0; side < SIDES; side++ )
+                    buckets[bucket(o, side, faceCode(t, o, ROTATIONS[i], side))].add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes a tile from the index, once it has left the tray.
+     * @param t - the tile removed from the tray
+     * @return (boolean) true if the tile was in the index
+     */
+    public boolean remove(Tile t) {
+        return ( remove(t, null) >= 0 ) ;
+    }
+
+    /**
+     * Removes a tile from the index, once it has left the tray, and records
+     *   where each of its entries was so it can be restored.
+     * @param t - the tile removed from the tray
+     * @param removal - where to record what was removed, or null
+     * @return (int) the tile's place among the tiles indexed, which is its
+     *   place in the tray, or -1 if it wasn't in the index
+     */
+    public int remove(Tile t, Removal removal) {
+        int position = removeTile(t);
+        if ( position < 0 )
+            return position;
+        if ( removal != null ) {
+            removal.tile = t ;
+            removal.position = position ;
+            removal.count = 0 ;
+        }
+        for ( Orientation o : Orientation.values() ) {
+            for ( int i = 0; i < ROTATIONS.length; i++ ) {
+                for ( int side = 0; side < SIDES; side++ ) {
+                    int b = bucket(o, side, faceCode(t, o, ROTATIONS[i], side));
+                    ArrayList<Entry> entries = buckets[b];
+                    for ( int e = entries.size() - 1; e >= 0; e-- ) {
+                        if ( entries.get(e).getTile() == t ) {
+                            Entry entry = entries.remove(e);
+                            if ( removal != null ) {
+                                removal.entries[removal.count] = entry ;
+                                removal.buckets[removal.count] = b ;
+                                removal.positions[removal.count++] = e ;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Puts a removed tile back where it was in the index, as if it had never
+     *   been removed.  Its own entries go back in the places they were taken
+     *   from, last first, so nothing is made or searched for.
+     * @param removal - what was removed
+     */
+    public void restore(Removal removal) {
+        for ( int i = removal.count - 1; i >= 0; i-- ) {
+            buckets[removal.buckets[i]].add(removal.positions[i], removal.entries[i]);
+            removal.entries[i] = null ;
+        }
+        tiles.add(removal.position, removal.tile);
+        removal.tile = null ;
+        removal.count = 0 ;
+    }
+
+    /**
+     * @param t - the tile to remove from the list of tiles indexed
+     * @return (int) where it was, or -1 if it wasn't there
+     */
+    private int removeTile(Tile t) {
+        // Drawn tiles are taken back the most, and they are at the end
+        for ( int i = tiles.size() - 1; i >= 0; i-- ) {
+            if ( tiles.get(i) == t ) {
+                tiles.remove(i);
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Empties the index and indexes the tiles provided.
+     * @param tray - the tiles in the tray
+     */
+    public void rebuild(List<Tile> tray) {
+        for ( ArrayList<Entry> entries : buckets )
+            entries.clear();
+        tiles.clear();
+        for ( Tile t : tray )
+            add(t);
+    }
+
+    /**
+     * @param tray - the tiles in the tray
+     * @return (boolean) true if the index holds exactly the tiles in the tray, in the same order
+     */
+    public boolean holds(List<Tile> tray) {
+        if ( tray.size() != tiles.size() )
+            return false;
+        for ( int i = 0; i < tiles.size(); i++ ) {
+            if ( tray.get(i) != tiles.get(i) )
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return (int) the number of tiles indexed
+     */
+    public int size() {
+        return tiles.size();
+    }
+
+    /**
+     * Finds the tray tiles that can be played against a face on the board.
+     * @param o - the orientation the tray tile would be played in
+     * @param side - the side of the tray tile that would touch the face (LEFT, RIGHT or MIDDLE)
+     * @param faceToMatch - the code of the face on the board, as seen from its own tile
+     * @return (List) the tiles and rotations that match, which must not be modified
+     */
+    public List<Entry> matching(Orientation o, int side, int faceToMatch) {
+        return buckets[bucket(o, side, Face.reverse(faceToMatch))];
+    }
+}
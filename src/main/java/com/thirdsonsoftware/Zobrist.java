@@ -0,0 +1,68 @@
+package com.thirdsonsoftware;
+
+/**
+ * Zobrist keys for positions in the game.  Every tile placed on a cell in a
+ *   rotation, every tile in a seat's tray, and the seat to move has a key
+ *   of its own, and a position's key is all of its keys XORed together.
+ *   Placing or removing a tile changes the key by one XOR, so it is kept
+ *   as the board changes rather than worked out from the whole board.
+ *
+ * A table of a random key for every cell, tile and rotation would take
+ *   over two million longs, so each key is instead made from its index by
+ *   the SplitMix64 finalizer, which is as good as random for this and
+ *   always gives the same key.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL ;
+
+    // Cells are packed as row << CELL_BITS | col
+    private static final int CELL_BITS = 16 ;
+
+    // Ids 0 through 56, in three rotations each
+    private static final int ROTATIONS = 3 ;
+    private static final int PIECES = ( Round.NUMBER_OF_TILES + 1 ) * ROTATIONS ;
+
+    // Keeps tray and turn keys apart from the keys of the cells
+    private static final long TRAY = 1L << 48 ;
+    private static final long TURN = 1L << 56 ;
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param row - the row of the cell
+     * @param col - the column of the cell
+     * @param tileId - the id of the tile placed there
+     * @param rotation - the rotation of the tile, 0, 120 or 240
+     * @return (long) the key for the tile placed there, turned that way
+     */
+    public static long key(int row, int col, int tileId, int rotation) {
+        long cell = ( (long) row << CELL_BITS ) | col ;
+        return mix(cell * PIECES + tileId * ROTATIONS + rotation / 120);
+    }
+
+    /**
+     * @param seat - the seat holding the tray
+     * @param tileId - the id of a tile in the tray
+     * @return (long) the key for the tile being in that seat's tray
+     */
+    public static long trayKey(int seat, int tileId) {
+        return mix(TRAY + (long) seat * PIECES + tileId);
+    }
+
+    /**
+     * @param seat - the seat to move
+     * @return (long) the key for it being that seat's turn
+     */
+    public static long turnKey(int seat) {
+        return mix(TURN + seat);
+    }
+
+    private static long mix(long index) {
+        long z = index * 0x9E3779B97F4A7C15L + SEED ;
+        z = ( z ^ ( z >>> 30 ) ) * 0xBF58476D1CE4E5B9L ;
+        z = ( z ^ ( z >>> 27 ) ) * 0x94D049BB133111EBL ;
+        return z ^ ( z >>> 31 ) ;
+    }
+}
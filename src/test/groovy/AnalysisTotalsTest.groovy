@@ -0,0 +1,189 @@
+package com.thirdsonsoftware
+
+class AnalysisTotalsTest extends GroovyTestCase {
+
+    Player playerAndy = new Player("Andy")
+    Player playerBilly = new Player("Billy")
+
+    List<File> dataFiles = new ArrayList<File>()
+
+    void tearDown() {
+        for (File f : dataFiles)
+            f.delete()
+    }
+
+    /**
+     * @return (Tile) the tile with these corners, with the id generateTiles() gives it
+     */
+    Tile tile(int a, int b, int c) {
+        int id = 1
+        for (int x = 0; x <= 5; x++)
+            for (int y = x; y <= 5; y++) {
+                if (x == 4 && y == 5)
+                    continue
+                for (int z = (x == 5) ? 4 : y; z <= 5; z++) {
+                    if (x == a && y == b && z == c) {
+                        Tile t = new Tile(a, b, c)
+                        t.setId(id)
+                        return t
+                    }
+                    id++
+                }
+            }
+        return null
+    }
+
+    /**
+     * A game of one round, won by the player provided, with the tiles
+     *   provided played in it.
+     */
+    String writeGame(Player winner, List<Tile> played) {
+        File dataFile = File.createTempFile("events", EventManager.EVENT_OBJECT_FILE_EXTENSION)
+        dataFiles.add(dataFile)
+        EventLogWriter writer = new EventLogWriter(dataFile.getAbsolutePath())
+        writer.write(new Event(EventType.START_A_GAME))
+        writer.write(new Event(EventType.START_A_ROUND))
+        writer.write(new Event(EventType.HIGHEST_TILE_START, winner, played[0], 0, 0))
+        for (Tile t : played)
+            writer.write(new Event(EventType.PLACE_A_TILE, winner, t, 0, 0))
+        writer.write(new Event(EventType.WIN_A_ROUND_BY_EMPTY_TRAY, winner, null, 0, 0))
+        writer.write(new Event(EventType.WIN_A_GAME, winner, null, 0, 0))
+        writer.close()
+        return dataFile.getAbsolutePath()
+    }
+
+    void testAddFile() {
+        AnalysisTotals totals = new AnalysisTotals()
+        totals.addFile(writeGame(playerAndy, [tile(0, 1, 2), tile(1, 2, 3), tile(0, 1, 2)]))
+
+        assertEquals(1, totals.numberOfEventFiles)
+        assertEquals(1, totals.numberOfGamesPlayed)
+        assertEquals(1, totals.numberOfRoundsPlayed)
+        assertEquals(3, totals.averageTilesPlayedInARound())
+        assertEquals(3, totals.averageTilesPlayedInAGame())
+        assertEquals(1L, totals.playersThatWonAGame.get(playerAndy))
+        assertEquals(2L, totals.tilesPlayed.get(tile(0, 1, 2)))
+        assertEquals(1L, totals.tilesPlayed.get(tile(1, 2, 3)))
+        assertEquals(1L, totals.startingTilesPlayed.get(tile(0, 1, 2)))
+
+        // Counted by tile id and by seat
+        assertEquals(2L, totals.@tilesPlayed[8])
+        assertEquals(1L, totals.@tilesPlayed[28])
+        assertEquals(["Andy"], totals.playerNames)
+        assertEquals(1L, totals.gamesWon[0])
+        assertEquals(1L, totals.roundsWon[0])
+    }
+
+    // Totals counted apart and merged are the totals counted together
+    void testMerge() {
+        String first = writeGame(playerAndy, [tile(0, 1, 2), tile(1, 2, 3)])
+        String second = writeGame(playerBilly, [tile(0, 1, 2), tile(2, 3, 4), tile(3, 4, 5), tile(4, 4, 4)])
+        String third = writeGame(playerAndy, [tile(1, 2, 3)])
+
+        AnalysisTotals together = new AnalysisTotals()
+        together.addFile(first)
+        together.addFile(second)
+        together.addFile(third)
+
+        AnalysisTotals apart = new AnalysisTotals()
+        apart.addFile(first)
+        AnalysisTotals rest = new AnalysisTotals()
+        rest.addFile(second)
+        rest.addFile(third)
+        apart.merge(rest)
+
+        assertEquals(3, apart.numberOfEventFiles)
+        assertEquals(together.numberOfGamesPlayed, apart.numberOfGamesPlayed)
+        assertEquals(together.numberOfRoundsPlayed, apart.numberOfRoundsPlayed)
+        assertEquals(together.averageTilesPlayedInARound(), apart.averageTilesPlayedInARound())
+        assertEquals(together.averageTilesPlayedInAGame(), apart.averageTilesPlayedInAGame())
+        assertEquals(together.playersThatWonAGame, apart.playersThatWonAGame)
+        assertEquals(together.playersThatWonARound, apart.playersThatWonARound)
+        assertEquals(together.tilesPlayed, apart.tilesPlayed)
+        assertEquals(together.startingTilesPlayed, apart.startingTilesPlayed)
+
+        assertEquals(2L, apart.playersThatWonAGame.get(playerAndy))
+        assertEquals(1L, apart.playersThatWonAGame.get(playerBilly))
+        assertEquals(2L, apart.tilesPlayed.get(tile(1, 2, 3)))
+        assertEquals(2, apart.averageTilesPlayedInAGame())
+    }
+
+    // Players keep their seat however many files, or totals, they are seen in
+    void testSeat() {
+        AnalysisTotals totals = new AnalysisTotals()
+        assertEquals(0, totals.seat("Player A"))
+        assertEquals(1, totals.seat("Player B"))
+        assertEquals(0, totals.seat("Player A"))
+        for (int i = 2; i < 10; i++)
+            assertEquals(i, totals.seat("Player " + i))
+        assertTrue(totals.gamesWon.length >= 10)
+        assertTrue(totals.roundsWon.length >= 10)
+    }
+
+    void testEmpty() {
+        AnalysisTotals totals = new AnalysisTotals()
+        assertEquals(0, totals.averageTilesPlayedInARound())
+        assertEquals(0, totals.averageTilesPlayedInAGame())
+        totals.merge(new AnalysisTotals())
+        assertEquals(0, totals.numberOfEventFiles)
+        assertTrue(totals.playersThatWonAGame.isEmpty())
+        assertTrue(totals.tilesPlayed.isEmpty())
+    }
+
+    void testNotCounted() {
+        String first = writeGame(playerAndy, [tile(0, 1, 2)])
+        String second = writeGame(playerBilly, [tile(1, 2, 3)])
+
+        AnalysisTotals totals = new AnalysisTotals()
+        assertEquals([first, second], totals.notCounted([first, second]))
+
+        totals.addFile(first)
+        assertEquals([second], totals.notCounted([first, second]))
+        assertTrue(totals.isCurrentFor([first, second]))
+
+        // A counted file that has gone, or changed, makes the totals stale
+        assertFalse(totals.isCurrentFor([second]))
+        new File(first).append("more")
+        assertFalse(totals.isCurrentFor([first, second]))
+    }
+
+    // Saved totals, with the rest of the files added, are the totals of all the files
+    void testSaveAndLoad() {
+        String first = writeGame(playerAndy, [tile(0, 1, 2), tile(1, 2, 3)])
+        String second = writeGame(playerBilly, [tile(2, 3, 4)])
+
+        File checkpoint = File.createTempFile("analysis", ".chk")
+        dataFiles.add(checkpoint)
+
+        AnalysisTotals saved = new AnalysisTotals()
+        saved.addFile(first)
+        saved.save(checkpoint.getAbsolutePath())
+
+        AnalysisTotals loaded = AnalysisTotals.load(checkpoint.getAbsolutePath())
+        assertNotNull(loaded)
+        assertTrue(loaded.isCurrentFor([first, second]))
+        for (String f : loaded.notCounted([first, second]))
+            loaded.addFile(f)
+
+        AnalysisTotals together = new AnalysisTotals()
+        together.addFile(first)
+        together.addFile(second)
+
+        assertEquals(2, loaded.numberOfEventFiles)
+        assertEquals(together.numberOfGamesPlayed, loaded.numberOfGamesPlayed)
+        assertEquals(together.numberOfRoundsPlayed, loaded.numberOfRoundsPlayed)
+        assertEquals(together.averageTilesPlayedInAGame(), loaded.averageTilesPlayedInAGame())
+        assertEquals(together.playersThatWonAGame, loaded.playersThatWonAGame)
+        assertEquals(together.tilesPlayed, loaded.tilesPlayed)
+        assertEquals(together.filesCounted, loaded.filesCounted)
+    }
+
+    void testLoadMissingOrUnreadable() {
+        File checkpoint = File.createTempFile("analysis", ".chk")
+        dataFiles.add(checkpoint)
+        checkpoint.text = "not a checkpoint"
+        assertNull(AnalysisTotals.load(checkpoint.getAbsolutePath()))
+        checkpoint.delete()
+        assertNull(AnalysisTotals.load(checkpoint.getAbsolutePath()))
+    }
+}
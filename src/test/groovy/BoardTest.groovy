@@ -74,6 +74,69 @@ class BoardTest extends GroovyTestCase {
         assertTrue(board.count()>0)
         board.clearBoard()
         assertTrue(board.count()==0)
+        assertFalse(board.isOccupied(TILE_A_ROW, TILE_A_COL))
+
+        // An empty board has no extents
+        board.findBoardMinMax()
+        assertEquals(board.getNumberOfRows(),board.getTopBorder())
+        assertEquals(0,board.getBottomBorder())
+        assertEquals(board.getNumberOfCols(),board.getLeftBorder())
+        assertEquals(0,board.getRightBorder())
+
+        assertTrue(board.placeTile(choiceA))
+        assertEquals(1,board.count())
+        board.findBoardMinMax()
+        assertEquals(TILE_A_ROW,board.getTopBorder())
+        assertEquals(TILE_A_COL,board.getLeftBorder())
+    }
+
+    void testIsOccupied() {
+        assertTrue(board.isOccupied(TILE_A_ROW, TILE_A_COL))
+        assertTrue(board.isOccupied(TILE_B_ROW, TILE_B_COL))
+        assertFalse(board.isOccupied(TILE_A_ROW, TILE_A_COL + 1))
+        assertFalse(board.isOccupied(-1, 0))
+        assertFalse(board.isOccupied(0, -1))
+        assertFalse(board.isOccupied(board.getNumberOfRows(), board.getNumberOfCols()))
+    }
+
+    void testOccupancy() {
+        // Runs within a word, across the word boundary at column 64, and off the left edge
+        assertEquals(0b11L, board.occupancy(TILE_B_ROW, TILE_B_COL, 2))
+        assertEquals(0b110L, board.occupancy(TILE_B_ROW, TILE_B_COL - 1, 3))
+        assertEquals(0L, board.occupancy(TILE_A_ROW + 1, TILE_B_COL, 2))
+
+        assertTrue(board.placeTile(new Choice(new Tile(1,2,3), 10, 63, Orientation.UP, 0)))
+        assertTrue(board.placeTile(new Choice(new Tile(1,2,4), 10, 66, Orientation.DOWN, 0)))
+        assertEquals(0b10010L, board.occupancy(10, 62, 6))
+
+        assertTrue(board.placeTile(new Choice(new Tile(1,2,5), 10, 0, Orientation.DOWN, 0)))
+        assertEquals(0b100L, board.occupancy(10, -2, 3))
+    }
+
+    void testFrontier() {
+        // Tile A (down) and tile B (up) leave four open slots around them
+        assertEquals(4, board.getFrontierSize())
+        assertFalse(board.isOnFrontier(TILE_A_ROW, TILE_A_COL))
+        assertFalse(board.isOnFrontier(TILE_B_ROW, TILE_B_COL))
+        assertTrue(board.isOnFrontier(56, 57))
+        assertTrue(board.isOnFrontier(55, 56))
+        assertTrue(board.isOnFrontier(56, 54))
+        assertTrue(board.isOnFrontier(57, 55))
+
+        for ( int i=0; i<board.getFrontierSize(); i++ ) {
+            int row = board.getFrontierRow(i)
+            int col = board.getFrontierCol(i)
+            if ( row == 56 && col == 57 )
+                assertEquals(Board.FRONTIER_LEFT, board.getFrontierSides(i))
+            else if ( row == 56 && col == 54 )
+                assertEquals(Board.FRONTIER_RIGHT, board.getFrontierSides(i))
+            else
+                assertEquals(Board.FRONTIER_MIDDLE, board.getFrontierSides(i))
+        }
+
+        board.clearBoard()
+        assertEquals(0, board.getFrontierSize())
+        assertFalse(board.isOnFrontier(56, 57))
     }
 
     void testCount() {
@@ -275,6 +338,26 @@ class BoardTest extends GroovyTestCase {
         assertTrue(board.pieceFits(choiceE))
     }
 
+    void testFitsLeavesTileAlone() {
+        tileE.setOrientation(Orientation.DOWN)
+        tileE.setRotation(120)
+        assertFalse(board.fits(tileE,Orientation.UP,0,56,57))
+        assertFalse(board.fits(tileE,Orientation.UP,120,56,57))
+        assertTrue(board.fits(tileE,Orientation.UP,240,56,57))
+        assertFalse(board.fits(tileE,Orientation.UP,0,TILE_A_ROW,TILE_A_COL))
+        assertEquals(Orientation.DOWN,tileE.getOrientation())
+        assertEquals(120,tileE.getRotation())
+    }
+
+    void testScore() {
+        assertEquals(tileE.getValue(),board.score(tileE,Orientation.UP,56,57))
+        assertFalse(board.createsABridge(Orientation.UP,56,57))
+        assertFalse(board.createsAHexagon(Orientation.UP,56,57))
+        choiceE.setTestForFitOnly(true)
+        assertTrue(board.pieceFits(choiceE))
+        assertEquals(board.score(tileE,Orientation.UP,56,57),choiceE.getScore())
+    }
+
     void testFindBoardMinMax() {
         board.findBoardMinMax()
         assertEquals(55,board.getLeftBorder())
@@ -292,4 +375,118 @@ class BoardTest extends GroovyTestCase {
 
         System.out.println(board.display(false))
     }
+
+    void testZobristKey() {
+        Round played = new Round(1, [new Player("Player A"), new Player("Player B")] as ArrayList<Player>, new SplittableRandom(42L))
+        played.setHeadless(true)
+        played.playRound()
+        Board b = played.getBoard()
+
+        // The key is every tile played, XORed together in any order
+        long key = 0L
+        for ( Tile t : played.getPiecesPlayed().reverse() )
+            key ^= Zobrist.key(t.getRow(), t.getCol(), t.getId(), t.getRotation())
+        assertFalse(0L == key)
+        assertEquals(key, b.getZobristKey())
+
+        Board copy = b.copy()
+        assertEquals(b.getZobristKey(), copy.getZobristKey())
+        assertEquals(b.count(), copy.count())
+
+        b.clearBoard()
+        assertEquals(0L, b.getZobristKey())
+        assertEquals(key, copy.getZobristKey())
+    }
+
+    void testZobristKeysDiffer() {
+        Set<Long> keys = new HashSet<Long>()
+        for ( int id = 0; id <= Round.NUMBER_OF_TILES; id++ )
+            for ( int rotation : [0, 120, 240] )
+                keys.add(Zobrist.key(56, 56, id, rotation))
+        keys.add(Zobrist.key(56, 57, 1, 0))
+        keys.add(Zobrist.key(57, 56, 1, 0))
+        keys.add(Zobrist.trayKey(0, 1))
+        keys.add(Zobrist.trayKey(1, 1))
+        keys.add(Zobrist.turnKey(0))
+        assertEquals(( Round.NUMBER_OF_TILES + 1 ) * 3 + 5, keys.size())
+        assertEquals(Zobrist.key(56, 56, 1, 120), Zobrist.key(56, 56, 1, 120))
+    }
+
+    // Everything placing a tile can change on a board
+    List boardState(Board b) {
+        List frontier = []
+        for ( int i=0; i<b.getFrontierSize(); i++ )
+            frontier.add([b.getFrontierRow(i), b.getFrontierCol(i), b.getFrontierSides(i)])
+        return [b.count(), b.getZobristKey(), frontier,
+                b.@minPlayedRow, b.@maxPlayedRow, b.@minPlayedCol, b.@maxPlayedCol]
+    }
+
+    void testUnplaceTile() {
+        Round played = new Round(1, [new Player("Player A"), new Player("Player B")] as ArrayList<Player>, new SplittableRandom(7L))
+        played.setHeadless(true)
+        played.playRound()
+
+        // Play the same tiles again, in the same order, on a board of our own
+        Board b = new Board()
+        List<Tile> tiles = []
+        List<List> before = []
+        for ( Tile t : played.getPiecesPlayed() ) {
+            Tile tile = new Tile(t.getCornerA(), t.getCornerB(), t.getCornerC())
+            tile.setId(t.getId())
+            tile.setInTray(true)
+            tiles.add(tile)
+            before.add(boardState(b))
+            assertTrue(b.placeTile(new Choice(tile, t.getRow(), t.getCol(), t.getOrientation(), t.getRotation())))
+        }
+        assertEquals(tiles.size(), b.getPlacementCount())
+        assertEquals(played.getBoard().getZobristKey(), b.getZobristKey())
+
+        // Taking them back leaves the board as it was before each, frontier slots and all
+        for ( int i = tiles.size() - 1; i >= 0; i-- ) {
+            assertSame(tiles[i], b.unplaceTile())
+            assertEquals(before[i], boardState(b))
+            assertFalse(b.isOccupied(tiles[i].getRow(), tiles[i].getCol()))
+            assertFalse(tiles[i].getPlaced())
+            assertTrue(tiles[i].getInTray())
+        }
+        assertNull(b.unplaceTile())
+        assertEquals(0, b.getFrontierSize())
+        assertEquals(0L, b.getZobristKey())
+    }
+
+    void testUnplaceAndPlaceAgain() {
+        List state = boardState(board)
+        assertTrue(board.placeTile(choiceE))
+        assertEquals(3, board.count())
+        assertSame(tileE, board.unplaceTile())
+        assertEquals(state, boardState(board))
+
+        // The record is reused, and the tile can be placed again
+        assertTrue(board.placeTile(choiceE))
+        assertSame(tileE, board.pieceAtLocation(56, 57))
+        assertEquals(3, board.getPlacementCount())
+
+        // A copy can't take back the other board's placements
+        assertEquals(0, board.copy().getPlacementCount())
+        board.clearBoard()
+        assertEquals(0, board.getPlacementCount())
+    }
+
+    // A board read back from a saved game has no placements to take back, and plays on
+    void testSerializeAndPlace() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(board) }
+        Board loaded = (Board) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).withCloseable { it.readObject() }
+
+        assertEquals(2, loaded.count())
+        assertEquals(0, loaded.getPlacementCount())
+        assertNull(loaded.unplaceTile())
+
+        Tile tile = new Tile(0,0,5)
+        assertTrue(loaded.placeTile(new Choice(tile,56,57,Orientation.UP,240)))
+        assertEquals(3, loaded.count())
+        assertEquals(1, loaded.getPlacementCount())
+        assertSame(tile, loaded.unplaceTile())
+        assertEquals(2, loaded.count())
+    }
 }
@@ -0,0 +1,117 @@
+package com.thirdsonsoftware
+
+class EventCursorTest extends GroovyTestCase {
+
+    File dataFile
+
+    Player playerAndy = new Player("Andy")
+    Player playerBilly = new Player("Billy")
+
+    List<Event> written
+
+    void setUp() {
+        super.setUp()
+        dataFile = File.createTempFile("events", EventManager.EVENT_OBJECT_FILE_EXTENSION)
+
+        written = new ArrayList<Event>()
+        written.add(new Event(EventType.START_A_GAME))
+        for (int i = 0; i < 10; i++) {
+            Tile tile = new Tile(i % 3, 3, 4)
+            tile.setId(i % 3 + 1)
+            Event event = new Event(EventType.PLACE_A_TILE, (i % 2 == 0) ? playerAndy : playerBilly, tile, 0, 0)
+            event.round = 1
+            event.score = i
+            written.add(event)
+        }
+        written.add(new Event(EventType.END_A_GAME))
+
+        EventLogWriter writer = new EventLogWriter(dataFile.getAbsolutePath())
+        for (Event e : written)
+            writer.write(e)
+        writer.close()
+    }
+
+    void tearDown() {
+        dataFile.delete()
+    }
+
+    void testWalkRecords() {
+        EventCursor cursor = EventCursor.open(dataFile.getAbsolutePath())
+        try {
+            assertEquals(12, cursor.getRecordCount())
+            assertEquals(["Andy", "Billy"], cursor.getPlayerNames() as List)
+
+            int i = 0
+            while (cursor.next()) {
+                Event e = written[i]
+                assertEquals(e.type, cursor.type())
+                assertEquals(e.eventDateTime.getTime(), cursor.time())
+                assertEquals(e.round, cursor.round())
+                assertEquals(e.score, cursor.score())
+                assertEquals(e.toString(), cursor.event().toString())
+                if (e.player == null) {
+                    assertNull(cursor.player())
+                    assertEquals(-1, cursor.playerIndex())
+                } else {
+                    assertEquals(e.player.getName(), cursor.player().getName())
+                }
+                if (e.tile == null) {
+                    assertNull(cursor.tile())
+                    assertEquals(-1, cursor.tileCorners())
+                } else {
+                    assertEquals(e.tile.getId(), cursor.tileId())
+                    assertEquals(e.tile.getCornerA() * 36 + 3 * 6 + 4, cursor.tileCorners())
+                }
+                i++
+            }
+            assertEquals(12, i)
+            assertFalse(cursor.next())
+        } finally {
+            cursor.close()
+        }
+    }
+
+    // Players and tiles are one object each for the whole file
+    void testSharedPlayersAndTiles() {
+        List<Player> players = new ArrayList<Player>()
+        List<Tile> tiles = new ArrayList<Tile>()
+        EventCursor cursor = EventCursor.open(dataFile.getAbsolutePath())
+        try {
+            while (cursor.next()) {
+                if (cursor.type() == EventType.PLACE_A_TILE) {
+                    players.add(cursor.player())
+                    tiles.add(cursor.tile())
+                }
+            }
+        } finally {
+            cursor.close()
+        }
+        assertSame(players[0], players[2])
+        assertNotSame(players[0], players[1])
+        assertSame(tiles[0], tiles[3])
+        assertNotSame(tiles[0], tiles[1])
+    }
+
+    // A file bigger than a window is mapped a window at a time
+    void testWindows() {
+        EventCursor cursor = new EventCursor(dataFile.getAbsolutePath(), 5)
+        try {
+            int i = 0
+            while (cursor.next()) {
+                assertEquals(written[i].type, cursor.type())
+                assertEquals(written[i].score, cursor.score())
+                i++
+            }
+            assertEquals(12, i)
+        } finally {
+            cursor.close()
+        }
+    }
+
+    void testNotAnEventDataFile() {
+        dataFile.bytes = new byte[10]
+        shouldFail(IOException) {
+            EventCursor.open(dataFile.getAbsolutePath())
+        }
+    }
+}
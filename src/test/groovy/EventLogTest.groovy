@@ -0,0 +1,139 @@
+package com.thirdsonsoftware
+
+import java.nio.ByteBuffer
+
+class EventLogTest extends GroovyTestCase {
+
+    File dataFile
+
+    Player playerAndy = new Player("Andy")
+    Player playerBilly = new Player("Billy")
+
+    void setUp() {
+        super.setUp()
+        dataFile = File.createTempFile("events", EventManager.EVENT_OBJECT_FILE_EXTENSION)
+    }
+
+    void tearDown() {
+        dataFile.delete()
+    }
+
+    Event placeATile() {
+        Tile tile = new Tile(5, 5, 4)
+        tile.setId(55)
+        tile.setRow(56)
+        tile.setCol(57)
+        tile.setRotation(240)
+        tile.setOrientation(Orientation.UP)
+        tile.setPlaced(true)
+        Event event = new Event(EventType.PLACE_A_TILE, playerBilly, tile, 3, 4)
+        event.game = 12
+        event.round = 2
+        event.score = 54
+        event.startBonus = 10
+        event.startingMove = true
+        event.completedABridge = true
+        event.endOfGame = true
+        return event
+    }
+
+    void testRecordSize() {
+        assertEquals(80, EventRecord.HEADER_SIZE)
+        assertEquals(40, EventRecord.RECORD_SIZE)
+    }
+
+    void testWriteAndRead() {
+        Event first = new Event(EventType.START_A_GAME)
+        Event second = new Event(EventType.DRAW_A_TILE, playerAndy, new Tile(0, 1, 2), 0, 0)
+        Event third = placeATile()
+
+        EventLogWriter writer = new EventLogWriter(dataFile.getAbsolutePath())
+        writer.write(first)
+        writer.write(second)
+        writer.write(third)
+        assertEquals(3, writer.getRecordCount())
+        writer.close()
+
+        assertEquals(EventRecord.HEADER_SIZE + 3 * EventRecord.RECORD_SIZE, dataFile.length())
+
+        List<Event> events = EventLogReader.readAll(dataFile.getAbsolutePath())
+        assertEquals(3, events.size())
+        assertEquals(first.toString(), events[0].toString())
+        assertEquals(second.toString(), events[1].toString())
+        assertEquals(third.toString(), events[2].toString())
+
+        assertNull(events[0].player)
+        assertNull(events[0].tile)
+        assertEquals("Andy", events[1].player.getName())
+        assertEquals("Billy", events[2].player.getName())
+
+        Tile tile = events[2].tile
+        assertEquals("5-5-4", tile.toString().replaceAll("\u001B\\[[0-9]*m", ""))
+        assertEquals(55, tile.getId())
+        assertEquals(56, tile.getRow())
+        assertEquals(57, tile.getCol())
+        assertEquals(240, tile.getRotation())
+        assertEquals(Orientation.UP, tile.getOrientation())
+        assertTrue(tile.getPlaced())
+        assertFalse(tile.getInTray())
+
+        assertEquals(third.eventDateTime, events[2].eventDateTime)
+        assertTrue(events[2].startingMove)
+        assertTrue(events[2].completedABridge)
+        assertFalse(events[2].completedAHexagon)
+        assertTrue(events[2].endOfGame)
+        assertEquals(10, events[2].startBonus)
+    }
+
+    // A player is one object for all of their events in the file
+    void testPlayersAreShared() {
+        EventLogWriter writer = new EventLogWriter(dataFile.getAbsolutePath())
+        writer.write(new Event(EventType.DRAW_A_TILE, playerAndy, new Tile(0, 1, 2), 0, 0))
+        writer.write(new Event(EventType.DRAW_A_TILE, playerBilly, new Tile(0, 1, 3), 0, 0))
+        writer.write(new Event(EventType.DRAW_A_TILE, playerAndy, new Tile(0, 1, 4), 0, 0))
+        writer.close()
+
+        List<Event> events = EventLogReader.readAll(dataFile.getAbsolutePath())
+        assertSame(events[0].player, events[2].player)
+        assertNotSame(events[0].player, events[1].player)
+    }
+
+    void testNotAnEventDataFile() {
+        dataFile.bytes = "not an event data file, not at all, no no no no no no no no no no no no no no no no no no".bytes
+        shouldFail(IOException) {
+            EventLogReader.readAll(dataFile.getAbsolutePath())
+        }
+        assertEquals(0, EventManager.getInstance().getAllEventsForDataFile(dataFile.getAbsolutePath()).size())
+    }
+
+    void testReadHeader() {
+        ByteBuffer buffer = ByteBuffer.allocate(EventRecord.HEADER_SIZE)
+        EventRecord.writeHeader(buffer, ["Andy", "Billy"] as String[], 2)
+        buffer.flip()
+        assertEquals(["Andy", "Billy"], EventRecord.readHeader(buffer) as List)
+
+        buffer.putShort(4, (short) 99)
+        shouldFail(IllegalArgumentException) {
+            EventRecord.readHeader(buffer)
+        }
+    }
+
+    // Event data files written with Java serialization can still be read
+    void testReadSerializedEvents() {
+        File serialized = File.createTempFile("events", EventManager.EVENT_SERIALIZED_FILE_EXTENSION)
+        try {
+            Event event = placeATile()
+            serialized.withObjectOutputStream { oos -> oos.writeObject(event) }
+            List<Event> events = EventManager.getInstance().getAllEventsForDataFile(serialized.getAbsolutePath())
+            assertEquals(1, events.size())
+            assertEquals(event.toString(), events[0].toString())
+        } finally {
+            serialized.delete()
+        }
+    }
+
+    void testWithExtension() {
+        assertEquals("logs/events1.txt", EventManager.withExtension("logs/events1.evt", ".txt"))
+        assertEquals("logs/events1.json", EventManager.withExtension("logs/events1.ser", ".json"))
+    }
+}
@@ -0,0 +1,96 @@
+package com.thirdsonsoftware
+
+import java.nio.ByteBuffer
+
+class EventRingBufferTest extends GroovyTestCase {
+
+    EventRingBuffer buffer
+
+    void setUp() {
+        super.setUp()
+        buffer = new EventRingBuffer(3)
+    }
+
+    void testCapacity() {
+        assertEquals(4, buffer.capacity())
+        assertEquals(8, new EventRingBuffer(8).capacity())
+        assertEquals(1, new EventRingBuffer(1).capacity())
+        shouldFail(IllegalArgumentException) {
+            new EventRingBuffer(0)
+        }
+    }
+
+    // Reads a record taken from the buffer back into an event
+    Event take() {
+        ByteBuffer record = ByteBuffer.allocate(EventRecord.RECORD_SIZE)
+        if (!buffer.poll(record))
+            return null
+        return EventRecord.read(record, 0, [new Player("Andy")] as Player[])
+    }
+
+    void testOfferAndPoll() {
+        assertTrue(buffer.isEmpty())
+        assertNull(take())
+
+        Event first = new Event(EventType.START_A_GAME)
+        Event second = new Event(EventType.PLACE_A_TILE, new Player("Andy"), new Tile(1,2,3), 56, 57)
+        assertTrue(buffer.offer(first, -1))
+        assertTrue(buffer.offer(second, 0))
+        assertEquals(2, buffer.size())
+
+        assertEquals(first.toString(), take().toString())
+        assertEquals(second.toString(), take().toString())
+        assertNull(take())
+        assertTrue(buffer.isEmpty())
+    }
+
+    // The record is made when the event is offered, so later changes to the event don't reach it
+    void testOfferKeepsTheEventAsItStood() {
+        Player andy = new Player("Andy")
+        Tile tile = new Tile(1,2,3)
+        Event e = new Event(EventType.PLACE_A_TILE, andy, tile, 56, 57)
+        e.score = 12
+        assertTrue(buffer.offer(e, 0))
+        e.score = 40
+        tile.setRow(3)
+        Event taken = take()
+        assertEquals(12, taken.score)
+        assertEquals(0, taken.tile.getRow())
+        assertEquals("Andy", taken.player.getName())
+    }
+
+    void testFull() {
+        for (int i = 0; i < 4; i++)
+            assertTrue(buffer.offer(new Event(EventType.DRAW_A_TILE), -1))
+        assertFalse(buffer.offer(new Event(EventType.DRAW_A_TILE), -1))
+        assertNotNull(take())
+        assertTrue(buffer.offer(new Event(EventType.DRAW_A_TILE), -1))
+        assertEquals(4, buffer.size())
+    }
+
+    // Events come out in the order they went in, across threads
+    void testOrderAcrossThreads() {
+        int count = 10000
+        List<Integer> seen = new ArrayList<Integer>(count)
+        Thread consumer = new Thread({
+            while (seen.size() < count) {
+                Event e = take()
+                if (e != null)
+                    seen.add(e.round)
+                else
+                    Thread.yield()
+            }
+        })
+        consumer.start()
+        Event e = new Event(EventType.START_A_ROUND)
+        for (int i = 0; i < count; i++) {
+            e.round = i
+            while (!buffer.offer(e, -1))
+                Thread.yield()
+        }
+        consumer.join(10000)
+        assertEquals(count, seen.size())
+        for (int i = 0; i < count; i++)
+            assertEquals(i, seen[i])
+    }
+}
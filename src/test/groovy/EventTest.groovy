@@ -74,23 +74,11 @@ class EventTest extends GroovyTestCase {
 
             // Let's make a reference to the file
             File currentFile = new File(index.getPath(), s)
-            if (currentFile.getName().startsWith(EventManager.EVENT_OBJECT_FILE_PREFIX)) {
-
-                // Process the objects in the file now.
-                FileInputStream fis = new FileInputStream(currentFile.getAbsolutePath())
-                ObjectInputStream ois = new ObjectInputStream(fis)
-                try {
-
-                    // Read the object from the file
-                    Event evt = (Event) ois.readObject()
-                    if (evt != null)
-                        eventList.add(evt);
-
-                } catch (EOFException eof) {
-                    // End of file reached...
-                }
-                ois.close()
-                fis.close()
+            if (currentFile.getName().startsWith(EventManager.EVENT_OBJECT_FILE_PREFIX) &&
+                    currentFile.getName().endsWith(EventManager.EVENT_OBJECT_FILE_EXTENSION)) {
+
+                // Process the events in the file now.
+                eventList.addAll(EventManager.getInstance().getAllEventsForDataFile(currentFile.getAbsolutePath()))
             }
         }
 
@@ -150,4 +138,62 @@ class EventTest extends GroovyTestCase {
         String strEvent = getEventFromLog(0)
         assertEquals(EXPECTED_EVT_W_TILE, stripDateTime(strEvent))
     }
+
+    // Events written in the background read back the same as those written at the end
+    void testLogEventsInBackground() {
+        EventManager.setWriteInBackground(true)
+        try {
+            Event.logEvent(EventType.SETUP_PLAYERS)
+            Event.logEvent(EventType.PLACE_A_TILE, tileA, playerAndy, 2)
+            assertEquals(0, EventManager.getInstance().getEvents().size())
+            String filename = EventManager.getInstance().logEvents()
+            List<Event> events = EventManager.getInstance().getAllEventsForDataFile(filename)
+            assertEquals(2, events.size())
+            assertEquals(EXPECTED_START_EVENT, stripDateTime(events[0].toString()))
+            assertEquals(EXPECTED_EVT_W_TILE, stripDateTime(events[1].toString()))
+        } finally {
+            EventManager.setWriteInBackground(false)
+        }
+    }
+
+    // An event written in the background keeps how the player and tile stood when it was logged,
+    //   without making a tile, which would turn off the board's colors
+    void testLogEventInBackgroundAsItStood() {
+        EventManager.setWriteInBackground(true)
+        Tile.setUseColor(true)
+        try {
+            Event event = new Event(EventType.PLACE_A_TILE, playerAndy, tileA, 56, 57)
+            event.score = 12
+            Event.logEvent(event)
+            event.score = 40
+            tileA.setRow(3)
+            assertTrue(Tile.bUseColors)
+            List<Event> events = EventManager.getInstance().getAllEventsForDataFile(EventManager.getInstance().logEvents())
+            assertEquals(1, events.size())
+            assertEquals("Andy", events[0].player.getName())
+            assertEquals(12, events[0].score)
+            assertEquals(0, events[0].tile.getRow())
+            assertEquals(56, events[0].row)
+            assertEquals(57, events[0].col)
+        } finally {
+            Tile.setUseColor(false)
+            EventManager.setWriteInBackground(false)
+        }
+    }
+
+    // Each thread records its events into its own EventManager
+    void testEventManagerPerThread() {
+        EventManager mine = EventManager.getInstance()
+        EventManager theirs = null
+        Thread thread = new Thread({
+            theirs = EventManager.getInstance()
+            Event.logEvent(EventType.START_A_GAME, 7)
+        })
+        thread.start()
+        thread.join()
+        assertNotSame(mine, theirs)
+        assertEquals(1, theirs.getEvents().size())
+        assertEquals(7, theirs.getEvents()[0].game)
+        assertEquals(0, mine.getEvents().size())
+    }
 }
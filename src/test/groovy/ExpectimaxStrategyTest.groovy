@@ -0,0 +1,124 @@
+package com.thirdsonsoftware
+
+class ExpectimaxStrategyTest extends SearchStrategyTestBase {
+
+    PlayerStrategy search(long millis, int threads, long seed) {
+        return new ExpectimaxStrategy(millis, ( millis == 0 ) ? 2 : 50, threads, new SplittableRandom(seed))
+    }
+
+    // Everything a step can change in a guess
+    List guessState(SimulatedRound guess) {
+        return [guess.getKey(), guess.getToMove(), guess.getBlocked(), guess.isOver(), guess.@gained.toList(),
+                guess.@pool*.getId(), guess.@players.collect { it.getTray()*.getId() }, guess.@board.count()]
+    }
+
+    // The slots of the strategy's table that hold a position
+    int stored(ExpectimaxStrategy strategy) {
+        def slots = strategy.@table.@slots
+        return ( 0 ..< slots.length() ).step(2).count { slots.get(it + 1) != 0L }
+    }
+
+    void testDepthOne() {
+        // One move deep, a play is worth its score and the value it takes out of our tray
+        List<Choice> plays = candidates.findAll { PlayerStrategy.fitsAndIsScored(round.getBoard(), it) }
+                .unique { MctsStrategy.key(it) }
+        Choice best = plays.inject(plays[0]) { b, c ->
+            float bv = b.getScore() + ExpectimaxStrategy.TRAY_WEIGHT * b.getTile().getValue()
+            float cv = c.getScore() + ExpectimaxStrategy.TRAY_WEIGHT * c.getTile().getValue()
+            ( ( cv > bv ) || ( ( cv == bv ) && ( c.getScore() > b.getScore() ) ) ) ? c : b
+        }
+        Choice chosen = new ExpectimaxStrategy(0, 1, 1, new SplittableRandom(1L)).choose(round.getBoard(), toMove.getTray(), context())
+        assertEquals(MctsStrategy.key(best), MctsStrategy.key(chosen))
+    }
+
+    void testTable() {
+        // A search one move deep ends at the trays, so it has nothing to keep
+        ExpectimaxStrategy shallow = new ExpectimaxStrategy(0, 1, 1, new SplittableRandom(1L))
+        shallow.choose(round.getBoard(), toMove.getTray(), context())
+        assertEquals(0, stored(shallow))
+
+        // Deeper, the positions in between are kept for the next, deeper pass
+        ExpectimaxStrategy deep = new ExpectimaxStrategy(0, 3, 1, new SplittableRandom(1L))
+        deep.choose(round.getBoard(), toMove.getTray(), context())
+        assertTrue(stored(deep) > 0)
+        assertEquals(context().getSeat(), deep.@tableSeat)
+    }
+
+    void testStepAndUndo() {
+        SimulatedRound guess = simulated(5L)
+        List start = guessState(guess)
+
+        List<Choice> choices = guess.choices()
+        assertFalse(choices.isEmpty())
+        assertEquals(choices.size(), choices.collect { MctsStrategy.key(it) }.unique().size())
+
+        // A play, a draw by the next player, and a pass
+        Choice c = choices[0]
+        guess.step(SimulatedRound.PLAY, c, 0)
+        assertEquals(c.getScore(), guess.getGained(context().getSeat()))
+        assertFalse(start[0] == guess.getKey())
+        List played = guessState(guess)
+
+        int seat = guess.getToMove()
+        Tile drawn = guess.@pool[2]
+        guess.step(SimulatedRound.DRAW, null, 2)
+        assertEquals(seat, guess.getToMove())
+        assertEquals(-5, guess.getGained(seat))
+        assertTrue(guess.@players[seat].getTray().contains(drawn))
+
+        guess.step(SimulatedRound.PASS, null, 0)
+        assertEquals(-15, guess.getGained(seat))
+        assertEquals(1, guess.getBlocked())
+
+        guess.undo()
+        guess.undo()
+        assertEquals(played, guessState(guess))
+        guess.undo()
+        assertEquals(start, guessState(guess))
+    }
+
+    void testStepToTheEndAndBack() {
+        SimulatedRound guess = simulated(11L)
+        List start = guessState(guess)
+
+        // Play the round out a step at a time, taking the first play, then undo every step
+        int steps = 0
+        while ( !guess.isOver() ) {
+            List<Choice> choices = guess.choices()
+            if ( !choices.isEmpty() )
+                guess.step(SimulatedRound.PLAY, choices[0], 0)
+            else if ( guess.getPoolSize() > 0 )
+                guess.step(SimulatedRound.DRAW, null, 0)
+            else
+                guess.step(SimulatedRound.PASS, null, 0)
+            steps++
+        }
+        assertTrue(guess.choices().isEmpty())
+        assertTrue(( 0 .. 2 ).collect { guess.getGained(it) }.max() > 0)
+
+        steps.times { guess.undo() }
+        assertEquals(start, guessState(guess))
+        assertEquals(0, guess.@board.getPlacementCount())
+    }
+
+    void testNamed() {
+        ExpectimaxStrategy strategy = (ExpectimaxStrategy) PlayerStrategy.named("expectimax")
+        assertEquals(ExpectimaxStrategy.DEFAULT_MILLIS, strategy.getMillis())
+        assertEquals(ExpectimaxStrategy.DEFAULT_DEPTH, strategy.getDepth())
+        assertEquals("expectimax", strategy.getName())
+
+        strategy = (ExpectimaxStrategy) PlayerStrategy.named("Expectimax:500:6")
+        assertEquals(500L, strategy.getMillis())
+        assertEquals(6, strategy.getDepth())
+
+        strategy = (ExpectimaxStrategy) PlayerStrategy.named("expectimax:0:3:1")
+        assertEquals(1, strategy.getThreads())
+
+        shouldFail(IllegalArgumentException) {
+            PlayerStrategy.named("expectimax:soon")
+        }
+        shouldFail(IllegalArgumentException) {
+            PlayerStrategy.named("expectimax:100:0")
+        }
+    }
+}
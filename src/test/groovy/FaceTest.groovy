@@ -57,6 +57,16 @@ class FaceTest extends GroovyTestCase {
         assertFalse(oneFace.match(twoFace))
     }
 
+    void testCodesMatch() {
+        assertTrue(Face.codesMatch(twoFace.getCode(), threeFace.getCode()))
+        assertFalse(Face.codesMatch(oneFace.getCode(), twoFace.getCode()))
+    }
+
+    void testValueOf() {
+        assertEquals(twoFace, Face.valueOf(Face.code(4,5)))
+        assertSame(Face.valueOf(Face.code(4,5)), Face.valueOf(twoFace.getCode()))
+    }
+
     void testCompareToEquals() {
         assertEquals(0, oneFace <=> fourFace)
     }
@@ -86,4 +86,45 @@ class GameTest extends GroovyTestCase {
     void testPlay() {
     }
 
+    void testGetSeed() {
+        Game seeded = new Game(2, 1234L)
+        assertEquals(1234L, seeded.getSeed())
+    }
+
+    void testPlayFromSeed() {
+        Game first = new Game(2, 1234L)
+        first.play()
+        Game second = new Game(2, 1234L)
+        second.play()
+        assertEquals(first.getRounds().size(), second.getRounds().size())
+        for (int i = 0; i < 2; i++)
+            assertEquals(first.getPlayer(i).getScore(), second.getPlayer(i).getScore())
+        assertEquals(first.getRounds()[0].getPiecesPlayed().toString(),
+                second.getRounds()[0].getPiecesPlayed().toString())
+    }
+
+    // A headless game plays just the same, without ever showing a round
+    void testPlayHeadless() {
+        PrintStream console = System.out
+        ByteArrayOutputStream captured = new ByteArrayOutputStream()
+        Game headless = new Game(2, 1234L)
+        headless.setHeadless(true)
+        try {
+            System.setOut(new PrintStream(captured, true))
+            headless.play()
+        } finally {
+            System.setOut(console)
+        }
+        assertTrue(headless.isHeadless())
+        assertTrue(headless.getRounds().every { it.isHeadless() })
+        assertFalse(captured.toString().contains("Tile Pool"))
+        assertFalse(captured.toString().contains(" Players ("))
+
+        Game shown = new Game(2, 1234L)
+        shown.play()
+        assertFalse(shown.getRounds()[0].isHeadless())
+        assertEquals(shown.getRounds().size(), headless.getRounds().size())
+        for (int i = 0; i < 2; i++)
+            assertEquals(shown.getPlayer(i).getScore(), headless.getPlayer(i).getScore())
+    }
 }
@@ -0,0 +1,129 @@
+package com.thirdsonsoftware
+
+class GreedyStrategyTest extends GroovyTestCase {
+
+    Board board = null
+    Player player = null
+    GreedyStrategy strategy = null
+
+    void setUp() {
+        super.setUp()
+        board = new Board()
+        assertTrue(board.placeTile(new Choice(new Tile(1,2,3),56,56,Orientation.DOWN,0)))
+        player = new Player("PlayerX")
+        player.tray.add(new Tile(1,1,1))
+        player.tray.add(new Tile(1,2,5))
+        player.tray.add(new Tile(3,3,4))
+        player.tray.add(new Tile(2,3,3))
+        strategy = new GreedyStrategy()
+    }
+
+    void tearDown() {
+        board = null
+        player = null
+        strategy = null
+    }
+
+    void testChooseIsTheBestCandidate() {
+        List<Choice> candidates = player.candidates(board)
+        assertFalse(candidates.isEmpty())
+
+        RoundContext context = new RoundContext(null, player, candidates, false)
+        Choice chosen = strategy.choose(board, player.getTray(), context)
+        assertNotNull(chosen)
+        assertSame(GreedyStrategy.best(board, candidates), chosen)
+        for ( Choice c : candidates ) {
+            if ( PlayerStrategy.fitsAndIsScored(board, c) )
+                assertTrue(c.getScore() <= chosen.getScore())
+        }
+        assertEquals(1, board.count())
+    }
+
+    void testChooseInParallelMatches() {
+        // Every tile, every open slot next to the one played and every rotation
+        List<Choice> candidates = new ArrayList<Choice>()
+        for ( int a = 0; a < 6; a++ ) {
+            for ( int b = a; b < 6; b++ ) {
+                for ( int c = b; c < 6; c++ ) {
+                    Tile t = new Tile(a,b,c)
+                    for ( int rotation : [0, 120, 240] ) {
+                        candidates.add(new Choice(t,56,55,Orientation.UP,rotation))
+                        candidates.add(new Choice(t,56,57,Orientation.UP,rotation))
+                        candidates.add(new Choice(t,55,56,Orientation.UP,rotation))
+                    }
+                }
+            }
+        }
+
+        // Enough that the candidates are scored in parallel
+        assertTrue(candidates.size() >= GreedyStrategy.PARALLEL_EVALUATION_THRESHOLD)
+
+        Choice sequential = strategy.choose(board, player.getTray(), new RoundContext(null, player, candidates, false))
+        Choice parallel = strategy.choose(board, player.getTray(), new RoundContext(null, player, candidates, true))
+        assertNotNull(sequential)
+        assertSame(sequential, parallel)
+        assertEquals(1, board.count())
+    }
+
+    void testChooseWithNothingThatFits() {
+        RoundContext context = new RoundContext(null, player, new ArrayList<Choice>(), false)
+        assertNull(strategy.choose(board, player.getTray(), context))
+    }
+
+    void testContextWithoutARound() {
+        RoundContext context = new RoundContext(null, player, new ArrayList<Choice>(), false)
+        assertEquals(0, context.getRoundNumber())
+        assertEquals(0, context.getSeat())
+        assertEquals(0, context.getPlayerCount())
+        assertEquals(0, context.getPoolSize())
+        assertEquals(0, context.getScore(0))
+        assertEquals(0, context.getTraySize(0))
+        assertTrue(context.getPiecesPlayed().isEmpty())
+        shouldFail(UnsupportedOperationException) {
+            context.getCandidates().add(new Choice(new Tile(0,0,0),0,0,Orientation.UP,0))
+        }
+    }
+
+    void testNamed() {
+        assertTrue(PlayerStrategy.named("greedy") instanceof GreedyStrategy)
+        assertTrue(PlayerStrategy.named(" Greedy ") instanceof GreedyStrategy)
+        assertNotSame(PlayerStrategy.named("greedy"), PlayerStrategy.named("greedy"))
+        assertEquals("greedy", strategy.getName())
+        shouldFail(IllegalArgumentException) {
+            PlayerStrategy.named("nonesuch")
+        }
+    }
+
+    void testPlayerDefaultsToGreedy() {
+        assertTrue(player.getStrategy() instanceof GreedyStrategy)
+    }
+
+    void testGameStrategies() {
+        Game game = new Game(3, 1234L)
+        game.setStrategies(["greedy"])
+        assertTrue(game.getPlayers().every { it.getStrategy() instanceof GreedyStrategy })
+        assertNotSame(game.getPlayer(0).getStrategy(), game.getPlayer(1).getStrategy())
+        shouldFail(IllegalArgumentException) {
+            game.setStrategies(["greedy", "nonesuch"])
+        }
+    }
+
+    void testGameStrategiesAreSeeded() {
+        List<Game> games = [new Game(3, 1234L), new Game(3, 1234L), new Game(3, 4321L)]
+        games.each { it.setStrategies(["mcts", "expectimax"]) }
+        List<List<Long>> draws = games.collect { g -> g.getPlayers().collect { it.getStrategy().@random.nextLong() } }
+
+        // The same seed seeds every seat the same, and each seat apart from the others
+        assertEquals(draws[0], draws[1])
+        assertEquals(3, draws[0].unique(false).size())
+        assertFalse(draws[0] == draws[2])
+
+        // The strategies don't change the deal
+        List<List<Integer>> deals = [new Game(3, 1234L), games[0]].collect { g ->
+            Round r = g.createRound(1)
+            r.shuffleTilePool()
+            r.getTiles()*.getId()
+        }
+        assertEquals(deals[0], deals[1])
+    }
+}
@@ -0,0 +1,81 @@
+package com.thirdsonsoftware
+
+class LogFileAppenderTest extends GroovyTestCase {
+
+    File dir
+
+    void setUp() {
+        dir = File.createTempDir()
+    }
+
+    void tearDown() {
+        dir.deleteDir()
+    }
+
+    void testAppend() {
+        File file = new File(dir, "test.log")
+        LogFileAppender appender = new LogFileAppender(file.getPath(), 1024 * 1024, 2)
+        for (int i = 0; i < 100; i++)
+            appender.append("Message " + i)
+        appender.close()
+
+        List<String> lines = file.readLines()
+        assertEquals(100, lines.size())
+        assertEquals("Message 0", lines[0])
+        assertEquals("Message 99", lines[99])
+    }
+
+    // Messages from many threads all make it to the file
+    void testAppendFromManyThreads() {
+        File file = new File(dir, "test.log")
+        LogFileAppender appender = new LogFileAppender(file.getPath(), 1024 * 1024, 2)
+        List<Thread> threads = (0..<4).collect { int t ->
+            Thread.start {
+                for (int i = 0; i < LogFileAppender.QUEUE_CAPACITY; i++)
+                    appender.append("Thread " + t + " message " + i)
+            }
+        }
+        threads*.join()
+        appender.close()
+
+        assertEquals(4 * LogFileAppender.QUEUE_CAPACITY, file.readLines().size())
+    }
+
+    void testRollOver() {
+        File file = new File(dir, "test.log")
+        LogFileAppender appender = new LogFileAppender(file.getPath(), 100, 2)
+        for (int i = 0; i < 10; i++) {
+            appender.append("x" * 200)
+            // Give the writer time to roll over between messages
+            Thread.sleep(150)
+        }
+        appender.close()
+
+        assertTrue(new File(dir, "test.log.1").exists())
+        assertTrue(new File(dir, "test.log.2").exists())
+        assertFalse(new File(dir, "test.log.3").exists())
+    }
+
+    void testAppendsToExistingFile() {
+        File file = new File(dir, "test.log")
+        file.text = "Already here" + System.lineSeparator()
+        LogFileAppender appender = new LogFileAppender(file.getPath(), 1024 * 1024, 2)
+        appender.append("And more")
+        appender.close()
+        assertEquals(["Already here", "And more"], file.readLines())
+    }
+
+    void testDroppedAfterClose() {
+        File file = new File(dir, "test.log")
+        LogFileAppender appender = new LogFileAppender(file.getPath(), 1024 * 1024, 2)
+        appender.close()
+        appender.append("Too late")
+        assertEquals(0, file.length())
+    }
+
+    void testInvalidSize() {
+        shouldFail(IllegalArgumentException) {
+            new LogFileAppender(new File(dir, "test.log").getPath(), 0, 2)
+        }
+    }
+}
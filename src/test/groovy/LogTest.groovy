@@ -1,6 +1,86 @@
 package com.thirdsonsoftware
 
 class LogTest extends GroovyTestCase {
+
+    PrintStream console
+    ByteArrayOutputStream captured
+
+    void setUp() {
+        console = System.out
+        captured = new ByteArrayOutputStream()
+        System.setOut(new PrintStream(captured, true))
+    }
+
+    void tearDown() {
+        System.setOut(console)
+        Log.setLevel(Log.Level.INFO)
+        Log.closeFile()
+    }
+
+    // Logging to a file takes messages off the console, except errors
+    void testToFile() {
+        File file = File.createTempFile("triominos", ".log")
+        try {
+            Log.toFile(file.getPath(), 1024 * 1024, 1)
+            assertEquals(file.getPath(), Log.getFilename())
+            Log.Info("To the file %d.", 1)
+            Log.Error("To both.")
+            Log.closeFile()
+            assertNull(Log.getFilename())
+
+            assertEquals(["INFO To the file 1.", "ERROR To both."], file.readLines())
+            assertFalse(captured.toString().contains("To the file"))
+            assertTrue(captured.toString().contains("To both."))
+        } finally {
+            file.delete()
+            new File(file.getPath() + ".1").delete()
+        }
+    }
+
+    void testFormatted() {
+        Log.Info("Tile '%s' at (%d,%d).", "0-1-2", 56, 57)
+        assertTrue(captured.toString().contains("Tile '0-1-2' at (56,57)."))
+    }
+
+    void testSupplied() {
+        Log.Info({ -> "A supplied message." } as java.util.function.Supplier<String>)
+        assertTrue(captured.toString().contains("A supplied message."))
+    }
+
+    // A message below the level is never built
+    void testDisabledMessagesAreNotBuilt() {
+        Log.setLevel(Log.Level.ERROR)
+        boolean built = false
+        Log.Info({ -> built = true; "Not shown." } as java.util.function.Supplier<String>)
+        Log.Debug({ -> built = true; "Not shown." } as java.util.function.Supplier<String>)
+        Log.Info("Not shown %s.", "either")
+        Log.Warning("Not shown.")
+        assertFalse(built)
+        assertEquals("", captured.toString())
+
+        Log.Error("Shown %d.", 1)
+        assertTrue(captured.toString().contains("Shown 1."))
+    }
+
+    void testLevels() {
+        assertEquals(Log.Level.INFO, Log.getLevel())
+        assertTrue(Log.isInfoEnabled())
+        assertFalse(Log.isDebugEnabled())
+
+        Log.setLevel(Log.Level.DEBUG)
+        assertTrue(Log.debugMode)
+        assertTrue(Log.isDebugEnabled())
+        assertTrue(Log.isEnabled(Log.Level.WARNING))
+
+        Log.setLevel(Log.Level.WARNING)
+        assertFalse(Log.debugMode)
+        assertFalse(Log.isInfoEnabled())
+        assertTrue(Log.isEnabled(Log.Level.WARNING))
+        assertTrue(Log.isEnabled(Log.Level.ERROR))
+
+        Log.setLevel(Log.Level.OFF)
+        assertFalse(Log.isEnabled(Log.Level.ERROR))
+    }
     void testInfo() {
         Log.Info("This is a log information message.")
         assertTrue(true)
@@ -0,0 +1,87 @@
+package com.thirdsonsoftware
+
+class MctsStrategyTest extends SearchStrategyTestBase {
+
+    PlayerStrategy search(long millis, int threads, long seed) {
+        return new MctsStrategy(millis, ( millis == 0 ) ? 300 : Integer.MAX_VALUE, threads, new SplittableRandom(seed))
+    }
+
+    void testSimulatedRoundDealsTheUnseenTiles() {
+        RoundContext context = context()
+        SimulatedRound simulated = simulated(3L)
+        Player[] seats = simulated.@players
+        for ( int seat = 0; seat < context.getPlayerCount(); seat++ )
+            assertEquals(context.getTraySize(seat), seats[seat].getTray().size())
+        assertEquals(context.getPoolSize(), simulated.@pool.size())
+        assertEquals(context.getSeat(), simulated.getToMove())
+
+        // Every tile is somewhere, once
+        Set<Integer> ids = new HashSet<Integer>()
+        seats.each { p -> p.getTray().each { ids.add(it.getId()) } }
+        simulated.@pool.each { ids.add(it.getId()) }
+        round.getPiecesPlayed().each { ids.add(it.getId()) }
+        assertEquals(Round.NUMBER_OF_TILES, ids.size())
+
+        simulated.playOut()
+        assertTrue(simulated.isOver())
+        assertTrue(simulated.plays().isEmpty())
+        assertEquals(context.getPoolSize(), round.getTiles().size())
+    }
+
+    void testSimulatedRoundLeavesTheRoundAlone() {
+        Board real = round.getBoard()
+        int count = real.count()
+        long key = real.getZobristKey()
+        int placements = real.getPlacementCount()
+        List trays = round.getPlayers().collect { p -> p.getTray().collect { [it.getId(), it.getOrientation(), it.getRotation(), it.getPlaced()] } }
+        List pool = round.getTiles()*.getId()
+        List played = round.getPiecesPlayed()*.getId()
+        List scores = round.getPlayers()*.getScore()
+
+        // The guess is played on a copy of the board, with copies of the tiles
+        Board copy = real.copy()
+        SimulatedRound simulated = new SimulatedRound(copy, toMove.getTray(), context(), new SplittableRandom(3L))
+        simulated.playOut()
+        assertTrue(copy.count() > count)
+        simulated.rewind()
+        assertEquals(count, copy.count())
+        assertEquals(key, copy.getZobristKey())
+
+        assertEquals(count, real.count())
+        assertEquals(key, real.getZobristKey())
+        assertEquals(placements, real.getPlacementCount())
+        assertEquals(trays, round.getPlayers().collect { p -> p.getTray().collect { [it.getId(), it.getOrientation(), it.getRotation(), it.getPlaced()] } })
+        assertEquals(pool, round.getTiles()*.getId())
+        assertEquals(played, round.getPiecesPlayed()*.getId())
+        assertEquals(scores, round.getPlayers()*.getScore())
+    }
+
+    void testReward() {
+        SimulatedRound simulated = simulated(3L)
+        assertEquals(0.5d, MctsStrategy.reward(simulated, 0), 0.0001d)
+        simulated.@gained[0] = 1000
+        assertEquals(1.0d, MctsStrategy.reward(simulated, 0), 0.0001d)
+        assertEquals(0.0d, MctsStrategy.reward(simulated, 1), 0.0001d)
+    }
+
+    void testNamed() {
+        MctsStrategy strategy = (MctsStrategy) PlayerStrategy.named("mcts")
+        assertEquals(MctsStrategy.DEFAULT_MILLIS, strategy.getMillis())
+        assertEquals(MctsStrategy.DEFAULT_ITERATIONS, strategy.getIterations())
+        assertEquals("mcts", strategy.getName())
+
+        strategy = (MctsStrategy) PlayerStrategy.named("MCTS:500:1000")
+        assertEquals(500L, strategy.getMillis())
+        assertEquals(1000, strategy.getIterations())
+
+        strategy = (MctsStrategy) PlayerStrategy.named("mcts:0:1000:1")
+        assertEquals(1, strategy.getThreads())
+
+        shouldFail(IllegalArgumentException) {
+            PlayerStrategy.named("mcts:soon")
+        }
+        shouldFail(IllegalArgumentException) {
+            PlayerStrategy.named("mcts:100:0")
+        }
+    }
+}
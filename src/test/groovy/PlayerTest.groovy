@@ -94,10 +94,83 @@ class PlayerTest extends GroovyTestCase {
     void testToString() {
     }
 
+    void testEvaluateInParallel() {
+        assertFalse(player.getEvaluateInParallel())
+        player.setEvaluateInParallel(true)
+        assertTrue(player.getEvaluateInParallel())
+    }
+
     void testPlayATile() {
         player.setStarts(true)
         assertEquals(0,board.count())
         player.playATile(board,playedTiles,availableFaces)
         assertEquals(1,board.count())
     }
+
+    void testAddToAndRemoveFromTray() {
+        Tile tile = new Tile(0,1,2)
+        player.addToTray(tile)
+        assertSame(tile, player.getTray().last())
+        assertTrue(player.getTrayIndex().holds(player.getTray()))
+
+        assertTrue(player.removeFromTray(fiveFivesTile))
+        assertFalse(player.removeFromTray(fiveFivesTile))
+        assertFalse(player.getTray().contains(fiveFivesTile))
+        assertTrue(player.getTrayIndex().holds(player.getTray()))
+    }
+
+    // Everything a play can change for the player, the board and the tiles with an empty face
+    List playState(Player p, Board b, List<Tile> faces) {
+        List buckets = p.getTrayIndex().@buckets.collect { bucket -> bucket.collect { [it.getTile().getId(), it.getRotation()] } }
+        List tiles = ( p.getTray() + faces ).collect { [it.getOrientation(), it.getRotation(), it.getPlayer(), it.getPlaced()] }
+        return [p.getScore(), p.getTray()*.getId(), buckets, faces*.getId(), tiles, b.count(), b.getZobristKey()]
+    }
+
+    void testMakeAndUnmakePlay() {
+        ArrayList<Player> players = [new Player("Player A"), new Player("Player B")]
+        Round round = new Round(1, players, new SplittableRandom(1234L))
+        round.shuffleTilePool()
+        round.drawTiles()
+        Board b = round.getBoard()
+        ArrayList<Tile> faces = round.getPiecesOnBoardWithEmptyFaces()
+
+        // A few plays in, so there are tiles with empty faces to lose
+        int seat = players.indexOf(round.whoIsFirst())
+        for ( int i = 0; i < 6; i++ ) {
+            Tile played = players[seat].playATile(b, round.getPiecesPlayed(), faces, round)
+            if ( played != null )
+                round.getPiecesPlayed().add(played)
+            seat = ( seat + 1 ) % players.size()
+        }
+
+        Player first = players[seat]
+        Player second = players[( seat + 1 ) % players.size()]
+        List state = playState(first, b, faces)
+        List others = playState(second, b, faces)
+
+        int made = 0
+        for ( Choice c : first.candidates(b) ) {
+            if ( !PlayerStrategy.fitsAndIsScored(b, c) )
+                continue
+            assertTrue(first.makePlay(b, c, faces))
+            assertEquals(state[0] + c.getScore(), first.getScore())
+            assertFalse(first.getTray().contains(c.getTile()))
+
+            // Their reply, taken back first
+            for ( Choice reply : second.candidates(b) ) {
+                if ( PlayerStrategy.fitsAndIsScored(b, reply) ) {
+                    assertTrue(second.makePlay(b, reply, faces))
+                    assertSame(reply.getTile(), second.unmakePlay(b, faces))
+                    break
+                }
+            }
+
+            assertSame(c.getTile(), first.unmakePlay(b, faces))
+            assertEquals(state, playState(first, b, faces))
+            assertEquals(others, playState(second, b, faces))
+            made++
+        }
+        assertTrue(made > 0)
+        assertNull(first.unmakePlay(b, faces))
+    }
 }
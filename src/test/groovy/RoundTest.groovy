@@ -140,6 +140,20 @@ class RoundTest extends GroovyTestCase {
         assertNotSame(EXPECTED_UNSORTED_TILE_ARRAYLIST, round.getTiles().toString())
     }
 
+    void testShuffleTilePoolFromSeed() {
+        Round first = new Round(1, players, new SplittableRandom(2017L))
+        Round second = new Round(1, players, new SplittableRandom(2017L))
+        first.shuffleTilePool()
+        second.shuffleTilePool()
+        assertEquals(56, first.getTiles().size())
+        assertEquals(first.getTiles().toString(), second.getTiles().toString())
+        assertFalse(EXPECTED_UNSORTED_TILE_ARRAYLIST == first.getTiles().toString())
+
+        Round other = new Round(1, players, new SplittableRandom(2018L))
+        other.shuffleTilePool()
+        assertFalse(first.getTiles().toString() == other.getTiles().toString())
+    }
+
     /**
      * Player A will always start with an unsorted tile list since
      */
@@ -0,0 +1,101 @@
+package com.thirdsonsoftware
+
+/**
+ * The round part way through that the searching strategies are tested
+ *   against, and the tests every searching strategy has to pass.  Each
+ *   strategy's own test says how to make one with a small budget.
+ */
+abstract class SearchStrategyTestBase extends GroovyTestCase {
+
+    Round round = null
+    Player toMove = null
+    List<Choice> candidates = null
+
+    /**
+     * @param millis - the time to search for, or 0 for a small budget with no time limit
+     * @param threads - the number of threads to search on
+     * @param seed - the seed of the strategy's random
+     * @return (PlayerStrategy) the strategy under test, searching with that budget
+     */
+    abstract PlayerStrategy search(long millis, int threads, long seed)
+
+    void setUp() {
+        super.setUp()
+        ArrayList<Player> players = [new Player("Player A"), new Player("Player B"), new Player("Player C")]
+        round = new Round(1, players, new SplittableRandom(1234L))
+        round.shuffleTilePool()
+        round.drawTiles()
+
+        // Play greedily until the player to move has a real choice to make
+        int seat = players.indexOf(round.whoIsFirst())
+        while ( true ) {
+            toMove = players[seat]
+            candidates = toMove.candidates(round.getBoard())
+            if ( ( round.getBoard().count() > 0 ) &&
+                    ( candidates.count { PlayerStrategy.fitsAndIsScored(round.getBoard(), it) } > 1 ) )
+                break
+            Tile played = toMove.playATile(round.getBoard(), round.getPiecesPlayed(),
+                    round.getPiecesOnBoardWithEmptyFaces(), round)
+            if ( played != null )
+                round.getPiecesPlayed().add(played)
+            seat = ( seat + 1 ) % players.size()
+        }
+    }
+
+    void tearDown() {
+        EventManager.getInstance().clearEvents()
+        round = null
+        toMove = null
+        candidates = null
+    }
+
+    RoundContext context() {
+        return new RoundContext(round, toMove, candidates, false)
+    }
+
+    SimulatedRound simulated(long seed) {
+        return new SimulatedRound(round.getBoard().copy(), toMove.getTray(), context(), new SplittableRandom(seed))
+    }
+
+    void testChooseAFittingCandidate() {
+        int count = round.getBoard().count()
+        long key = round.getBoard().getZobristKey()
+        Choice chosen = search(0, 1, 1L).choose(round.getBoard(), toMove.getTray(), context())
+        assertNotNull(chosen)
+        assertTrue(candidates.contains(chosen))
+        assertTrue(round.getBoard().fits(chosen.getTile(), chosen.getOrientation(), chosen.getRotation(),
+                chosen.getRow(), chosen.getCol()))
+        assertEquals(round.getBoard().score(chosen.getTile(), chosen.getOrientation(), chosen.getRow(), chosen.getCol()),
+                chosen.getScore())
+
+        // The search never touches the real board or trays
+        assertEquals(count, round.getBoard().count())
+        assertEquals(key, round.getBoard().getZobristKey())
+        assertTrue(toMove.getTray().every { !it.getPlaced() })
+    }
+
+    void testSameSeedSameChoice() {
+        Choice first = search(0, 1, 99L).choose(round.getBoard(), toMove.getTray(), context())
+        Choice second = search(0, 1, 99L).choose(round.getBoard(), toMove.getTray(), context())
+        assertEquals(MctsStrategy.key(first), MctsStrategy.key(second))
+    }
+
+    void testSearchOnSeveralThreads() {
+        Choice chosen = search(0, 3, 7L).choose(round.getBoard(), toMove.getTray(), context())
+        assertNotNull(chosen)
+        assertTrue(candidates.contains(chosen))
+    }
+
+    void testTimeBudget() {
+        PlayerStrategy strategy = search(50, 2, 7L)
+        long start = System.nanoTime()
+        assertNotNull(strategy.choose(round.getBoard(), toMove.getTray(), context()))
+        assertTrue(( System.nanoTime() - start ) < 2000000000L)
+    }
+
+    void testWithoutARoundPlaysGreedily() {
+        RoundContext alone = new RoundContext(null, toMove, candidates, false)
+        assertSame(GreedyStrategy.best(round.getBoard(), candidates),
+                search(0, 1, 1L).choose(round.getBoard(), toMove.getTray(), alone))
+    }
+}
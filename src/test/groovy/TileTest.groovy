@@ -164,6 +164,41 @@ class TileTest extends GroovyTestCase {
         assertEquals(0, tripletTile <=> tripletTile)
     }
 
+    void testCompareToOrdersByCorners() {
+        assertTrue((new Tile(0, 5, 5) <=> new Tile(1, 1, 1)) < 0)
+        assertTrue((new Tile(1, 2, 5) <=> new Tile(1, 3, 3)) < 0)
+        assertTrue((new Tile(1, 3, 4) <=> new Tile(1, 3, 3)) > 0)
+    }
+
+    void testGetCorners() {
+        assertEquals((CORNER_A * 6 + CORNER_B) * 6 + CORNER_C, tile.getCorners())
+        assertEquals(0, new Tile(0, 0, 0).getCorners())
+        assertEquals(215, new Tile(5, 5, 5).getCorners())
+    }
+
+    // Tiles are the same if their corners are, however they lie
+    void testEqualsAndHashCode() {
+        Tile other = new Tile(CORNER_A, CORNER_B, CORNER_C)
+        other.setId(42)
+        other.setOrientation(Orientation.DOWN)
+        other.rotate(120)
+        assertEquals(tile, other)
+        assertEquals(tile.hashCode(), other.hashCode())
+
+        assertFalse(tile.equals(new Tile(CORNER_A, CORNER_C, CORNER_B)))
+        assertFalse(tile.equals(tripletTile))
+        assertFalse(tile.equals(null))
+        assertFalse(tile.equals(tile.toString()))
+
+        Tile.setUseColor(true)
+        try {
+            assertEquals(tile, other)
+            assertEquals(tile.hashCode(), other.hashCode())
+        } finally {
+            Tile.setUseColor(false)
+        }
+    }
+
     void testRotate() {
         tripletTile.rotate(TEST_ROTATE)
         assertEquals(TEST_ROTATE,tripletTile.getRotation())
@@ -259,6 +294,36 @@ class TileTest extends GroovyTestCase {
         assertEquals(new Face(TRIPLET_CORNER,TRIPLET_CORNER),tripletTile.getMiddleFace())
     }
 
+    void testGetFaceCodes() {
+        assertEquals(Face.code(CORNER_C,CORNER_A),tile.getLeftFaceCode())
+        assertEquals(Face.code(CORNER_A,CORNER_B),tile.getRightFaceCode())
+        assertEquals(Face.code(CORNER_B,CORNER_C),tile.getMiddleFaceCode())
+        assertSame(tile.getLeftFace(),tile.getLeftFace())
+    }
+
+    void testLayoutsMatchOrientationAndRotation() {
+        // The lookups for a given layout must agree with the tile set to that layout
+        for ( Orientation o : Orientation.values() ) {
+            for ( int rotation : [0, 120, 240] ) {
+                Tile t = new Tile(CORNER_A,CORNER_B,CORNER_C)
+                t.setOrientation(o)
+                t.setRotation(rotation)
+                assertEquals(t.getLeftCorner(),tile.getLeftCorner(o,rotation))
+                assertEquals(t.getRightCorner(),tile.getRightCorner(o,rotation))
+                assertEquals(t.getMiddleCorner(),tile.getMiddleCorner(o,rotation))
+                assertEquals(t.getLeftFace().getCode(),tile.getLeftFaceCode(o,rotation))
+                assertEquals(t.getRightFace().getCode(),tile.getRightFaceCode(o,rotation))
+                assertEquals(t.getMiddleFace().getCode(),tile.getMiddleFaceCode(o,rotation))
+            }
+        }
+    }
+
+    void testInvalidCorner() {
+        shouldFail(IllegalArgumentException) {
+            new Tile(1,2,6)
+        }
+    }
+
     void testGetPlayer() {
         assertEquals(null,tile.getPlayer())
         tile.setPlayer(new Player("TestGet"))
@@ -0,0 +1,73 @@
+package com.thirdsonsoftware
+
+class TranspositionTableTest extends GroovyTestCase {
+
+    TranspositionTable table = null
+
+    void setUp() {
+        super.setUp()
+        table = new TranspositionTable(1000)
+    }
+
+    void tearDown() {
+        table = null
+    }
+
+    void testCapacity() {
+        assertEquals(1024, table.getCapacity())
+        assertEquals(1, new TranspositionTable(1).getCapacity())
+        shouldFail(IllegalArgumentException) {
+            new TranspositionTable(0)
+        }
+    }
+
+    void testStoreAndProbe() {
+        long key = Zobrist.key(56, 56, 1, 0)
+        assertTrue(Float.isNaN(table.probe(key, 0)))
+        table.store(key, 2, 12.5f)
+        assertEquals(12.5f, table.probe(key, 2), 0.0f)
+        assertEquals(12.5f, table.probe(key, 0), 0.0f)
+        assertTrue(Float.isNaN(table.probe(key, 3)))
+        assertTrue(Float.isNaN(table.probe(key ^ 1L, 0)))
+    }
+
+    void testEmptyBoardKey() {
+        // An empty slot never answers, not even for the empty board
+        assertTrue(Float.isNaN(table.probe(0L, 0)))
+        table.store(0L, 0, -3.0f)
+        assertEquals(-3.0f, table.probe(0L, 0), 0.0f)
+    }
+
+    void testDeeperSearchIsKept() {
+        long key = Zobrist.turnKey(1)
+        table.store(key, 4, 1.0f)
+        table.store(key, 2, 2.0f)
+        assertEquals(1.0f, table.probe(key, 0), 0.0f)
+        table.store(key, 4, 3.0f)
+        assertEquals(3.0f, table.probe(key, 4), 0.0f)
+
+        // Another position in the same slot replaces it
+        long other = key ^ ( (long) table.getCapacity() << 32 | table.getCapacity() )
+        table.store(other, 0, 5.0f)
+        assertEquals(5.0f, table.probe(other, 0), 0.0f)
+        table.clear()
+        assertTrue(Float.isNaN(table.probe(other, 0)))
+    }
+
+    void testSharedByThreads() {
+        java.util.concurrent.atomic.AtomicInteger wrong = new java.util.concurrent.atomic.AtomicInteger()
+        List<Thread> threads = (0..<4).collect { n ->
+            Thread.start {
+                for ( int i = 0; i < 10000; i++ ) {
+                    long key = Zobrist.trayKey(n, i % 57) ^ Zobrist.turnKey(i)
+                    table.store(key, n, (float) i)
+                    float value = table.probe(key, 0)
+                    if ( !Float.isNaN(value) && ( value != (float) i ) )
+                        wrong.incrementAndGet()
+                }
+            }
+        }
+        threads.each { it.join() }
+        assertEquals(0, wrong.get())
+    }
+}
@@ -0,0 +1,86 @@
+package com.thirdsonsoftware
+
+class TrayIndexTest extends GroovyTestCase {
+
+    TrayIndex index = null
+    Tile tile = null
+    Tile triplet = null
+
+    void setUp() {
+        super.setUp()
+        index = new TrayIndex()
+        tile = new Tile(1,2,3)
+        triplet = new Tile(4,4,4)
+        index.add(tile)
+        index.add(triplet)
+    }
+
+    void tearDown() {
+        index = null
+    }
+
+    void testSize() {
+        assertEquals(2, index.size())
+    }
+
+    void testMatching() {
+        // Up at 0 degrees, 1-2-3 has a left face of 3-1, which matches 1-3 on the board
+        List<TrayIndex.Entry> matches = index.matching(Orientation.UP, TrayIndex.LEFT, Face.code(1,3))
+        assertEquals(1, matches.size())
+        assertSame(tile, matches.get(0).getTile())
+        assertEquals(0, matches.get(0).getRotation())
+
+        tile.setOrientation(Orientation.UP)
+        tile.setRotation(0)
+        assertTrue(Face.codesMatch(tile.getLeftFaceCode(), Face.code(1,3)))
+    }
+
+    void testNoMatch() {
+        assertTrue(index.matching(Orientation.DOWN, TrayIndex.MIDDLE, Face.code(5,5)).isEmpty())
+    }
+
+    void testTripletOnlyOnce() {
+        // All three rotations of a triplet look the same, so only one is kept
+        assertEquals(1, index.matching(Orientation.DOWN, TrayIndex.RIGHT, Face.code(4,4)).size())
+    }
+
+    void testRemove() {
+        assertTrue(index.remove(tile))
+        assertFalse(index.remove(tile))
+        assertEquals(1, index.size())
+        assertTrue(index.matching(Orientation.UP, TrayIndex.LEFT, Face.code(1,3)).isEmpty())
+    }
+
+    void testRebuild() {
+        index.rebuild([tile])
+        assertEquals(1, index.size())
+        assertTrue(index.matching(Orientation.UP, TrayIndex.MIDDLE, Face.code(4,4)).isEmpty())
+        assertEquals(1, index.matching(Orientation.UP, TrayIndex.LEFT, Face.code(1,3)).size())
+    }
+
+    void testRestore() {
+        Tile another = new Tile(1,3,5)
+        index.add(another)
+        List<List<TrayIndex.Entry>> before = index.@buckets.collect { new ArrayList<TrayIndex.Entry>(it) }
+
+        // Put back, the tile and its very entries are where they were, before the tiles added after it
+        TrayIndex.Removal removal = new TrayIndex.Removal()
+        assertEquals(0, index.remove(tile, removal))
+        assertEquals(-1, index.remove(tile, new TrayIndex.Removal()))
+        index.restore(removal)
+        assertEquals(3, index.size())
+        assertSame(tile, index.@tiles[0])
+        index.@buckets.eachWithIndex { entries, i ->
+            assertEquals(before[i].size(), entries.size())
+            entries.eachWithIndex { entry, e -> assertSame(before[i][e], entry) }
+        }
+        assertEquals(0, removal.@count)
+    }
+
+    void testHolds() {
+        assertTrue(index.holds([tile, triplet]))
+        assertFalse(index.holds([triplet, tile]))
+        assertFalse(index.holds([tile, new Tile(4,4,4)]))
+        assertFalse(index.holds([tile]))
+    }
+}